@@ -0,0 +1,164 @@
+import santorini.controller.RandomPlacementStrategy;
+import santorini.controller.WorkerPlacementStrategy;
+import santorini.model.GameRandom;
+import santorini.record.GameStore;
+import santorini.simulation.BatchSimulator;
+import santorini.simulation.BatchSummary;
+import santorini.simulation.GameResult;
+import santorini.simulation.GodPairing;
+import santorini.simulation.GreedyStrategy;
+import santorini.simulation.PlayerStrategy;
+import santorini.simulation.RandomStrategy;
+import santorini.simulation.SearchStrategy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Command-line entry point for playing batches of Santorini games without any UI.
+ * <p>
+ * Options (all optional):
+ * <pre>
+ *   --games N        number of games to play (default 1000)
+ *   --p0 STRATEGY    strategy of player 0: random, greedy or search[:depth] (default greedy)
+ *   --p1 STRATEGY    strategy of player 1 (default greedy)
+ *   --gods PAIRING   random, all (every ordered matchup in turn) or GOD0,GOD1 (default random)
+ *   --placement P    random, or the class name of a WorkerPlacementStrategy with a
+ *                    GameRandom or no-argument constructor (default random)
+ *   --threads T      fork-join pool size (default: number of cores)
+ *   --seed S         batch seed, for repeatable runs (default: -Dsantorini.seed, else random)
+ *   --out FILE       CSV file receiving one line per game (default simulation.csv)
+ *   --store DIR      also append every game to the GameStore in DIR and rebuild its index
+ * </pre>
+ * A summary of win rates per seat, end cause and god is printed when the batch ends.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class Simulator {
+
+    /**
+     * Runs a batch of headless games.
+     *
+     * @param args the command-line options described above
+     * @throws Exception if the options are invalid or the output file cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        long games = 1000;
+        String p0 = "greedy";
+        String p1 = "greedy";
+        String gods = "random";
+        String placement = "random";
+        Integer threads = null;
+        Long seed = null;
+        Path out = Path.of("simulation.csv");
+        Path storeDir = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--games" -> games = Long.parseLong(value);
+                case "--p0" -> p0 = value;
+                case "--p1" -> p1 = value;
+                case "--gods" -> gods = value;
+                case "--placement" -> placement = value;
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--seed" -> seed = Long.parseLong(value);
+                case "--out" -> out = Path.of(value);
+                case "--store" -> storeDir = Path.of(value);
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            i++;
+        }
+
+        BatchSimulator simulator = new BatchSimulator(strategy(p0), strategy(p1));
+        simulator.setGodPairing(pairing(gods));
+        simulator.setPlacement(placement(placement));
+        if (threads != null) simulator.setThreads(threads);
+        if (seed != null) simulator.setSeed(seed);
+
+        GameStore store = storeDir == null ? null : GameStore.open(storeDir);
+        simulator.setRecording(store != null);
+
+        BatchSummary summary = new BatchSummary();
+        long start = System.nanoTime();
+        try (PrintWriter writer = new PrintWriter(new BufferedWriter(Files.newBufferedWriter(out)))) {
+            writer.println(GameResult.CSV_HEADER);
+            simulator.run(games, result -> {
+                summary.add(result);
+                String line = result.toCsv();
+                synchronized (writer) {
+                    writer.println(line);
+                }
+                if (store != null) {
+                    try {
+                        store.append(result.getOpening(), result.getPlayedTurns(), null, result.getWinner());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            });
+        }
+        System.out.print(summary.report(System.nanoTime() - start));
+        System.out.println("seed " + simulator.getSeed());
+        System.out.println("results written to " + out);
+
+        if (store != null) {
+            try (store) {
+                store.buildIndex();
+                System.out.println("stored " + store.getGameCount() + " games in " + storeDir + ", indexed "
+                        + store.getIndexedPositionCount() + " positions");
+            }
+        }
+    }
+
+    private static Supplier<PlayerStrategy> strategy(String spec) {
+        String[] parts = spec.split(":");
+        return switch (parts[0]) {
+            case "random" -> RandomStrategy::new;
+            case "greedy" -> GreedyStrategy::new;
+            case "search" -> {
+                int depth = parts.length > 1 ? Integer.parseInt(parts[1]) : 2;
+                yield () -> new SearchStrategy(depth);
+            }
+            default -> throw new IllegalArgumentException("Unknown strategy: " + spec);
+        };
+    }
+
+    private static GodPairing pairing(String spec) {
+        if (spec.equals("random")) return GodPairing.random();
+        if (spec.equals("all")) return GodPairing.allPairs();
+        String[] names = spec.split(",");
+        if (names.length != 2) throw new IllegalArgumentException("Expected two gods: " + spec);
+        return GodPairing.fixed(names[0].trim(), names[1].trim());
+    }
+
+    private static Function<GameRandom, WorkerPlacementStrategy> placement(String spec)
+            throws ReflectiveOperationException {
+        if (spec.equals("random")) return RandomPlacementStrategy::new;
+        Class<? extends WorkerPlacementStrategy> type =
+                Class.forName(spec).asSubclass(WorkerPlacementStrategy.class);
+        boolean seeded;
+        try {
+            type.getDeclaredConstructor(GameRandom.class);
+            seeded = true;
+        } catch (NoSuchMethodException e) {
+            type.getDeclaredConstructor(); // fail fast when neither constructor exists
+            seeded = false;
+        }
+        boolean withRandom = seeded;
+        return random -> {
+            try {
+                return withRandom ? type.getDeclaredConstructor(GameRandom.class).newInstance(random)
+                        : type.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot create " + spec, e);
+            }
+        };
+    }
+}
@@ -0,0 +1,225 @@
+package santorini.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A small micro-benchmark harness: warm-up iterations, then timed measurement
+ * iterations, reporting throughput and the bytes allocated per operation.
+ * <p>
+ * Each iteration calls the operation in a tight loop until the iteration time has
+ * passed. The values the operation returns are folded into a sink that is printed with
+ * the results, so the JIT cannot discard the work. Allocation is read from the
+ * calling thread's allocation counter ({@code com.sun.management.ThreadMXBean}), which
+ * gives the same bytes-per-operation figure as a GC profiler without a separate agent.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class BenchmarkHarness {
+
+    /**
+     * An operation to measure.
+     */
+    @FunctionalInterface
+    public interface Operation {
+
+        /**
+         * Runs the operation once.
+         *
+         * @param invocation the number of the call, for cycling through inputs
+         * @return any value depending on the work done, consumed by the harness
+         */
+        long run(int invocation);
+    }
+
+    /**
+     * The measured throughput and allocation of one benchmark.
+     */
+    public static final class Result {
+        private final String name;
+        private final double opsPerSecond;
+        private final double error;
+        private final double bytesPerOp;
+
+        private Result(String name, double opsPerSecond, double error, double bytesPerOp) {
+            this.name = name;
+            this.opsPerSecond = opsPerSecond;
+            this.error = error;
+            this.bytesPerOp = bytesPerOp;
+        }
+
+        /**
+         * Returns the benchmark name.
+         *
+         * @return the name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the mean throughput over the measurement iterations.
+         *
+         * @return operations per second
+         */
+        public double getOpsPerSecond() {
+            return opsPerSecond;
+        }
+
+        /**
+         * Returns the standard deviation of the throughput across iterations.
+         *
+         * @return the error in operations per second
+         */
+        public double getError() {
+            return error;
+        }
+
+        /**
+         * Returns the bytes allocated per operation, or -1 if the JVM cannot measure it.
+         *
+         * @return the allocation per operation
+         */
+        public double getBytesPerOp() {
+            return bytesPerOp;
+        }
+
+        /**
+         * Returns the allocation rate at the measured throughput.
+         *
+         * @return megabytes allocated per second, or -1 if unknown
+         */
+        public double getAllocationRate() {
+            return bytesPerOp < 0 ? -1 : bytesPerOp * opsPerSecond / (1024 * 1024);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-28s %14.0f +- %-10.0f %10.1f %10.1f", name, opsPerSecond, error,
+                    bytesPerOp, getAllocationRate());
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+
+    private final int warmupIterations;
+    private final int measureIterations;
+    private final long iterationNanos;
+    private final List<Result> results = new ArrayList<>();
+    private long sink;
+
+    /**
+     * Constructs a harness.
+     *
+     * @param warmupIterations  iterations run before measuring
+     * @param measureIterations iterations measured
+     * @param iterationMillis   length of each iteration in milliseconds
+     */
+    public BenchmarkHarness(int warmupIterations, int measureIterations, long iterationMillis) {
+        this.warmupIterations = warmupIterations;
+        this.measureIterations = measureIterations;
+        this.iterationNanos = iterationMillis * 1_000_000L;
+    }
+
+    /**
+     * Measures an operation and prints its result line.
+     *
+     * @param name      the benchmark name
+     * @param operation the operation to measure
+     * @return the result
+     */
+    public Result run(String name, Operation operation) {
+        int invocation = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            invocation = iterate(operation, invocation, null);
+        }
+
+        double[] rates = new double[measureIterations];
+        long ops = 0;
+        long bytes = 0;
+        for (int i = 0; i < measureIterations; i++) {
+            long[] counters = new long[3];
+            invocation = iterate(operation, invocation, counters);
+            rates[i] = counters[0] * 1e9 / counters[1];
+            ops += counters[0];
+            bytes += counters[2];
+        }
+
+        double mean = 0;
+        for (double rate : rates) mean += rate;
+        mean /= rates.length;
+        double variance = 0;
+        for (double rate : rates) variance += (rate - mean) * (rate - mean);
+        double error = rates.length > 1 ? Math.sqrt(variance / (rates.length - 1)) : 0;
+        double bytesPerOp = THREADS == null ? -1 : (double) bytes / ops;
+
+        Result result = new Result(name, mean, error, bytesPerOp);
+        results.add(result);
+        System.out.println(result);
+        return result;
+    }
+
+    /**
+     * Runs one iteration, filling {@code counters} with the operation count, elapsed
+     * nanoseconds and allocated bytes when measuring.
+     */
+    private int iterate(Operation operation, int invocation, long[] counters) {
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long deadline = start + iterationNanos;
+        long ops = 0;
+        long now;
+        do {
+            // check the clock once per batch so the timer does not dominate tiny operations
+            for (int i = 0; i < 64; i++) {
+                sink += operation.run(invocation++);
+            }
+            ops += 64;
+            now = System.nanoTime();
+        } while (now < deadline);
+
+        if (counters != null) {
+            counters[0] = ops;
+            counters[1] = now - start;
+            counters[2] = THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(thread) - allocatedBefore;
+        }
+        return invocation;
+    }
+
+    /**
+     * Prints the column headings of the result lines.
+     */
+    public static void printHeader() {
+        System.out.printf("%-28s %14s   %-10s %10s %10s%n", "benchmark", "ops/s", "error", "B/op", "MB/s");
+    }
+
+    /**
+     * Returns every result measured so far.
+     *
+     * @return the results, in the order they were run
+     */
+    public List<Result> getResults() {
+        return results;
+    }
+
+    /**
+     * Returns the folded values returned by the operations, to be printed so they stay live.
+     *
+     * @return the sink value
+     */
+    public long getSink() {
+        return sink;
+    }
+
+    private static com.sun.management.ThreadMXBean threadBean() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean)) {
+            return null;
+        }
+        if (!bean.isThreadAllocatedMemorySupported()) return null;
+        bean.setThreadAllocatedMemoryEnabled(true);
+        return bean;
+    }
+}
@@ -0,0 +1,194 @@
+package santorini.benchmark;
+
+import santorini.controller.RandomPlacementStrategy;
+import santorini.engine.Position;
+import santorini.engine.Turn;
+import santorini.engine.TurnGenerator;
+import santorini.model.Board;
+import santorini.model.BoardState;
+import santorini.model.Cell;
+import santorini.model.GameRandom;
+import santorini.model.Player;
+import santorini.model.Worker;
+import santorini.model.actions.BuildAction;
+import santorini.model.actions.MoveAction;
+import santorini.model.actions.RemoveBuildAction;
+import santorini.model.gods.GodCard;
+import santorini.model.meters.MeterType;
+import santorini.model.meters.NatureMeter;
+import santorini.model.winconditions.BasicWinCondition;
+import santorini.simulation.GodPairing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A fixed set of mid-game positions on the rules model ({@link Board}, {@link Player},
+ * {@link Worker}) for benchmarks to run over.
+ * <p>
+ * Each position is reached from a random placement by playing random legal turns
+ * through the same {@code MoveAction}, {@code BuildAction} and {@code RemoveBuildAction}
+ * calls the game uses, for between {@value #MIN_PLIES} and {@value #MAX_PLIES} plies.
+ * God cards cycle through every ordered pair. The corpus depends only on its seed, so
+ * runs against different versions of the code measure the same positions.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class PositionCorpus {
+
+    /** Seed of the standard corpus. */
+    public static final long DEFAULT_SEED = 3077L;
+
+    private static final int ROWS = 5;
+    private static final int COLS = 5;
+    private static final int MIN_PLIES = 6;
+    private static final int MAX_PLIES = 18;
+
+    /**
+     * One corpus position: the board, its players and the player to move.
+     */
+    public static final class Entry {
+        private final Board board;
+        private final List<Player> players;
+        private final Player toMove;
+
+        private Entry(Board board, List<Player> players, Player toMove) {
+            this.board = board;
+            this.players = players;
+            this.toMove = toMove;
+        }
+
+        /**
+         * Returns the board.
+         *
+         * @return the board
+         */
+        public Board getBoard() {
+            return board;
+        }
+
+        /**
+         * Returns the players, in seat order.
+         *
+         * @return the players
+         */
+        public List<Player> getPlayers() {
+            return players;
+        }
+
+        /**
+         * Returns the player whose turn it is.
+         *
+         * @return the player to move
+         */
+        public Player getToMove() {
+            return toMove;
+        }
+    }
+
+    private final List<Entry> entries;
+
+    private PositionCorpus(List<Entry> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Builds a corpus of mid-game positions.
+     *
+     * @param size the number of positions
+     * @param seed the seed the positions are derived from
+     * @return the corpus
+     */
+    public static PositionCorpus generate(int size, long seed) {
+        GameRandom random = new GameRandom(seed);
+        GodPairing pairing = GodPairing.allPairs();
+        List<Entry> entries = new ArrayList<>(size);
+        for (long game = 0; entries.size() < size; game++) {
+            GameRandom gameRandom = random.derive(game);
+            Entry entry = play(pairing.cardsFor(entries.size(), gameRandom), gameRandom);
+            if (entry != null) entries.add(entry);
+        }
+        return new PositionCorpus(List.copyOf(entries));
+    }
+
+    /**
+     * Returns the positions.
+     *
+     * @return the corpus entries
+     */
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns the position for an invocation, cycling through the corpus.
+     *
+     * @param invocation the invocation number
+     * @return the corpus entry
+     */
+    public Entry get(int invocation) {
+        return entries.get(Math.floorMod(invocation, entries.size()));
+    }
+
+    /**
+     * Returns the number of positions.
+     *
+     * @return the corpus size
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Plays random turns from a random placement, or returns {@code null} if the game
+     * ends before reaching its target length.
+     */
+    private static Entry play(GodCard[] cards, GameRandom random) {
+        Board board = new Board(ROWS, COLS);
+        board.initialize();
+        List<Player> players = new ArrayList<>(cards.length);
+        for (int i = 0; i < cards.length; i++) {
+            Player player = new Player("Player " + (i + 1), i);
+            player.setMeter(MeterType.NATURE, new NatureMeter(0, Position.METER_MAX));
+            player.setGodCard(cards[i]);
+            players.add(player);
+        }
+        new RandomPlacementStrategy(random.split()).placeWorkers(board, players);
+
+        int plies = MIN_PLIES + random.nextInt(MAX_PLIES - MIN_PLIES + 1);
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        for (int ply = 0; ply < plies; ply++) {
+            Player mover = players.get(ply % players.size());
+            board.getState().setSideToMove(mover.getIndex());
+            int count = TurnGenerator.generate(Position.from(board, players, mover), turns);
+            if (count == 0) return null;
+            if (!apply(board, players, mover, turns[random.nextInt(count)])) return null;
+        }
+        Player toMove = players.get(plies % players.size());
+        board.getState().setSideToMove(toMove.getIndex());
+        return new Entry(board, players, toMove);
+    }
+
+    /**
+     * Plays a packed turn through the rules model.
+     *
+     * @return {@code false} if the turn won the game
+     */
+    private static boolean apply(Board board, List<Player> players, Player mover, int turn) {
+        Worker worker = board.getWorker(BoardState.slotOf(mover.getIndex(), Turn.worker(turn)));
+        for (int move : new int[] {Turn.move(turn), Turn.move2(turn)}) {
+            if (move == Turn.NONE) continue;
+            new MoveAction(board, players, worker, board.getCell(move)).execute();
+            if (new BasicWinCondition().winCheck(mover)) return false;
+        }
+        for (int build : new int[] {Turn.build(turn), Turn.build2(turn)}) {
+            if (build != Turn.NONE) new BuildAction(board, players, worker, board.getCell(build)).execute();
+        }
+        if (Turn.remove(turn) != Turn.NONE) {
+            Cell cell = board.getCell(Turn.remove(turn));
+            new RemoveBuildAction(board, players, worker, cell).execute();
+        }
+        return true;
+    }
+}
@@ -0,0 +1,148 @@
+package santorini.benchmark;
+
+import santorini.model.Board;
+import santorini.model.Cell;
+import santorini.model.Player;
+import santorini.model.Worker;
+import santorini.model.actions.Action;
+import santorini.model.actions.BuildAction;
+import santorini.model.actions.MoveAction;
+import santorini.model.actions.RemoveBuildAction;
+import santorini.model.gods.ArtemisPower;
+import santorini.model.gods.DemeterPower;
+import santorini.model.gods.GaiaPower;
+import santorini.model.gods.SpecialPower;
+import santorini.model.gods.ZeusPower;
+import santorini.model.loseconditions.StuckLoseCondition;
+import santorini.model.winconditions.BasicWinCondition;
+import santorini.simulation.BatchSimulator;
+import santorini.simulation.GodPairing;
+import santorini.simulation.RandomStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Command-line benchmarks of the rules hot paths, run over a {@link PositionCorpus}
+ * of mid-game positions: neighbour lookup, move and build legality, every god power's
+ * {@code modify}, the stuck and win checks, and whole random games.
+ * <p>
+ * Each line reports operations per second (mean and standard deviation over the
+ * measurement iterations), bytes allocated per operation and the resulting allocation
+ * rate. Run it before and after an optimisation to get the baseline it is measured against.
+ * <p>
+ * Usage: {@code java santorini.benchmark.RulesBenchmarks [nameFilter] [iterationMillis]}
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class RulesBenchmarks {
+
+    private static final int CORPUS_SIZE = 256;
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASURE_ITERATIONS = 5;
+    private static final long DEFAULT_ITERATION_MILLIS = 1_000;
+
+    private RulesBenchmarks() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args an optional substring selecting benchmarks by name, and the iteration length in milliseconds
+     */
+    public static void main(String[] args) {
+        String filter = args.length > 0 ? args[0] : "";
+        long millis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_ITERATION_MILLIS;
+
+        PositionCorpus corpus = PositionCorpus.generate(CORPUS_SIZE, PositionCorpus.DEFAULT_SEED);
+        List<MoveAction> moves = new ArrayList<>();
+        List<BuildAction> builds = new ArrayList<>();
+        List<MoveAction> legalMoves = new ArrayList<>();
+        List<BuildAction> legalBuilds = new ArrayList<>();
+        List<RemoveBuildAction> removes = new ArrayList<>();
+        collectInputs(corpus, moves, builds, legalMoves, legalBuilds, removes);
+
+        BenchmarkHarness harness = new BenchmarkHarness(WARMUP_ITERATIONS, MEASURE_ITERATIONS, millis);
+        System.out.printf("corpus: %d positions, %d move and %d build candidates%n",
+                corpus.size(), moves.size(), builds.size());
+        BenchmarkHarness.printHeader();
+
+        if (selected("board.neighbours", filter)) {
+            harness.run("board.neighbours", i -> {
+                Board board = corpus.get(i).getBoard();
+                Cell cell = board.getCell(Math.floorMod(i, board.getRows() * board.getCols()));
+                return board.getNeighbourCells(cell).size();
+            });
+        }
+        if (selected("move.isLegal", filter)) {
+            harness.run("move.isLegal", i -> moves.get(i % moves.size()).isLegal() ? 1 : 0);
+        }
+        if (selected("build.isLegal", filter)) {
+            harness.run("build.isLegal", i -> builds.get(i % builds.size()).isLegal() ? 1 : 0);
+        }
+        runModify(harness, filter, "artemis.modify", new ArtemisPower(), legalMoves);
+        runModify(harness, filter, "demeter.modify", new DemeterPower(), legalBuilds);
+        runModify(harness, filter, "zeus.modify", new ZeusPower(), legalBuilds);
+        runModify(harness, filter, "gaia.modify", new GaiaPower(), removes);
+
+        if (selected("stuck.loseCheck", filter)) {
+            StuckLoseCondition stuck = new StuckLoseCondition();
+            harness.run("stuck.loseCheck", i -> {
+                PositionCorpus.Entry entry = corpus.get(i);
+                return stuck.loseCheck(entry.getToMove(), entry.getBoard()) ? 1 : 0;
+            });
+        }
+        if (selected("win.winCheck", filter)) {
+            BasicWinCondition win = new BasicWinCondition();
+            harness.run("win.winCheck", i -> win.winCheck(corpus.get(i).getToMove()) ? 1 : 0);
+        }
+        if (selected("game.random", filter)) {
+            BatchSimulator simulator = new BatchSimulator(RandomStrategy::new, RandomStrategy::new);
+            simulator.setGodPairing(GodPairing.allPairs());
+            simulator.setSeed(PositionCorpus.DEFAULT_SEED);
+            harness.run("game.random", i -> simulator.playGame(i).getTurns());
+        }
+        System.out.println("sink: " + harness.getSink());
+    }
+
+    private static boolean selected(String name, String filter) {
+        return name.contains(filter);
+    }
+
+    /**
+     * Benchmarks a god power's {@code modify} over a list of triggering actions.
+     */
+    private static void runModify(BenchmarkHarness harness, String filter, String name,
+                                  SpecialPower power, List<? extends Action> actions) {
+        if (!selected(name, filter) || actions.isEmpty()) return;
+        harness.run(name, i -> power.modify(actions.get(i % actions.size())).size());
+    }
+
+    /**
+     * Builds the benchmark inputs from the corpus: a move and a build from
+     * each worker of the player to move to every cell, the legal ones among them, and a
+     * removal by each of those workers.
+     */
+    private static void collectInputs(PositionCorpus corpus, List<MoveAction> moves, List<BuildAction> builds,
+                                      List<MoveAction> legalMoves, List<BuildAction> legalBuilds,
+                                      List<RemoveBuildAction> removes) {
+        for (PositionCorpus.Entry entry : corpus.getEntries()) {
+            Board board = entry.getBoard();
+            List<Player> players = entry.getPlayers();
+            int size = board.getRows() * board.getCols();
+            for (Worker worker : entry.getToMove().getWorkers()) {
+                for (int index = 0; index < size; index++) {
+                    Cell cell = board.getCell(index);
+                    MoveAction move = new MoveAction(board, players, worker, cell);
+                    BuildAction build = new BuildAction(board, players, worker, cell);
+                    moves.add(move);
+                    builds.add(build);
+                    if (move.isLegal()) legalMoves.add(move);
+                    if (build.isLegal()) legalBuilds.add(build);
+                }
+                removes.add(new RemoveBuildAction(board, players, worker, worker.getCurrentCell()));
+            }
+        }
+    }
+}
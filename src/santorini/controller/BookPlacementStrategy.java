@@ -0,0 +1,84 @@
+package santorini.controller;
+
+import santorini.engine.OpeningBook;
+import santorini.engine.Position;
+import santorini.engine.Turn;
+import santorini.model.Board;
+import santorini.model.Cell;
+import santorini.model.GameRandom;
+import santorini.model.Player;
+import santorini.model.Worker;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+
+/**
+ * Places workers where the {@link OpeningBook} recommends for the god matchup.
+ * <p>
+ * Players place in turn order, so each book placement answers the placements made before
+ * it. Only the chosen seats (typically the bots) consult the book; the other players,
+ * and any seat whose position is not in the book, place on random free cells.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class BookPlacementStrategy implements WorkerPlacementStrategy {
+
+    private final OpeningBook book;
+    private final Set<Integer> bookSeats;
+    private final GameRandom random;
+
+    /**
+     * Constructs a strategy.
+     *
+     * @param book      the opening book
+     * @param bookSeats the player indices that place from the book
+     * @param random    the random source for the other placements
+     */
+    public BookPlacementStrategy(OpeningBook book, Collection<Integer> bookSeats, GameRandom random) {
+        this.book = book;
+        this.bookSeats = Set.copyOf(bookSeats);
+        this.random = random;
+    }
+
+    /**
+     * Places both workers of every player, in order.
+     *
+     * @param board   the game board
+     * @param players the players, in turn order, with their god cards assigned
+     */
+    @Override
+    public void placeWorkers(Board board, List<Player> players) {
+        for (Player player : players) {
+            int placement = Turn.NO_TURN;
+            if (bookSeats.contains(player.getIndex())) {
+                placement = book.probe(Position.from(board, players, player));
+            }
+            if (placement == Turn.NO_TURN) placement = randomPlacement(board);
+            place(board, player, Turn.move(placement));
+            place(board, player, Turn.move2(placement));
+        }
+    }
+
+    /**
+     * Picks two different free cells.
+     */
+    private int randomPlacement(Board board) {
+        List<Integer> free = new ArrayList<>();
+        for (int cell = 0; cell < board.getRows() * board.getCols(); cell++) {
+            if (board.getCell(cell).getWorker() == null) free.add(cell);
+        }
+        random.shuffle(free);
+        return OpeningBook.placement(free.get(0), free.get(1));
+    }
+
+    private static void place(Board board, Player player, int index) {
+        Cell cell = board.getCell(index);
+        Worker worker = new Worker(player);
+        player.addWorker(worker);
+        worker.setCurrentCell(cell);
+        cell.setWorker(worker);
+    }
+}
@@ -0,0 +1,260 @@
+package santorini.controller;
+
+import santorini.engine.AlphaBetaSearcher;
+import santorini.engine.Evaluator;
+import santorini.engine.OpeningBook;
+import santorini.engine.Position;
+import santorini.engine.SearchResult;
+import santorini.engine.TranspositionTable;
+import santorini.engine.Turn;
+import santorini.engine.TurnSearcher;
+import santorini.model.timing.GameTimer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+
+/**
+ * A computer player that picks complete turns with a {@link TurnSearcher}, by default
+ * the alpha-beta searcher.
+ * <p>
+ * Searches run on a dedicated background thread so the Swing event thread stays
+ * responsive. The time spent on each turn is derived from the remaining time on
+ * the bot's {@link GameTimer}, keeping a safety margin so the bot never runs out
+ * of time. Positions found in the {@link OpeningBook} are answered from the book at
+ * once, without searching.
+ * <p>
+ * While the opponent thinks, an alpha-beta bot ponders: it predicts the opponent's
+ * reply with a short search and then searches the position that reply leads to, on a
+ * second thread sharing the transposition table. When the real reply arrives the
+ * ponder is stopped. If the prediction was right, the bot's own search finds the
+ * pondered results in the table and gets deeper in the same time, and a forced result
+ * found while pondering is played at once.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class EngineBot {
+
+    private static final int TABLE_MEGABYTES = 32;
+    private static final int MOVES_TO_GO = 20;
+    private static final long MIN_BUDGET_MILLIS = 50;
+    private static final long MAX_BUDGET_MILLIS = 5_000;
+    private static final long SAFETY_MILLIS = 1_000;
+    private static final long PREDICT_MILLIS = 100;
+    private static final long PONDER_MILLIS = 120_000;
+
+    private final GameTimer timer;
+    private final TurnSearcher searcher;
+    private final TranspositionTable table;
+    private final ExecutorService executor;
+    private final AlphaBetaSearcher ponderer;
+    private final ExecutorService ponderExecutor;
+    private Ponder ponder;
+    private OpeningBook book = OpeningBook.EMPTY;
+    private volatile SearchResult lastResult;
+
+    /**
+     * Constructs a bot whose thinking time is bounded by the given timer.
+     *
+     * @param timer the bot's player timer
+     */
+    public EngineBot(GameTimer timer) {
+        this(timer, TranspositionTable.ofMegabytes(TABLE_MEGABYTES));
+    }
+
+    private EngineBot(GameTimer timer, TranspositionTable table) {
+        this(timer, new AlphaBetaSearcher(table), table);
+    }
+
+    /**
+     * Constructs a bot that chooses its turns with the given searcher.
+     *
+     * @param timer    the bot's player timer
+     * @param searcher the search algorithm, such as {@link santorini.engine.MctsSearcher}
+     */
+    public EngineBot(GameTimer timer, TurnSearcher searcher) {
+        this(timer, searcher, null);
+    }
+
+    private EngineBot(GameTimer timer, TurnSearcher searcher, TranspositionTable table) {
+        this.timer = timer;
+        this.searcher = searcher;
+        this.table = table;
+        this.executor = Executors.newSingleThreadExecutor(daemon("santorini-engine"));
+        // pondering reuses the table, so only a searcher with a table can ponder
+        this.ponderer = table != null ? new AlphaBetaSearcher(table) : null;
+        this.ponderExecutor = table != null ? Executors.newSingleThreadExecutor(daemon("santorini-ponder")) : null;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread thread = new Thread(r, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Sets the opening book the bot plays from while its positions are in it.
+     *
+     * @param book the opening book
+     */
+    public void setOpeningBook(OpeningBook book) {
+        this.book = book;
+    }
+
+    /**
+     * Starts searching a position in the background, unless the opening book has an answer.
+     *
+     * @param position the position to search, with the bot to move
+     * @return a future completed with the chosen packed turn
+     */
+    public CompletableFuture<Integer> chooseTurn(Position position) {
+        Ponder pondered = cancelPonder();
+        int booked = book.probe(position);
+        if (booked != Turn.NO_TURN) {
+            return CompletableFuture.completedFuture(booked);
+        }
+        long budget = budgetMillis();
+        return CompletableFuture.supplyAsync(() -> {
+            if (pondered != null) {
+                pondered.done.join();
+                SearchResult forced = pondered.forcedResult(position);
+                if (forced != null) {
+                    lastResult = forced;
+                    return forced.getBestTurn();
+                }
+            }
+            SearchResult result = searcher.search(position, budget);
+            lastResult = result;
+            if (table != null) table.resetCounters();
+            return result.getBestTurn();
+        }, executor);
+    }
+
+    /**
+     * Starts pondering on the opponent's time. Any earlier ponder is stopped.
+     *
+     * @param position the position after the bot's turn, with the opponent to move
+     */
+    public void ponder(Position position) {
+        if (ponderer == null) return;
+        cancelPonder();
+        ponder = new Ponder(new Position(position));
+        ponderExecutor.execute(ponder);
+    }
+
+    /**
+     * Stops the ponder in progress, if any, without waiting for it to wind down.
+     */
+    public void stopPondering() {
+        cancelPonder();
+    }
+
+    /**
+     * Cancels the ponder in progress. Its searches poll the ponder's own flag, so the
+     * cancel takes effect even if it lands before a search has started.
+     *
+     * @return the cancelled ponder, or {@code null} if the bot was not pondering
+     */
+    private Ponder cancelPonder() {
+        Ponder cancelled = ponder;
+        if (cancelled == null) return null;
+        ponder = null;
+        cancelled.cancelled = true;
+        return cancelled;
+    }
+
+    /**
+     * Returns the time the bot may spend on its next turn.
+     * <p>
+     * The remaining clock time (less a safety margin) is shared evenly across the
+     * number of turns the bot still expects to play.
+     *
+     * @return the search budget in milliseconds
+     */
+    public long budgetMillis() {
+        long remaining = timer.getRemainingTimeMillis() - SAFETY_MILLIS;
+        long share = remaining / MOVES_TO_GO;
+        return Math.max(MIN_BUDGET_MILLIS, Math.min(MAX_BUDGET_MILLIS, share));
+    }
+
+    /**
+     * Returns the result of the most recent search, for reporting search speed.
+     *
+     * @return the last {@link SearchResult}, or {@code null} before the first search
+     */
+    public SearchResult getLastResult() {
+        return lastResult;
+    }
+
+    /**
+     * Stops any running search and releases the search threads.
+     */
+    public void shutdown() {
+        cancelPonder();
+        searcher.stop();
+        searcher.close();
+        executor.shutdownNow();
+        if (ponderExecutor != null) ponderExecutor.shutdownNow();
+    }
+
+    /**
+     * One ponder: the predicted reply to the bot's turn and the search after it.
+     */
+    private final class Ponder implements Runnable {
+        private final Position afterTurn;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private volatile boolean cancelled;
+        private volatile Position expected;
+        private volatile SearchResult result;
+
+        private Ponder(Position afterTurn) {
+            this.afterTurn = afterTurn;
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (cancelled) return;
+                int predicted = ponderer.search(afterTurn, PREDICT_MILLIS, AlphaBetaSearcher.MAX_DEPTH,
+                        this::isCancelled).getBestTurn();
+                if (cancelled || predicted == Turn.NO_TURN) return;
+                Position next = new Position(afterTurn);
+                next.apply(predicted);
+                if (next.isOver()) return;
+                expected = next;
+                result = ponderer.search(next, PONDER_MILLIS, AlphaBetaSearcher.MAX_DEPTH, this::isCancelled);
+            } finally {
+                done.complete(null);
+            }
+        }
+
+        private boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns whether the opponent played the predicted reply.
+         */
+        private boolean isHit(Position position) {
+            Position searched = expected;
+            return searched != null && searched.hash() == position.hash();
+        }
+
+        /**
+         * Returns the ponder's result if the prediction was right and the ponder already
+         * found a forced win or loss, which further search would not change.
+         */
+        private SearchResult forcedResult(Position position) {
+            SearchResult found = result;
+            if (!isHit(position) || found == null || found.getBestTurn() == Turn.NO_TURN
+                    || Math.abs(found.getScore()) < Evaluator.WIN_THRESHOLD) {
+                return null;
+            }
+            return found;
+        }
+    }
+}
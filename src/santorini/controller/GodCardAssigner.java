@@ -1,11 +1,11 @@
 package santorini.controller;
 
+import santorini.model.GameRandom;
 import santorini.model.gods.GodCard;
 import santorini.model.Player;
 import santorini.model.gods.GodCardProvider;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -16,6 +16,7 @@ import java.util.List;
  */
 public class GodCardAssigner {
     private final GodCardProvider provider;
+    private final GameRandom random;
 
     /**
      * Constructs a GodCardAssigner with the specified GodCardProvider.
@@ -23,7 +24,18 @@ public class GodCardAssigner {
      * @param provider the provider to get available god cards from
      */
     public GodCardAssigner(GodCardProvider provider) {
+        this(provider, new GameRandom());
+    }
+
+    /**
+     * Constructs a GodCardAssigner that shuffles with the given random source.
+     *
+     * @param provider the provider to get available god cards from
+     * @param random   the random source used to shuffle the cards
+     */
+    public GodCardAssigner(GodCardProvider provider, GameRandom random) {
         this.provider = provider;
+        this.random = random;
     }
 
     /**
@@ -35,7 +47,7 @@ public class GodCardAssigner {
      */
     public void assignTo(List<Player> players) {
         List<GodCard> cards = new ArrayList<>(provider.getAvailableCards());
-        Collections.shuffle(cards);
+        random.shuffle(cards);
         for (int i = 0; i < players.size(); i++) {
             players.get(i).setGodCard(cards.get(i));
         }
@@ -5,16 +5,15 @@ import santorini.model.Player;
 import santorini.model.Worker;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.Random;
 
 
 /**
  * Implements a strategy for randomly placing workers on the game board.
  * <p>
  * Each player is assigned a fixed number of workers, and workers are placed
- * randomly in unoccupied cells at the start of the game.
+ * randomly in unoccupied cells at the start of the game, drawing from a
+ * {@link GameRandom} so placements can be reproduced from a seed.
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
  */
@@ -22,6 +21,24 @@ public class RandomPlacementStrategy implements WorkerPlacementStrategy {
 
     private static final int WORKERS_PER_PLAYER = 2;
 
+    private final GameRandom random;
+
+    /**
+     * Constructs a strategy with a freshly seeded random source.
+     */
+    public RandomPlacementStrategy() {
+        this(new GameRandom());
+    }
+
+    /**
+     * Constructs a strategy drawing placements from the given random source.
+     *
+     * @param random the random source
+     */
+    public RandomPlacementStrategy(GameRandom random) {
+        this.random = random;
+    }
+
     /**
      * Places workers for all players randomly on the board.
      * <p>
@@ -43,7 +60,7 @@ public class RandomPlacementStrategy implements WorkerPlacementStrategy {
         }
 
         // Shuffle cells to randomize placement
-        Collections.shuffle(allCells, new Random());
+        random.shuffle(allCells);
 
         int index = 0;
         for (Player player : players) {
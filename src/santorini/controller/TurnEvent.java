@@ -0,0 +1,88 @@
+package santorini.controller;
+
+
+/**
+ * An input to the {@link TurnManager} state machine.
+ * <p>
+ * Every source of input (board clicks, the god-power prompt buttons, computer players,
+ * replays) is turned into these events and posted to the turn manager's single queue,
+ * so all of them drive the game through exactly the same transitions.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class TurnEvent {
+
+    /**
+     * The kinds of input a phase can accept.
+     */
+    public enum Type {
+        /** A board cell was chosen. */
+        CLICK,
+        /** The player chose to use the god power on offer. */
+        ACCEPT,
+        /** The player chose not to use the god power on offer. */
+        DECLINE
+    }
+
+    private static final TurnEvent ACCEPT = new TurnEvent(Type.ACCEPT, -1);
+    private static final TurnEvent DECLINE = new TurnEvent(Type.DECLINE, -1);
+
+    private final Type type;
+    private final int cell;
+
+    private TurnEvent(Type type, int cell) {
+        this.type = type;
+        this.cell = cell;
+    }
+
+    /**
+     * Creates an event choosing a board cell.
+     *
+     * @param cell the cell index
+     * @return the event
+     */
+    public static TurnEvent click(int cell) {
+        return new TurnEvent(Type.CLICK, cell);
+    }
+
+    /**
+     * Returns the event accepting the god power on offer.
+     *
+     * @return the event
+     */
+    public static TurnEvent accept() {
+        return ACCEPT;
+    }
+
+    /**
+     * Returns the event declining the god power on offer.
+     *
+     * @return the event
+     */
+    public static TurnEvent decline() {
+        return DECLINE;
+    }
+
+    /**
+     * Returns the kind of event.
+     *
+     * @return the event type
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the chosen cell of a {@link Type#CLICK} event.
+     *
+     * @return the cell index, or -1 for other events
+     */
+    public int getCell() {
+        return cell;
+    }
+
+    @Override
+    public String toString() {
+        return type == Type.CLICK ? "CLICK " + cell : type.toString();
+    }
+}
@@ -1,22 +1,33 @@
 package santorini.controller;
 
+import santorini.engine.Position;
+import santorini.engine.Turn;
 import santorini.model.*;
 import santorini.model.Player;
 import santorini.model.Worker;
 import santorini.model.gods.SpecialPower;
 import santorini.model.meters.BuildObserver;
 import santorini.model.meters.ImpactLevel;
+import santorini.model.meters.MeterStrategy;
+import santorini.model.meters.MeterType;
 import santorini.model.loseconditions.LoseCondition;
+import santorini.model.timing.GameTimer;
 import santorini.model.timing.TimerManager;
 import santorini.view.BoardUI;
 import santorini.model.winconditions.BasicWinCondition;
 import santorini.model.actions.MoveAction;
 import santorini.model.actions.BuildAction;
 import santorini.model.actions.Action;
+import santorini.model.actions.RemoveBuildAction;
+import santorini.record.GameRecordWriter;
 import santorini.view.SantoriniApp;
 import javax.swing.*;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.CompletableFuture;
+import java.util.Map;
 
 
 /**
@@ -24,9 +35,19 @@ import java.util.concurrent.CompletableFuture;
  * <p>
  * Handles movement, building, win/lose condition checking, god power interactions,
  * and user input processing across turns.
+ * <p>
+ * A turn is a state machine over {@link TurnPhase}. Every input (board clicks, the god
+ * power prompt buttons and the turns chosen by computer players) is posted as a
+ * {@link TurnEvent} to one queue and handled one at a time against the current phase,
+ * so each phase is entered exactly once per step and events the phase does not expect
+ * are rejected instead of completing a stale callback.
+ * <p>
+ * The board at the start of the current turn and the events that have moved the turn
+ * on since are kept, so a saved game can resume mid-turn by replaying them.
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
  * Modified by: Ubaid Irfan (Sprint 3 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
 
 public class TurnManager {
@@ -36,15 +57,39 @@ public class TurnManager {
     private Board board;
     private BoardUI ui;
     private JLabel turnLabel;
-    private CompletableFuture<Worker> pendingWorkerFuture;
-    private CompletableFuture<Cell> pendingCellFuture;
 
+    private TurnPhase phase = TurnPhase.SELECT_WORKER;
+    private final ArrayDeque<TurnEvent> events = new ArrayDeque<>();
+    private boolean dispatching;
+
+    private Worker selectedWorker;
     private Worker lastMovedWorker;
 
-    private int totalFirstFloor;
-    private int totalSecondFloor;
-    private int totalThirdFloor;
-    private int totalDome;
+    // god power actions on offer in the current optional phase
+    private List<Action> godOptions = List.of();
+
+    // packed turn the current bot is playing, or Turn.NO_TURN
+    private int botTurn = Turn.NO_TURN;
+
+    // steps of the turn in progress and the clock at its start, for the game record
+    private int playedMove = Turn.NONE;
+    private int playedMove2 = Turn.NONE;
+    private int playedBuild = Turn.NONE;
+    private int playedBuild2 = Turn.NONE;
+    private int playedRemove = Turn.NONE;
+    private long turnStartMillis = -1;
+    private Player winner;
+
+    private GameRecordWriter recorder;
+    private List<GameTimer> clocks = List.of();
+
+    // the board and meters when the current turn started, and the events played since
+    private BoardState turnStart;
+    private int[] turnStartMeters = new int[0];
+    private final List<TurnEvent> turnEvents = new ArrayList<>();
+    private int turnSerial;
+    private int transitions;
+    private boolean restoring;
 
     private final TimerManager timerManager;
 
@@ -54,6 +99,7 @@ public class TurnManager {
 
     private final SantoriniApp app;
 
+    private final Map<Integer, EngineBot> bots = new HashMap<>();
 
 
     /**
@@ -73,10 +119,6 @@ public class TurnManager {
         this.ui = ui;
         this.current = players.get(0);
         this.workers = current.getWorkers();
-        this.totalFirstFloor = 0;
-        this.totalSecondFloor = 0;
-        this.totalThirdFloor = 0;
-        this.totalDome = 0;
         this.timerManager = timerManager;
         this.buildObservers = buildObservers;
         this.loseConditions = loseConditions;
@@ -89,16 +131,6 @@ public class TurnManager {
 
     }
 
-
-    //using animations to show the current selectable workers for move, so not using this right now anymore
-    private void highlightCurrentWorkers(boolean flag) {
-        for (Worker w : workers) {
-            Cell c = w.getCurrentCell();
-            ui.highlight(c.getRow(), c.getCol(), flag);   // tells BoardUI to toggle highlight
-        }
-        ui.refresh();   // repaint the board to show the change
-    }
-
     /**
      * Sets the JLabel that displays the current turn phase and player.
      *
@@ -123,12 +155,26 @@ public class TurnManager {
         for (BuildObserver observer : buildObservers) {
             observer.onBuild(player, level);
         }
+        syncMeter(player);
     }
 
     private void notifyRemove(Player player, ImpactLevel level) {
         for (BuildObserver observer : buildObservers) {
             observer.onRemove(player, level);
         }
+        syncMeter(player);
+    }
+
+    /**
+     * Copies a player's nature meter into the board state so the position hash reflects it.
+     *
+     * @param player the player whose meter may have changed
+     */
+    private void syncMeter(Player player) {
+        MeterStrategy meter = player.getMeter(MeterType.NATURE);
+        if (meter != null) {
+            board.getState().setMeter(player.getIndex(), meter.getValue());
+        }
     }
 
 
@@ -142,12 +188,13 @@ public class TurnManager {
     public boolean checkLoseConditions(Player player) {
 
         for (LoseCondition condition : loseConditions) {
-            if (condition.loseCheck(current, board)) {
-                int idx = players.indexOf(current);
+            if (condition.loseCheck(player, board)) {
+                int idx = players.indexOf(player);
                 Player winner = players.get((idx + 1) % players.size());
+                this.winner = winner;
 
                 // stop timer
-                timerManager.pause(current.getIndex());
+                timerManager.pause(player.getIndex());
 
                 //new WinScreen(winner.getName()).setVisible(true);
                 SwingUtilities.invokeLater(() -> app.showWin(winner.getName()));
@@ -157,469 +204,707 @@ public class TurnManager {
         return false;
     }
 
+    /**
+     * Returns the phase the current turn is in.
+     *
+     * @return the current phase
+     */
+    public TurnPhase getPhase() {
+        return phase;
+    }
 
     /**
      * Starts the turn for the current player.
      * lose condition checks, and begins the movement phase, timer.
      */
     public void startTurn() {
-
-        checkLoseConditions(players.get(0));
-        board.clearHighlights();
-
-        //resume player timer
-        timerManager.resume(current.getIndex());
-
-        ui.updateWorkerAnimationState(current, null);
-
-        if (turnLabel != null) {
-            turnLabel.setText("Turn: " + current.getName());
-        }
-        updateTurnLabel("Move Phase");
-        //highlightCurrentWorkers(true);
-
-        waitForWorker().thenAccept(this::handleWorkerSelectionForMove);
+        beginTurn();
+        drain();
     }
 
     /**
-     * Handles logic when the player selects a worker to move.
+     * Starts the current player's turn and replays the events a saved game had reached in it.
+     * Prompts are only shown for the phase the replay ends in.
      *
-     * @param selectedWorker the worker chosen for movement
+     * @param replay the events played so far this turn, as returned by {@link #getTurnEvents()}
+     * @return the phase the turn is in after the replay
      */
-    private void handleWorkerSelectionForMove(Worker selectedWorker) {
-        highlightCurrentWorkers(false);
-
-        ui.updateWorkerAnimationState(current, selectedWorker);
-
-
-        // trapped‐worker check
-        if (!workerHasMoves(selectedWorker)) {
-            JOptionPane.showMessageDialog(ui,
-                    "This worker has no valid moves. Please select a different worker.");
-            startTurn();
-            return;
+    public TurnPhase resumeTurn(List<TurnEvent> replay) {
+        restoring = true;
+        try {
+            beginTurn();
+            if (!isBotTurn()) events.addAll(replay);
+            drain();
+        } finally {
+            restoring = false;
         }
-        current.highlightMovableCells(board, selectedWorker);
-        ui.refresh();
-
-        waitForCell().thenAccept(firstDest -> {
-            // Create and store the base move action
-            Action baseMove = new MoveAction(board, players, selectedWorker, firstDest);
-            Cell initialCell = selectedWorker.getCurrentCell(); // store original position before move
-
-            if (!baseMove.execute()) {
-                JOptionPane.showMessageDialog(null, "Invalid move: Cell is already occupied, or too far away. Please choose another cell.");
-
-                startTurn();
-                return;
-            }
-            //remembering the worker that just moved
-            lastMovedWorker = selectedWorker;
-            ui.refresh();
-
-            if (new BasicWinCondition().winCheck(current)) {
-                timerManager.pause(current.getIndex());
-                //new WinScreen(current.getName()).setVisible(true);
-                SwingUtilities.invokeLater(() -> app.showWin(current.getName()));
-                return;
-            }
+        if (phase.isOffer() && !isBotTurn()) showPrompt(phase);
+        return phase;
+    }
 
-            // Ask god power if it offers more moves (e.g., Artemis)
-            List<Action> godMoves = current.getGodCard()
-                    .getSpecialPower()
-                    .modify(baseMove);   // pass the just‐executed action
-
-            if (!godMoves.isEmpty()) {
-                ui.showGodPowerPrompt("Use god power to move again?",
-                        () -> { // YES
-                            updateTurnLabel("God Power: Select second move");
-
-                            board.clearHighlights();
-                            for (Action a : godMoves) {
-                                Cell c = a.getTargetCell();
-                                if (c != null && !c.hasDome()) {
-                                    board.highlightCell(c.getX(), c.getY());
-                                }
-                            }
-
-                            ui.updateWorkerAnimationState(current, selectedWorker);
-                            ui.refresh();
-
-                            waitForCell().thenAccept(secondDest -> {
-                                for (Action godMove : godMoves) {
-                                    if (secondDest.equals(godMove.getTargetCell())) {
-                                        if (godMove.execute()) {
-                                            ui.refresh();
-                                            if (new BasicWinCondition().winCheck(current)) {
-                                                timerManager.pause(current.getIndex());
-                                                //new WinScreen(current.getName()).setVisible(true);
-                                                SwingUtilities.invokeLater(() -> app.showWin(current.getName()));
-                                                return;
-                                            }
-                                        }
-                                        break;
-                                    }
-                                }
-                                ui.updateWorkerAnimationState(current, selectedWorker);
-                                handleBuildPhase();
-                            });
-                        },
-                        () -> { // NO
-                            ui.updateWorkerAnimationState(current, selectedWorker);
-                            handleBuildPhase();
-                        }
-                );
-            }
-            ui.updateWorkerAnimationState(current, selectedWorker);
-            handleBuildPhase();
-        });
+    /**
+     * Returns the player whose turn it is.
+     *
+     * @return the current player
+     */
+    public Player getCurrentPlayer() {
+        return current;
     }
 
     /**
-     * Checks if a worker has any legal move options from its current cell.
+     * Returns the board as it was when the current turn started.
      *
-     * @param w the worker to test
-     * @return {@code true} if at least one move is valid
+     * @return a copy of the board state
      */
-    private boolean workerHasMoves(Worker w) {
-        Cell from = w.getCurrentCell();
-        for (Cell nbr : board.getNeighbourCells(from)) {
-            Action move = new MoveAction(board, players, w, nbr);
-            if (move.isLegal()) {
-                return true;
-            }
-        }
-        return false;
+    public BoardState getTurnStartState() {
+        return new BoardState(turnStart == null ? board.getState() : turnStart);
     }
 
     /**
-     * Begins the build phase after movement (or after using a god move).
+     * Returns a player's nature meter value when the current turn started.
+     *
+     * @param player the player
+     * @return the meter value, or {@code 0} if the player has no nature meter
      */
-    private void handleBuildPhase() {
-        board.clearHighlights();
-        updateTurnLabel("Build Phase");
-        highlightCurrentWorkers(true);
-        // build with the Worker that just moved
-        handleWorkerSelectionForBuild(lastMovedWorker);
+    public int getTurnStartMeter(Player player) {
+        int index = player.getIndex();
+        return index < turnStartMeters.length ? turnStartMeters[index] : 0;
     }
 
     /**
-     * Handles logic when the player selects a worker to build with.
+     * Returns the events that have moved the current turn on since it started, in order.
+     * A bot's turn is always empty: it is searched again from the start when resumed.
      *
-     * @param selectedWorker the worker chosen to build
+     * @return the events of the current turn
      */
-    private void handleWorkerSelectionForBuild(Worker selectedWorker) {
-        highlightCurrentWorkers(false);
-        current.highlightBuildableCells(board, selectedWorker);
-        ui.refresh();
+    public List<TurnEvent> getTurnEvents() {
+        return isBotTurn() ? List.of() : List.copyOf(turnEvents);
+    }
 
-        waitForCell().thenAccept(firstCell -> {
-            int preHeight = firstCell.getBuilding().getHeight();
+    /**
+     * Hands a player's seat to a computer player.
+     *
+     * @param playerIndex the index of the player the bot plays for
+     * @param bot         the bot choosing that player's turns
+     */
+    public void setBot(int playerIndex, EngineBot bot) {
+        bots.put(playerIndex, bot);
+    }
 
-            Action baseBuild = new BuildAction(board, players, selectedWorker, firstCell);
+    /**
+     * Ends the game because a player's clock has run out: the opponent wins, the result
+     * is written to the game record and any pondering bots stop. A turn the clock cut
+     * short is not recorded. Does nothing once the game is over.
+     *
+     * @param loser the player whose time ran out
+     */
+    public void timeOut(Player loser) {
+        if (phase == TurnPhase.GAME_OVER) return;
+        playedMove = Turn.NONE;
+        declareWinner(opponentOf(loser));
+        enter(TurnPhase.GAME_OVER);
+    }
 
-            if (!baseBuild.execute()) {
-                JOptionPane.showMessageDialog(null, "Invalid build: " + baseBuild.getErrorMessage());
-                handleBuildPhase();
-                return;
-            }
+    /**
+     * Records every turn played from now on, and the result, to a game record whose
+     * header has already been written.
+     *
+     * @param recorder the record writer
+     * @param clocks   each player's clock, for the time spent on each turn
+     */
+    public void setRecorder(GameRecordWriter recorder, List<GameTimer> clocks) {
+        this.recorder = recorder;
+        this.clocks = clocks;
+    }
 
-            int postHeight = firstCell.getBuilding().getHeight();
-            ImpactLevel level = ImpactLevel.fromHeight(postHeight);
-            notifyBuild(current, level);
+    /**
+     * Queues an input for the turn state machine and handles every queued event in order.
+     * Events posted while another is being handled run after it, never inside it.
+     *
+     * @param event the input to handle
+     */
+    public void post(TurnEvent event) {
+        events.add(event);
+        drain();
+    }
 
-            //check if player lost after first build
-            if (checkLoseConditions(current)) {
-                return; // Stop the rest of the turn if player has lost
+    /**
+     * Handles queued events until the queue is empty, unless already doing so further up the stack.
+     */
+    private void drain() {
+        if (dispatching) return;
+        dispatching = true;
+        try {
+            TurnEvent event;
+            while ((event = events.poll()) != null) {
+                handle(event);
             }
+        } finally {
+            dispatching = false;
+        }
+    }
 
-            if (preHeight == 0 && postHeight == 1) {
-                totalFirstFloor++;
-                if (totalFirstFloor > 22) {
-                    // Undo build
-                    firstCell.getBuilding().removeLevel();
-                    ui.showToast("Limit of 22 first-floor blocks reached.");
-                    //JOptionPane.showMessageDialog(null, "Limit of 22 first-floor blocks reached.");
-                    handleBuildPhase();
+    /**
+     * Runs the entry actions of a phase: highlights its targets, updates the label,
+     * shows its prompt and, when the phase has nothing to offer, moves straight on.
+     *
+     * @param next the phase to enter
+     */
+    private void enter(TurnPhase next) {
+        phase = next;
+        transitions++;
+
+        switch (next) {
+            case SELECT_WORKER -> {
+                board.clearHighlights();
+                selectedWorker = null;
+                lastMovedWorker = null;
+                playedMove = playedMove2 = playedBuild = playedBuild2 = playedRemove = Turn.NONE;
+                if (turnStartMillis < 0) turnStartMillis = clockMillis();
+
+                //resume player timer
+                timerManager.resume(current.getIndex());
+                ui.updateWorkerAnimationState(current, null);
+                updateTurnLabel(next.getLabel());
+
+                if (checkLoseConditions(current)) {
+                    enter(TurnPhase.GAME_OVER);
                     return;
                 }
-            } else if (preHeight == 1 && postHeight == 2) {
-                totalSecondFloor++;
-                if (totalSecondFloor > 18) {
-                    firstCell.getBuilding().removeLevel();
-                    ui.showToast("Limit of 18 second-floor blocks reached.");
-                    //JOptionPane.showMessageDialog(null, "Limit of 18 second-floor blocks reached.");
-                    handleBuildPhase();
+                if (isBotTurn() && botTurn == Turn.NO_TURN) {
+                    startBotSearch(bots.get(current.getIndex()));
                     return;
                 }
-            } else if (preHeight == 2 && postHeight == 3) {
-                totalThirdFloor++;
-                if (totalThirdFloor > 14) {
-                    firstCell.getBuilding().removeLevel();
-                    ui.showToast("Limit of 14 third-floor blocks reached.");
-                    //JOptionPane.showMessageDialog(null, "Limit of 14 third-floor blocks reached.");
-                    handleBuildPhase();
+            }
+            case MOVE -> {
+                current.highlightMovableCells(board, selectedWorker);
+                ui.updateWorkerAnimationState(current, selectedWorker);
+                updateTurnLabel(next.getLabel());
+            }
+            case GOD_MOVE, GOD_BUILD, REMOVE -> {
+                board.setLegalTargets(LegalTargets.of(godOptions));
+                ui.updateWorkerAnimationState(current, lastMovedWorker);
+                updateTurnLabel(next.getLabel());
+            }
+            case OFFER_GOD_MOVE, OFFER_GOD_BUILD, OFFER_REMOVE -> {
+                if (godOptions.isEmpty()) {
+                    enter(next == TurnPhase.OFFER_GOD_MOVE ? TurnPhase.BUILD : TurnPhase.END);
                     return;
                 }
-            } else if (postHeight == 4 ) {
-                totalDome++;
-                if (totalDome > 18) {
-                    firstCell.getBuilding().removeDome();
-                    ui.showToast("Limit of 18 domes reached.");
-                    //JOptionPane.showMessageDialog(null, "Limit of 18 domes reached.");
-                    handleBuildPhase();
+                board.clearHighlights();
+                updateTurnLabel(next.getLabel());
+                if (!isBotTurn() && !restoring) showPrompt(next);
+            }
+            case BUILD -> {
+                // build with the Worker that just moved
+                current.highlightBuildableCells(board, lastMovedWorker);
+                ui.updateWorkerAnimationState(current, lastMovedWorker);
+                updateTurnLabel(next.getLabel());
+                if (board.getLegalTargets().isEmpty()) {
+                    // a worker that moves but cannot build loses the game
+                    declareWinner(opponentOf(current));
+                    enter(TurnPhase.GAME_OVER);
                     return;
                 }
             }
+            case END -> {
+                // stop timer for the current player once their turn is over
+                timerManager.pause(current.getIndex());
+                board.clearHighlights();
+                recordTurn();
+                if (checkLoseConditions(current)) {
+                    enter(TurnPhase.GAME_OVER);
+                    return;
+                }
 
-            ui.refresh();
+                // Rotate players
+                players.remove(0);
+                players.add(current);
+                current = players.get(0);
+                workers = current.getWorkers();
+                botTurn = Turn.NO_TURN;
+                godOptions = List.of();
 
-            // Check if the god power offers a second build
-
-
-            SpecialPower power = current.getGodCard().getSpecialPower();
-            List<Action> additionalBuilds = power.modify(baseBuild);
-
-            if (power.allowsSecondBuild() && !additionalBuilds.isEmpty()) {
-                ui.showGodPowerPrompt("Use god power to build again?",
-                        () -> {
-                            updateTurnLabel("God Power: Select second build");
-
-                            board.clearHighlights();
-                            for (Action a : additionalBuilds) {
-                                Cell c = a.getTargetCell();
-                                if (c != null) board.highlightCell(c.getX(), c.getY());
-                            }
-                            ui.refresh();
-
-                            waitForCell().thenAccept(secondCell -> {
-                                for (Action godBuild : additionalBuilds) {
-                                    if (secondCell.equals(godBuild.getTargetCell())) {
-                                        int preHeight2 = secondCell.getBuilding().getHeight();
-
-                                        if (godBuild.execute()) {
-                                            int postHeight2 = secondCell.getBuilding().getHeight();
-                                            ImpactLevel level2 = ImpactLevel.fromHeight(postHeight2);
-                                            notifyBuild(current, level2);
-
-                                            if (checkLoseConditions(current)) return;
-
-                                            if (preHeight2 == 0 && postHeight2 == 1) {
-                                                totalFirstFloor++;
-                                                if (totalFirstFloor > 22) {
-                                                    secondCell.getBuilding().removeLevel();
-                                                    ui.showToast("Limit of 22 first-floor blocks reached.");
-                                                    handleBuildPhase();
-                                                    return;
-                                                }
-                                            } else if (preHeight2 == 1 && postHeight2 == 2) {
-                                                totalSecondFloor++;
-                                                if (totalSecondFloor > 18) {
-                                                    secondCell.getBuilding().removeLevel();
-                                                    ui.showToast("Limit of 18 second-floor blocks reached.");
-                                                    handleBuildPhase();
-                                                    return;
-                                                }
-                                            } else if (preHeight2 == 2 && postHeight2 == 3) {
-                                                totalThirdFloor++;
-                                                if (totalThirdFloor > 14) {
-                                                    secondCell.getBuilding().removeLevel();
-                                                    ui.showToast("Limit of 14 third-floor blocks reached.");
-                                                    handleBuildPhase();
-                                                    return;
-                                                }
-                                            } else if (postHeight2 == 4) {
-                                                totalDome++;
-                                                if (totalDome > 18) {
-                                                    secondCell.getBuilding().removeDome();
-                                                    ui.showToast("Limit of 18 domes reached.");
-                                                    handleBuildPhase();
-                                                    return;
-                                                }
-                                            }
-
-                                            ui.refresh();
-                                        } else {
-                                            ui.showToast("Invalid god power build.");
-                                        }
-                                        break;
-                                    }
-                                }
-                                checkLoseConditions(players.get(0));
-                                handleRemoveBuildPhase();
-                            });
-                        },
-                        () -> {
-                            board.clearHighlights();
-                            checkLoseConditions(players.get(0));
-                            ui.updateWorkerAnimationState(current, selectedWorker);
-                            handleRemoveBuildPhase();
-                        }
-                );
+                beginTurn();
                 return;
             }
+            case GAME_OVER -> {
+                board.clearHighlights();
+                recordTurn();
+                recordEnd();
+                events.clear();
+                botTurn = Turn.NO_TURN;
+                bots.values().forEach(EngineBot::stopPondering);
+            }
+        }
+        ui.refresh();
+        playBotStep();
+    }
 
-
-            board.clearHighlights();
-            checkLoseConditions(players.get(0));
-            ui.updateWorkerAnimationState(current, selectedWorker);
-            handleRemoveBuildPhase();
-        });
+    /**
+     * Asks the player whether to use the god power on offer.
+     *
+     * @param offer the offer phase
+     */
+    private void showPrompt(TurnPhase offer) {
+        ui.showGodPowerPrompt(offer.getPrompt(),
+                () -> post(TurnEvent.accept()),
+                () -> post(TurnEvent.decline()));
     }
 
-    private void handleRemoveBuildPhase() {
-        board.clearHighlights();
-        updateTurnLabel("Remove Build Phase");
-        highlightCurrentWorkers(false);
-        // remove build with the Worker that just moved
-        handleWorkerSelectionForRemoveBuild(lastMovedWorker);
+    /**
+     * Hands the turn to the current player: marks the turn start and enters
+     * {@link TurnPhase#SELECT_WORKER}, letting the bots ponder if a human is to move.
+     * Going back to worker selection within a turn enters the phase directly instead.
+     */
+    private void beginTurn() {
+        board.getState().setSideToMove(current.getIndex());
+        markTurnStart();
+        enter(TurnPhase.SELECT_WORKER);
+        if (phase == TurnPhase.SELECT_WORKER && !isBotTurn() && !restoring) startPondering();
     }
 
+    /**
+     * Remembers the board and meters at the start of the turn and forgets the previous turn's events.
+     */
+    private void markTurnStart() {
+        turnSerial++;
+        turnEvents.clear();
+        if (turnStart == null) {
+            turnStart = new BoardState(board.getState());
+        } else {
+            turnStart.copyFrom(board.getState());
+        }
+        turnStartMeters = new int[players.size()];
+        for (Player player : players) {
+            MeterStrategy meter = player.getMeter(MeterType.NATURE);
+            if (meter != null) turnStartMeters[player.getIndex()] = meter.getValue();
+        }
+    }
 
     /**
-     * Handles the logic for removing a building using a god power.
-     * If the god power allows removal, it highlights valid cells and waits for player input.
+     * Handles one event against the current phase. Events that enter a phase
+     * without starting a new turn are kept for {@link #getTurnEvents()}.
+     *
+     * @param event the input to handle
      */
-    private void handleWorkerSelectionForRemoveBuild(Worker selectedWorker) {
-        SpecialPower power = current.getGodCard().getSpecialPower();
-        if (!power.allowsRemove()) {
-            endTurn();
+    private void handle(TurnEvent event) {
+        if (!phase.accepts(event.getType())) {
+            if (phase.isOffer()) ui.showToast("Please answer the god power prompt first.");
             return;
         }
 
-        List<Action> removeOptions = power.getRemoveOptions(board, players, lastMovedWorker);
-        if (removeOptions.isEmpty()) {
-            endTurn();
+        int serial = turnSerial;
+        int entered = transitions;
+        dispatch(event);
+        if (turnSerial == serial && transitions != entered) turnEvents.add(event);
+    }
+
+    /**
+     * Runs the handler of the current phase for an event it accepts.
+     *
+     * @param event the input to handle
+     */
+    private void dispatch(TurnEvent event) {
+        switch (phase) {
+            case SELECT_WORKER -> selectWorker(event.getCell());
+            case MOVE -> move(event.getCell());
+            case OFFER_GOD_MOVE -> enter(event.getType() == TurnEvent.Type.ACCEPT ? TurnPhase.GOD_MOVE : TurnPhase.BUILD);
+            case GOD_MOVE -> godMove(event.getCell());
+            case BUILD -> build(event.getCell());
+            case OFFER_GOD_BUILD -> {
+                if (event.getType() == TurnEvent.Type.ACCEPT) {
+                    enter(TurnPhase.GOD_BUILD);
+                } else {
+                    offerRemove();
+                }
+            }
+            case GOD_BUILD -> godBuild(event.getCell());
+            case OFFER_REMOVE -> enter(event.getType() == TurnEvent.Type.ACCEPT ? TurnPhase.REMOVE : TurnPhase.END);
+            case REMOVE -> remove(event.getCell());
+            default -> { }
+        }
+    }
+
+    /**
+     * Handles the player choosing which worker to move.
+     *
+     * @param index the clicked cell
+     */
+    private void selectWorker(int index) {
+        Worker worker = board.getCell(index).getWorker();
+        if (worker == null || !workers.contains(worker)) return;
+
+        // trapped‐worker check
+        if (!workerHasMoves(worker)) {
+            JOptionPane.showMessageDialog(ui,
+                    "This worker has no valid moves. Please select a different worker.");
             return;
         }
+        selectedWorker = worker;
+        enter(TurnPhase.MOVE);
+    }
 
-        ui.showGodPowerPrompt("Use god power to remove a block?",
-                () -> { // YES
-                    updateTurnLabel("God Power: Select a block to remove");
-                    board.clearHighlights();
-                    for (Action action : removeOptions) {
-                        Cell cell = action.getTargetCell();
-                        if (cell != null) board.highlightCell(cell.getX(), cell.getY());
-                    }
-                    ui.refresh();
-
-                    waitForCell().thenAccept(chosenCell -> {
-                        for (Action action : removeOptions) {
-                            if (chosenCell.equals(action.getTargetCell()) && action.execute()) {
-                                Cell cell = action.getTargetCell();
-                                int height = cell.getBuilding().getHeight();
-                                ImpactLevel level = cell.hasDome() ? ImpactLevel.DOME : ImpactLevel.fromHeight(height + 1);
-                                notifyRemove(current, level);
-                                ui.refresh();
-                                break;
-                            }
-                        }
-                        ui.updateWorkerAnimationState(current, selectedWorker);
-                        endTurn();
-                    });
-                },
-                () -> { // NO
-                    endTurn();
-                }
-        );
+    /**
+     * Handles the player choosing where the selected worker moves, or switching to the other worker.
+     *
+     * @param index the clicked cell
+     */
+    private void move(int index) {
+        Cell target = board.getCell(index);
+        Worker other = target.getWorker();
+        if (other != null && other != selectedWorker && workers.contains(other)) {
+            selectWorker(index);
+            return;
+        }
+        if (!board.getLegalTargets().contains(index)) {
+            ui.showToast("Invalid selection. Please click a highlighted cell.");
+            return;
+        }
 
-        board.clearHighlights();
-        for (Action action : removeOptions) {
-            Cell cell = action.getTargetCell();
-            if (cell != null) board.highlightCell(cell.getX(), cell.getY());
+        Action baseMove = new MoveAction(board, players, selectedWorker, target);
+        if (!baseMove.execute()) {
+            JOptionPane.showMessageDialog(null, "Invalid move: Cell is already occupied, or too far away. Please choose another cell.");
+            enter(TurnPhase.SELECT_WORKER);
+            return;
         }
+        //remembering the worker that just moved
+        lastMovedWorker = selectedWorker;
+        playedMove = index;
         ui.refresh();
+        if (declareWinIfReached()) return;
 
-        waitForCell().thenAccept(chosenCell -> {
-            for (Action action : removeOptions) {
-                if (chosenCell.equals(action.getTargetCell()) && action.execute()) {
+        // Ask god power if it offers more moves (e.g., Artemis)
+        godOptions = current.getGodCard().getSpecialPower().modify(baseMove);
+        enter(TurnPhase.OFFER_GOD_MOVE);
+    }
 
-                    // Determine impact level BEFORE updating UI
-                    Cell cell = action.getTargetCell();
-                    int height = cell.getBuilding().getHeight();
-                    ImpactLevel level = cell.hasDome() ? ImpactLevel.DOME : ImpactLevel.fromHeight(height + 1); // +1 to get the level that was just removed
+    /**
+     * Handles the player choosing the target of a god power's extra move.
+     *
+     * @param index the clicked cell
+     */
+    private void godMove(int index) {
+        Action godMove = optionAt(index);
+        if (godMove == null) return;
 
-                    notifyRemove(current, level); // This is what triggers NatureMeterManager.onRemove
+        if (godMove.execute()) {
+            playedMove2 = index;
+            ui.refresh();
+            if (declareWinIfReached()) return;
+        }
+        enter(TurnPhase.BUILD);
+    }
+
+    /**
+     * Handles the player choosing where the worker that moved builds.
+     *
+     * @param index the clicked cell
+     */
+    private void build(int index) {
+        if (!board.getLegalTargets().contains(index)) {
+            ui.showToast("Invalid selection. Please click a highlighted cell.");
+            return;
+        }
+        Cell cell = board.getCell(index);
+        Action baseBuild = new BuildAction(board, players, lastMovedWorker, cell);
+        if (!baseBuild.execute()) {
+            JOptionPane.showMessageDialog(null, "Invalid build: " + baseBuild.getErrorMessage());
+            enter(TurnPhase.BUILD);
+            return;
+        }
+        playedBuild = index;
+        notifyBuild(current, ImpactLevel.fromHeight(cell.getBuilding().getHeight()));
 
+        //check if player lost after first build
+        if (checkLoseConditions(current)) {
+            enter(TurnPhase.GAME_OVER);
+            return;
+        }
+        ui.refresh();
 
+        // Check if the god power offers a second build
+        SpecialPower power = current.getGodCard().getSpecialPower();
+        if (power.allowsSecondBuild()) {
+            godOptions = power.modify(baseBuild);
+            enter(TurnPhase.OFFER_GOD_BUILD);
+        } else {
+            offerRemove();
+        }
+    }
 
-                    ui.refresh();
-                    break;
-                }
+    /**
+     * Handles the player choosing the target of a god power's extra build.
+     *
+     * @param index the clicked cell
+     */
+    private void godBuild(int index) {
+        Action godBuild = optionAt(index);
+        if (godBuild == null) return;
+
+        if (godBuild.execute()) {
+            playedBuild2 = index;
+            Cell cell = godBuild.getTargetCell();
+            notifyBuild(current, ImpactLevel.fromHeight(cell.getBuilding().getHeight()));
+            if (checkLoseConditions(current)) {
+                enter(TurnPhase.GAME_OVER);
+                return;
             }
-            ui.updateWorkerAnimationState(current, selectedWorker);
-            endTurn();
-        });
+            ui.refresh();
+        } else {
+            ui.showToast("Invalid god power build: " + godBuild.getErrorMessage());
+        }
+        offerRemove();
     }
 
     /**
-     * Ends the current player's turn, rotates to the next player, and restarts turn logic, pauses that player's timer.
+     * Collects the removals the current god allows and offers them, or ends the turn if there are none.
      */
-    public void endTurn() {
-        System.out.println("Ending turn for " + current.getName());
+    private void offerRemove() {
+        SpecialPower power = current.getGodCard().getSpecialPower();
+        godOptions = power.allowsRemove()
+                ? power.getRemoveOptions(board, players, lastMovedWorker)
+                : List.of();
+        enter(TurnPhase.OFFER_REMOVE);
+    }
 
-        // stop timer for the current player once their turn is over
-        timerManager.pause(current.getIndex());
-        checkLoseConditions(players.get(0));
+    /**
+     * Handles the player choosing a block to remove with a god power.
+     *
+     * @param index the clicked cell
+     */
+    private void remove(int index) {
+        Action action = optionAt(index);
+        if (action == null) return;
 
-        // Rotate players
-        players.remove(0);
-        players.add(current);
-        current = players.get(0);
-        workers = current.getWorkers();
+        if (action.execute()) {
+            playedRemove = index;
+            // Determine impact level BEFORE updating UI
+            Cell cell = action.getTargetCell();
+            int height = cell.getBuilding().getHeight();
+            ImpactLevel level = cell.hasDome() ? ImpactLevel.DOME : ImpactLevel.fromHeight(height + 1); // +1 to get the level that was just removed
 
-        board.clearHighlights();
-        startTurn();
+            notifyRemove(current, level); // This is what triggers NatureMeterManager.onRemove
+            ui.refresh();
+        }
+        enter(TurnPhase.END);
     }
 
     /**
-     * Handles the board click and routes it to worker or cell selection logic.
+     * Finds the god power action on offer for a clicked cell.
      *
-     * @param row clicked row index
-     * @param col clicked column index
+     * @param index the clicked cell
+     * @return the action, or {@code null} (after telling the player) if the cell is not on offer
      */
-    public void handleClick(int row, int col) {
-        Cell cell = board.getCell(row, col);
+    private Action optionAt(int index) {
+        if (board.getLegalTargets().contains(index)) {
+            for (Action action : godOptions) {
+                Cell target = action.getTargetCell();
+                if (target != null && target.getIndex() == index) return action;
+            }
+        }
+        ui.showToast("Invalid selection. Please click a highlighted cell.");
+        return null;
+    }
 
-        Worker w = cell.getWorker();
+    /**
+     * Checks whether the current player's seat is played by a bot.
+     *
+     * @return {@code true} if a bot plays the current player
+     */
+    private boolean isBotTurn() {
+        return bots.containsKey(current.getIndex());
+    }
 
-        // Check for worker selection
-        if (pendingWorkerFuture != null && !pendingWorkerFuture.isDone()) {
-            if (w != null && workers.contains(w)) {
-                pendingWorkerFuture.complete(w);
+    /**
+     * Lets the bot search the current position in the background, then plays its turn
+     * by posting the same events a human would.
+     *
+     * @param bot the bot playing the current player
+     */
+    private void startBotSearch(EngineBot bot) {
+        Player player = current;
+        updateTurnLabel("Thinking...");
+        ui.refresh();
+        Position position = Position.from(board, players, player);
+        bot.chooseTurn(position).thenAccept(turn -> SwingUtilities.invokeLater(() -> {
+            if (player != current || phase != TurnPhase.SELECT_WORKER) return;
+            if (turn == Turn.NO_TURN) {
+                // every move leaves the bot nowhere to build, which loses as it would in the BUILD phase
+                declareWinner(opponentOf(current));
+                enter(TurnPhase.GAME_OVER);
+                return;
             }
-            return;
+            botTurn = turn;
+            updateTurnLabel(phase.getLabel());
+            playBotStep();
+        }));
+    }
+
+    /**
+     * Lets every bot ponder the current position while a human player thinks.
+     */
+    private void startPondering() {
+        for (Map.Entry<Integer, EngineBot> bot : bots.entrySet()) {
+            if (bot.getKey() != current.getIndex()) bot.getValue().ponder(Position.from(board, players, current));
         }
+    }
 
-        // Check for cell selection (movement/building)
-        if (pendingCellFuture != null && !pendingCellFuture.isDone()) {
-            if (cell.getIsHighlighted()) {
-                pendingCellFuture.complete(cell);
-            } else {
-                //JOptionPane.showMessageDialog(ui, "Invalid selection. Please click a highlighted cell.");
-                ui.showToast("Invalid selection. Please click a highlighted cell.");
+    /**
+     * Posts the event the bot's chosen turn calls for in the current phase.
+     */
+    private void playBotStep() {
+        if (botTurn == Turn.NO_TURN || !isBotTurn()) return;
+        int turn = botTurn;
+
+        switch (phase) {
+            case SELECT_WORKER -> post(TurnEvent.click(board.getState().workerCell(
+                    BoardState.slotOf(current.getIndex(), Turn.worker(turn)))));
+            case MOVE -> post(TurnEvent.click(botTarget(Turn.move(turn))));
+            case OFFER_GOD_MOVE -> postChoice(Turn.move2(turn));
+            case GOD_MOVE -> post(TurnEvent.click(botTarget(Turn.move2(turn))));
+            case BUILD -> post(TurnEvent.click(botTarget(Turn.build(turn))));
+            case OFFER_GOD_BUILD -> postChoice(Turn.build2(turn));
+            case GOD_BUILD -> post(TurnEvent.click(botTarget(Turn.build2(turn))));
+            case OFFER_REMOVE -> postChoice(Turn.remove(turn));
+            case REMOVE -> post(TurnEvent.click(botTarget(Turn.remove(turn))));
+            default -> { }
+        }
+    }
 
-            }
+    /**
+     * Accepts the god power on offer if the bot's turn uses one of its cells, declines otherwise.
+     *
+     * @param cell the cell the bot's turn uses for this step, or {@link Turn#NONE}
+     */
+    private void postChoice(int cell) {
+        boolean use = cell != Turn.NONE && LegalTargets.of(godOptions).contains(cell);
+        post(use ? TurnEvent.accept() : TurnEvent.decline());
+    }
+
+    /**
+     * Returns the cell the bot chose for this step.
+     *
+     * @param cell the cell from the bot's turn
+     * @return the cell to click
+     * @throws IllegalStateException if the cell is not legal here, which means the engine's
+     *                               turn generator and the board disagree on the rules
+     */
+    private int botTarget(int cell) {
+        LegalTargets targets = board.getLegalTargets();
+        if (cell == Turn.NONE || !targets.contains(cell)) {
+            throw new IllegalStateException("Bot chose illegal cell " + cell + " in " + phase
+                    + " of turn " + Turn.toString(botTurn) + "; legal cells are " + targets);
         }
+        return cell;
     }
 
     /**
-     * Initiates asynchronous waiting for the player to click a worker.
+     * Shows the win screen if the current player has just climbed to the third level.
      *
-     * @return a future that resolves with the selected worker
+     * @return {@code true} if the current player has won
      */
-    private CompletableFuture<Worker> waitForWorker() {
-        pendingWorkerFuture = new CompletableFuture<>();
-        return pendingWorkerFuture;
+    private boolean declareWinIfReached() {
+        if (!new BasicWinCondition().winCheck(current)) return false;
+        declareWinner(current);
+        enter(TurnPhase.GAME_OVER);
+        return true;
     }
 
     /**
-     * Initiates asynchronous waiting for the player to click a cell.
+     * Stops the current player's timer and shows the win screen for a player.
      *
-     * @return a future that resolves with the selected cell
+     * @param winner the winning player
+     */
+    private void declareWinner(Player winner) {
+        this.winner = winner;
+        timerManager.pause(current.getIndex());
+        //new WinScreen(winner.getName()).setVisible(true);
+        SwingUtilities.invokeLater(() -> app.showWin(winner.getName()));
+    }
+
+    /**
+     * Writes the turn the current player has just played to the game record, if any, and
+     * flushes it, so a game cut short by a crash keeps every turn played.
      */
-    private CompletableFuture<Cell> waitForCell() {
-        pendingCellFuture = new CompletableFuture<>();
-        return pendingCellFuture;
+    private void recordTurn() {
+        if (recorder == null || playedMove == Turn.NONE) return;
+        int turn = Turn.pack(selectedWorker.getSlot() % BoardState.WORKERS_PER_PLAYER,
+                playedMove, playedMove2, playedBuild, playedBuild2, playedRemove);
+        long elapsed = turnStartMillis < 0 ? 0 : turnStartMillis - clockMillis();
+        playedMove = Turn.NONE;
+        turnStartMillis = -1;
+        try {
+            recorder.writeTurn(turn, elapsed);
+            recorder.flush();
+        } catch (IOException e) {
+            stopRecording(e);
+        }
+    }
+
+    /**
+     * Writes the result to the game record and flushes it, so a finished game is kept in full.
+     */
+    private void recordEnd() {
+        if (recorder == null) return;
+        try {
+            recorder.writeEnd(winner == null ? Position.ONGOING : winner.getIndex());
+            recorder.flush();
+        } catch (IOException e) {
+            stopRecording(e);
+        }
+    }
+
+    private void stopRecording(IOException e) {
+        System.err.println("Game record stopped: " + e.getMessage());
+        recorder = null;
+    }
+
+    /**
+     * Returns the time left on the current player's clock.
+     */
+    private long clockMillis() {
+        int index = current.getIndex();
+        return index < clocks.size() ? clocks.get(index).getRemainingTimeMillis() : 0;
+    }
+
+    /**
+     * Returns the player who moves after a given player.
+     *
+     * @param player the player
+     * @return the next player
+     */
+    private Player opponentOf(Player player) {
+        return players.get((players.indexOf(player) + 1) % players.size());
+    }
+
+    /**
+     * Checks if a worker has any legal move options from its current cell.
+     *
+     * @param w the worker to test
+     * @return {@code true} if at least one move is valid
+     */
+    private boolean workerHasMoves(Worker w) {
+        return board.getState().mobility(w.getSlot()) > 0;
+    }
+
+    /**
+     * Ends the current player's turn, rotates to the next player, and restarts turn logic, pauses that player's timer.
+     */
+    public void endTurn() {
+        enter(TurnPhase.END);
+        drain();
+    }
+
+    /**
+     * Handles the board click and routes it to the current phase as a cell event.
+     * Clicks are ignored while a bot is playing.
+     *
+     * @param row clicked row index
+     * @param col clicked column index
+     */
+    public void handleClick(int row, int col) {
+        if (isBotTurn()) return;
+        post(TurnEvent.click(board.getCell(row, col).getIndex()));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,82 @@
+package santorini.controller;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+
+/**
+ * The phases of a turn, in the order {@link TurnManager} moves through them:
+ * select a worker, move, the optional god move, build, the optional god build,
+ * the optional removal, then end the turn.
+ * <p>
+ * Each optional god-power step is split into an offer phase, which waits for the
+ * player to accept or decline, and a phase choosing the target cell. Each phase lists
+ * the event types it accepts and the text shown in the turn label, so the manager
+ * drives every turn from this table rather than from nested callbacks.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public enum TurnPhase {
+    SELECT_WORKER("Move Phase", null, TurnEvent.Type.CLICK),
+    MOVE("Move Phase", null, TurnEvent.Type.CLICK),
+    OFFER_GOD_MOVE("Move Phase", "Use god power to move again?",
+            TurnEvent.Type.ACCEPT, TurnEvent.Type.DECLINE),
+    GOD_MOVE("God Power: Select second move", null, TurnEvent.Type.CLICK),
+    BUILD("Build Phase", null, TurnEvent.Type.CLICK),
+    OFFER_GOD_BUILD("Build Phase", "Use god power to build again?",
+            TurnEvent.Type.ACCEPT, TurnEvent.Type.DECLINE),
+    GOD_BUILD("God Power: Select second build", null, TurnEvent.Type.CLICK),
+    OFFER_REMOVE("Remove Build Phase", "Use god power to remove a block?",
+            TurnEvent.Type.ACCEPT, TurnEvent.Type.DECLINE),
+    REMOVE("God Power: Select a block to remove", null, TurnEvent.Type.CLICK),
+    END("Ending turn", null),
+    GAME_OVER("Game over", null);
+
+    private final String label;
+    private final String prompt;
+    private final Set<TurnEvent.Type> accepted;
+
+    TurnPhase(String label, String prompt, TurnEvent.Type... accepted) {
+        this.label = label;
+        this.prompt = prompt;
+        this.accepted = accepted.length == 0 ? EnumSet.noneOf(TurnEvent.Type.class)
+                : EnumSet.of(accepted[0], accepted);
+    }
+
+    /**
+     * Returns the text describing the phase in the turn label.
+     *
+     * @return the phase label
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Returns the question asked by an offer phase.
+     *
+     * @return the prompt, or {@code null} if the phase is not an offer
+     */
+    public String getPrompt() {
+        return prompt;
+    }
+
+    /**
+     * Checks whether the phase is waiting for the player to accept or decline a god power.
+     *
+     * @return {@code true} for offer phases
+     */
+    public boolean isOffer() {
+        return prompt != null;
+    }
+
+    /**
+     * Checks whether the phase reacts to an event type.
+     *
+     * @param type the event type
+     * @return {@code true} if the phase accepts it
+     */
+    public boolean accepts(TurnEvent.Type type) {
+        return accepted.contains(type);
+    }
+}
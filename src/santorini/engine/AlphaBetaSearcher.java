@@ -0,0 +1,270 @@
+package santorini.engine;
+
+import santorini.model.BoardState;
+import santorini.model.Symmetry;
+
+import java.util.function.BooleanSupplier;
+
+
+/**
+ * Iterative-deepening negamax search with alpha-beta pruning and a transposition table.
+ * <p>
+ * Each ply is a complete turn (move, optional god move, build, optional god build and
+ * removal) produced by {@link TurnGenerator}. The search runs until the time budget
+ * expires, the maximum depth is reached or {@link #stop()} is called, and returns the
+ * best turn of the deepest completed iteration. Turns are played on a single working
+ * copy of the root with {@link Position#apply(int)} and {@link Position#undo()}, so the
+ * search itself allocates nothing. The table is keyed by {@link Position#canonicalHash()},
+ * so rotated and mirrored transpositions share one entry; best turns are stored in the
+ * canonical frame and mapped back on every probe.
+ * <p>
+ * A searcher is not thread-safe; use one instance per thread.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class AlphaBetaSearcher implements TurnSearcher {
+
+    /** Deepest iteration the searcher will attempt. */
+    public static final int MAX_DEPTH = 32;
+
+    private static final int INFINITY = Evaluator.WIN + 1;
+    private static final int CHECK_INTERVAL = 1023;
+    private static final BooleanSupplier NEVER = () -> false;
+
+    private final TranspositionTable table;
+    private Position position;
+    private final int[][] turns = new int[MAX_DEPTH + 1][TurnGenerator.MAX_TURNS];
+    private final int[][] keys = new int[MAX_DEPTH + 1][TurnGenerator.MAX_TURNS];
+
+    private long nodes;
+    private long deadline;
+    private int rootBest;
+    private boolean aborted;
+    private volatile boolean stopRequested;
+    private BooleanSupplier cancelled = NEVER;
+
+    /**
+     * Constructs a searcher using the given transposition table.
+     *
+     * @param table the table to share search results through
+     */
+    public AlphaBetaSearcher(TranspositionTable table) {
+        this.table = table;
+    }
+
+    @Override
+    public void stop() {
+        stopRequested = true;
+    }
+
+    /**
+     * Searches a position up to {@link #MAX_DEPTH} within the time budget.
+     *
+     * @param root   the position to search; it is not modified
+     * @param millis the time budget in milliseconds
+     * @return the search result
+     */
+    @Override
+    public SearchResult search(Position root, long millis) {
+        return search(root, millis, MAX_DEPTH);
+    }
+
+    /**
+     * Searches a position for the best turn of the side to move.
+     *
+     * @param root     the position to search; it is not modified
+     * @param millis   the time budget in milliseconds
+     * @param maxDepth the deepest iteration to run
+     * @return the search result
+     */
+    public SearchResult search(Position root, long millis, int maxDepth) {
+        return search(root, millis, maxDepth, NEVER);
+    }
+
+    /**
+     * Searches a position for the best turn of the side to move, until the time budget
+     * expires or the caller's stop condition turns true.
+     * <p>
+     * Unlike {@link #stop()}, which only reaches a search already running, the condition
+     * belongs to the caller and is never reset, so a stop raised just before the search
+     * starts still ends it, even within the first iteration the clock cannot cut short.
+     *
+     * @param root      the position to search; it is not modified
+     * @param millis    the time budget in milliseconds
+     * @param maxDepth  the deepest iteration to run
+     * @param cancelled polled with the clock; the search stops once it returns {@code true}
+     * @return the search result
+     */
+    public SearchResult search(Position root, long millis, int maxDepth, BooleanSupplier cancelled) {
+        long start = System.nanoTime();
+        this.cancelled = cancelled;
+        deadline = start + millis * 1_000_000L;
+        stopRequested = false;
+        aborted = false;
+        nodes = 0;
+        rootBest = Turn.NO_TURN;
+        preparePosition(root);
+
+        int bestTurn = Turn.NO_TURN;
+        int bestScore = 0;
+        int completed = 0;
+        maxDepth = Math.min(maxDepth, MAX_DEPTH);
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int score = negamax(0, depth, -INFINITY, INFINITY, completed > 0);
+            if (aborted) break;
+
+            bestTurn = rootBest;
+            bestScore = score;
+            completed = depth;
+
+            // a forced result will not change with deeper search
+            if (Math.abs(score) >= Evaluator.WIN_THRESHOLD) break;
+        }
+
+        return new SearchResult(bestTurn, bestScore, completed, nodes, System.nanoTime() - start);
+    }
+
+    private void preparePosition(Position root) {
+        BoardState board = root.getBoard();
+        if (position == null || position.getBoard().size() != board.size()
+                || position.getBoard().getCols() != board.getCols()) {
+            position = new Position(root);
+        } else {
+            position.copyFrom(root);
+        }
+    }
+
+    private int negamax(int ply, int depth, int alpha, int beta, boolean canAbort) {
+        nodes++;
+        // the first iteration always runs to the end unless the caller cancels it, so there is a turn to play
+        if ((nodes & CHECK_INTERVAL) == 0 && (cancelled.getAsBoolean()
+                || canAbort && (stopRequested || System.nanoTime() > deadline))) {
+            aborted = true;
+        }
+        if (aborted) return 0;
+
+        if (depth == 0) return Evaluator.evaluate(position);
+
+        long key = position.canonicalHash();
+        Symmetry symmetry = position.canonicalSymmetry();
+        long entry = table.probe(key);
+        int hashTurn = Turn.NO_TURN;
+        if (entry != TranspositionTable.MISS) {
+            hashTurn = position.fromCanonical(TranspositionTable.turn(entry), symmetry);
+            if (ply > 0 && TranspositionTable.depth(entry) >= depth) {
+                int score = fromTable(TranspositionTable.score(entry), ply);
+                int bound = TranspositionTable.bound(entry);
+                if (bound == TranspositionTable.EXACT
+                        || (bound == TranspositionTable.LOWER && score >= beta)
+                        || (bound == TranspositionTable.UPPER && score <= alpha)) {
+                    return score;
+                }
+            }
+        }
+
+        int[] list = turns[ply];
+        int count = TurnGenerator.generate(position, list);
+        if (count == 0) return -(Evaluator.WIN - ply);
+        scoreTurns(position, list, keys[ply], count, hashTurn);
+
+        int mover = position.getToMove();
+        int originalAlpha = alpha;
+        int best = -INFINITY;
+        int bestTurn = Turn.NO_TURN;
+
+        for (int i = 0; i < count; i++) {
+            int turn = pickNext(list, keys[ply], i, count);
+            position.apply(turn);
+
+            int score;
+            if (position.isOver()) {
+                score = position.getWinner() == mover ? Evaluator.WIN - ply - 1 : -(Evaluator.WIN - ply - 1);
+            } else {
+                score = -negamax(ply + 1, depth - 1, -beta, -alpha, canAbort);
+            }
+            position.undo();
+            if (aborted) return 0;
+
+            if (score > best) {
+                best = score;
+                bestTurn = turn;
+                if (ply == 0) rootBest = turn;
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) break;
+                }
+            }
+        }
+
+        int bound = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+        table.store(key, depth, bound, position.toCanonical(bestTurn, symmetry), toTable(best, ply));
+        return best;
+    }
+
+    /**
+     * Converts a score counted from the search root into one counted from the node at
+     * {@code ply}, for storing. Win and loss scores count turns from the root, but the
+     * table outlives the search and its entries are reached again at other plies and
+     * from other roots, so it holds the distance from the stored position instead.
+     */
+    private static int toTable(int score, int ply) {
+        if (score >= Evaluator.WIN_THRESHOLD) return score + ply;
+        if (score <= -Evaluator.WIN_THRESHOLD) return score - ply;
+        return score;
+    }
+
+    /**
+     * Converts a stored score back to one counted from the search root; the inverse of {@link #toTable}.
+     */
+    private static int fromTable(int score, int ply) {
+        if (score >= Evaluator.WIN_THRESHOLD) return score - ply;
+        if (score <= -Evaluator.WIN_THRESHOLD) return score + ply;
+        return score;
+    }
+
+    /**
+     * Assigns an ordering key to each turn: the table's best turn first, then turns
+     * that finish higher up and build next to the worker's own level.
+     */
+    private static void scoreTurns(Position position, int[] list, int[] keys, int count, int hashTurn) {
+        BoardState board = position.getBoard();
+        for (int i = 0; i < count; i++) {
+            int turn = list[i];
+            if (turn == hashTurn) {
+                keys[i] = Integer.MAX_VALUE;
+                continue;
+            }
+            int finalCell = Turn.finalCell(turn);
+            int height = board.height(finalCell);
+            int key = height * 100;
+            int build = Turn.build(turn);
+            if (build == Turn.NONE) {
+                key += 10_000; // winning climb
+            } else if (build != finalCell) {
+                int built = board.blockCount(build) + 1;
+                key += built == height + 1 && built < 4 ? 20 : 0;
+            }
+            keys[i] = key;
+        }
+    }
+
+    /**
+     * Moves the best remaining turn to position {@code i} and returns it.
+     */
+    private static int pickNext(int[] list, int[] keys, int i, int count) {
+        int bestIndex = i;
+        for (int j = i + 1; j < count; j++) {
+            if (keys[j] > keys[bestIndex]) bestIndex = j;
+        }
+        int turn = list[bestIndex];
+        list[bestIndex] = list[i];
+        list[i] = turn;
+        int key = keys[bestIndex];
+        keys[bestIndex] = keys[i];
+        keys[i] = key;
+        return turn;
+    }
+}
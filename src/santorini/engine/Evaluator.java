@@ -0,0 +1,72 @@
+package santorini.engine;
+
+import santorini.model.BoardState;
+
+
+/**
+ * Static evaluation of a {@link Position} for the alpha-beta searcher.
+ * <p>
+ * Scores are from the point of view of the side to move and reward worker height,
+ * mobility, access to higher cells, open winning climbs and a healthy nature meter.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class Evaluator {
+
+    /** Score of a won game, before subtracting the distance to the win. */
+    public static final int WIN = 1_000_000;
+
+    /** Any score at or above this value is a forced win. */
+    public static final int WIN_THRESHOLD = WIN - 1_000;
+
+    private static final int[] HEIGHT_SCORE = {0, 120, 320, 600};
+    private static final int MOBILITY_SCORE = 8;
+    private static final int CLIMB_SCORE = 25;
+    private static final int THREAT_SCORE = 450;
+    private static final int METER_SCORE = 3;
+    private static final int LOW_METER = 25;
+    private static final int LOW_METER_PENALTY = 200;
+
+    private Evaluator() {
+    }
+
+    /**
+     * Evaluates a position that is not yet decided.
+     *
+     * @param position the position
+     * @return the score for the side to move
+     */
+    public static int evaluate(Position position) {
+        int us = position.getToMove();
+        return side(position, us) - side(position, 1 - us);
+    }
+
+    private static int side(Position position, int player) {
+        BoardState board = position.getBoard();
+        long level3 = board.levelMask(3);
+        int score = 0;
+
+        for (int n = 0; n < BoardState.WORKERS_PER_PLAYER; n++) {
+            int cell = board.workerCell(BoardState.slotOf(player, n));
+            if (cell == BoardState.NO_CELL) continue;
+
+            int height = board.height(cell);
+            long moves = board.moveTargets(cell);
+            score += HEIGHT_SCORE[height];
+            score += MOBILITY_SCORE * Long.bitCount(moves);
+
+            long higher = height < 3 ? moves & board.levelMask(height + 1) : 0;
+            score += CLIMB_SCORE * Long.bitCount(higher);
+            if (height == 2 && (moves & level3) != 0) {
+                score += THREAT_SCORE;
+            }
+        }
+
+        int meter = position.getMeter(player);
+        score += METER_SCORE * meter;
+        if (meter <= LOW_METER) {
+            score -= LOW_METER_PENALTY;
+        }
+        return score;
+    }
+}
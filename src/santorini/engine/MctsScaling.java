@@ -0,0 +1,69 @@
+package santorini.engine;
+
+import santorini.model.BoardState;
+import santorini.model.gods.GodType;
+
+
+/**
+ * Command-line report of MCTS playout speed and how it scales with threads.
+ * <p>
+ * Searches a fixed opening position for each thread count from 1 up to the number of
+ * cores (doubling each step) in both parallel modes, and prints playouts per second
+ * together with the scaling efficiency {@code pps(n) / (n * pps(1))}.
+ * <p>
+ * Usage: {@code java santorini.engine.MctsScaling [millisPerRun] [maxThreads]}
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class MctsScaling {
+
+    private static final long DEFAULT_MILLIS = 2_000;
+
+    private MctsScaling() {
+    }
+
+    /**
+     * Runs the scaling report.
+     *
+     * @param args optional search time per run in milliseconds and maximum thread count
+     */
+    public static void main(String[] args) {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_MILLIS;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        Position position = openingPosition();
+
+        System.out.printf("%-14s %7s %12s %10s %12s%n", "mode", "threads", "playouts/s", "efficiency", "best");
+        for (MctsSearcher.Mode mode : MctsSearcher.Mode.values()) {
+            double single = 0;
+            for (int threads = 1; threads <= maxThreads; threads = nextCount(threads, maxThreads)) {
+                try (MctsSearcher searcher = new MctsSearcher(threads, mode, MctsSearcher.DEFAULT_EXPLORATION)) {
+                    SearchResult result = searcher.search(position, millis);
+                    double pps = result.getNodesPerSecond();
+                    if (threads == 1) single = pps;
+                    double efficiency = single == 0 ? 0 : pps / (threads * single);
+                    System.out.printf("%-14s %7d %12.0f %9.0f%% %12s%n", mode, threads, pps,
+                            efficiency * 100, Turn.toString(result.getBestTurn()));
+                }
+            }
+        }
+    }
+
+    private static int nextCount(int threads, int maxThreads) {
+        if (threads == maxThreads) return maxThreads + 1;
+        return Math.min(threads * 2, maxThreads);
+    }
+
+    /**
+     * Returns a 5x5 position without gods, with workers on the four inner diagonal cells.
+     */
+    private static Position openingPosition() {
+        Position position = new Position(5, 5, GodType.NONE, GodType.NONE);
+        BoardState board = position.getBoard();
+        board.placeWorker(BoardState.slotOf(0, 0), board.index(1, 1));
+        board.placeWorker(BoardState.slotOf(0, 1), board.index(3, 3));
+        board.placeWorker(BoardState.slotOf(1, 0), board.index(1, 3));
+        board.placeWorker(BoardState.slotOf(1, 1), board.index(3, 1));
+        return position;
+    }
+}
@@ -0,0 +1,397 @@
+package santorini.engine;
+
+import santorini.model.GameRandom;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Monte Carlo Tree Search (UCT) over complete turns, running on several threads.
+ * <p>
+ * Each iteration walks down the tree by the UCT rule, adds one new node, plays the game
+ * out with a light random policy (take an immediate win when one exists, otherwise a
+ * uniformly random turn from {@link TurnGenerator}) and backs the result up the path.
+ * Playouts use the same {@link Position} rules as the game, so god-power phases, the
+ * block supply and the nature-meter lose condition are all part of the simulation and
+ * no evaluation function is needed.
+ * <p>
+ * Two parallel modes are supported:
+ * <ul>
+ *   <li>{@link Mode#ROOT_PARALLEL}: every thread grows its own tree and the root visit
+ *       counts are summed at the end.</li>
+ *   <li>{@link Mode#TREE_PARALLEL}: all threads share one lock-free tree. Counters are
+ *       updated with atomic adds, nodes are published with compare-and-set, and a
+ *       virtual loss on the path being explored steers other threads elsewhere.</li>
+ * </ul>
+ * In the returned {@link SearchResult} the node count is the number of playouts, the
+ * score is the chosen turn's win rate in per mille and the depth is the longest path
+ * from the root that was explored.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class MctsSearcher implements TurnSearcher {
+
+    /** How the search threads share work. */
+    public enum Mode {
+        /** Independent trees per thread, merged at the root. */
+        ROOT_PARALLEL,
+        /** One shared tree with virtual loss. */
+        TREE_PARALLEL
+    }
+
+    /** The usual UCT exploration constant for results in {@code [0, 1]}. */
+    public static final double DEFAULT_EXPLORATION = Math.sqrt(2);
+
+    private static final int WIN = 2;
+    private static final int DRAW = 1;
+    private static final int VIRTUAL_LOSS = 1;
+    private static final int MAX_PATH = 256;
+    private static final int MAX_PLAYOUT_TURNS = 200;
+
+    private static final VarHandle EDGES;
+    private static final VarHandle VISITS;
+    private static final VarHandle REWARD;
+    private static final VarHandle VIRTUAL;
+    private static final VarHandle CHILD = MethodHandles.arrayElementVarHandle(Node[].class);
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            EDGES = lookup.findVarHandle(Node.class, "edges", Edges.class);
+            VISITS = lookup.findVarHandle(Node.class, "visits", int.class);
+            REWARD = lookup.findVarHandle(Node.class, "reward", int.class);
+            VIRTUAL = lookup.findVarHandle(Node.class, "virtual", int.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final int threads;
+    private final Mode mode;
+    private final double exploration;
+    private final ExecutorService executor;
+    private final GameRandom seeds;
+    private volatile boolean stopRequested;
+
+    /**
+     * Constructs a searcher using every available core, a shared tree and the default
+     * exploration constant.
+     */
+    public MctsSearcher() {
+        this(Runtime.getRuntime().availableProcessors(), Mode.TREE_PARALLEL, DEFAULT_EXPLORATION);
+    }
+
+    /**
+     * Constructs a searcher.
+     *
+     * @param threads     the number of search threads
+     * @param mode        how the threads share the tree
+     * @param exploration the UCT exploration constant
+     */
+    public MctsSearcher(int threads, Mode mode, double exploration) {
+        this(threads, mode, exploration, new GameRandom());
+    }
+
+    /**
+     * Constructs a searcher whose playouts draw from the given random source. Each search
+     * splits one stream per thread from it.
+     *
+     * @param threads     the number of search threads
+     * @param mode        how the threads share the tree
+     * @param exploration the UCT exploration constant
+     * @param random      the random source
+     */
+    public MctsSearcher(int threads, Mode mode, double exploration, GameRandom random) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive: " + threads);
+        }
+        this.threads = threads;
+        this.mode = mode;
+        this.exploration = exploration;
+        this.seeds = random;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "santorini-mcts-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the number of search threads.
+     *
+     * @return the thread count
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Returns how the search threads share the tree.
+     *
+     * @return the parallel {@link Mode}
+     */
+    public Mode getMode() {
+        return mode;
+    }
+
+    @Override
+    public void stop() {
+        stopRequested = true;
+    }
+
+    @Override
+    public void close() {
+        stopRequested = true;
+        executor.shutdownNow();
+    }
+
+    @Override
+    public SearchResult search(Position root, long millis) {
+        long start = System.nanoTime();
+        long deadline = start + millis * 1_000_000L;
+        stopRequested = false;
+
+        int[] rootTurns = new int[TurnGenerator.MAX_TURNS];
+        int count = TurnGenerator.generate(root, rootTurns);
+        if (count <= 1) {
+            int only = count == 1 ? rootTurns[0] : Turn.NO_TURN;
+            return new SearchResult(only, 0, 0, 0, System.nanoTime() - start);
+        }
+
+        Node[] roots = new Node[mode == Mode.TREE_PARALLEL ? 1 : threads];
+        for (int i = 0; i < roots.length; i++) {
+            roots[i] = new Node();
+        }
+
+        LongAdder playouts = new LongAdder();
+        List<Playout> tasks = new ArrayList<>(threads);
+        synchronized (seeds) {
+            for (int i = 0; i < threads; i++) {
+                tasks.add(new Playout(root, roots[i % roots.length], seeds.split(), deadline, playouts));
+            }
+        }
+        runAll(tasks);
+
+        int maxDepth = 0;
+        for (Playout task : tasks) {
+            maxDepth = Math.max(maxDepth, task.maxDepth);
+        }
+        return pickBest(roots, rootTurns[0], maxDepth, playouts.sum(), System.nanoTime() - start);
+    }
+
+    private void runAll(List<Playout> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("MCTS worker failed", e.getCause());
+        }
+    }
+
+    /**
+     * Chooses the most visited root turn, summing visits over every root in root-parallel mode.
+     * Every root generates its turns from the same position, so edge indices line up.
+     */
+    private static SearchResult pickBest(Node[] roots, int fallback, int depth, long playouts, long elapsed) {
+        Edges edges = roots[0].edges;
+        if (edges == null) return new SearchResult(fallback, 0, depth, playouts, elapsed);
+
+        int size = edges.turns.length;
+        long[] visits = new long[size];
+        long[] rewards = new long[size];
+        for (Node root : roots) {
+            Edges e = root.edges;
+            if (e == null) continue;
+            for (int i = 0; i < size; i++) {
+                Node child = (Node) CHILD.getVolatile(e.nodes, i);
+                if (child == null) continue;
+                visits[i] += child.visits;
+                rewards[i] += child.reward;
+            }
+        }
+
+        int best = 0;
+        for (int i = 1; i < size; i++) {
+            if (visits[i] > visits[best]) best = i;
+        }
+        int score = visits[best] == 0 ? 0 : (int) (rewards[best] * 1000 / (visits[best] * WIN));
+        return new SearchResult(edges.turns[best], score, depth, playouts, elapsed);
+    }
+
+    /**
+     * The turns available from a node and the lazily created child for each of them.
+     */
+    private static final class Edges {
+        final int[] turns;
+        final Node[] nodes;
+
+        Edges(int[] turns) {
+            this.turns = turns;
+            this.nodes = new Node[turns.length];
+        }
+    }
+
+    /**
+     * A tree node. {@code reward} is counted in half points for the player who made the
+     * turn leading into the node; {@code virtual} counts threads currently below it.
+     */
+    private static final class Node {
+        volatile Edges edges;
+        volatile int visits;
+        volatile int reward;
+        volatile int virtual;
+    }
+
+    /**
+     * One search thread: repeats select, expand, play out and back up until time is up.
+     */
+    private final class Playout implements Callable<Void> {
+        private final Position root;
+        private final Node tree;
+        private final GameRandom random;
+        private final long deadline;
+        private final LongAdder playouts;
+        private final Position position;
+        private final int[] turns = new int[TurnGenerator.MAX_TURNS];
+        private final Node[] path = new Node[MAX_PATH];
+        private final int[] movers = new int[MAX_PATH];
+        private final boolean virtualLoss = mode == Mode.TREE_PARALLEL;
+        int maxDepth;
+
+        Playout(Position root, Node tree, GameRandom random, long deadline, LongAdder playouts) {
+            this.root = root;
+            this.tree = tree;
+            this.random = random;
+            this.deadline = deadline;
+            this.playouts = playouts;
+            this.position = new Position(root);
+        }
+
+        @Override
+        public Void call() {
+            while (!stopRequested && System.nanoTime() < deadline) {
+                position.copyFrom(root);
+                iterate();
+                playouts.increment();
+            }
+            return null;
+        }
+
+        private void iterate() {
+            Node node = tree;
+            int length = 0;
+
+            // selection and expansion: stop at the first node created by this iteration
+            while (!position.isOver() && length < MAX_PATH) {
+                Edges edges = node.edges;
+                if (edges == null) {
+                    edges = expand(node);
+                    if (edges == null) break;
+                }
+                int index = select(node, edges);
+                Node child = (Node) CHILD.getVolatile(edges.nodes, index);
+                boolean created = false;
+                if (child == null) {
+                    Node fresh = new Node();
+                    child = (Node) CHILD.compareAndExchange(edges.nodes, index, null, fresh);
+                    if (child == null) {
+                        child = fresh;
+                        created = true;
+                    }
+                }
+                movers[length] = position.getToMove();
+                path[length++] = child;
+                if (virtualLoss) VIRTUAL.getAndAdd(child, VIRTUAL_LOSS);
+                position.apply(edges.turns[index]);
+                node = child;
+                if (created) break;
+            }
+            maxDepth = Math.max(maxDepth, length);
+
+            int winner = playOut();
+            VISITS.getAndAdd(tree, 1);
+            for (int i = 0; i < length; i++) {
+                Node n = path[i];
+                VISITS.getAndAdd(n, 1);
+                int reward = winner == Position.ONGOING ? DRAW : winner == movers[i] ? WIN : 0;
+                if (reward != 0) REWARD.getAndAdd(n, reward);
+                if (virtualLoss) VIRTUAL.getAndAdd(n, -VIRTUAL_LOSS);
+            }
+        }
+
+        /**
+         * Publishes the turn list of a node, or returns {@code null} if it has no turns.
+         */
+        private Edges expand(Node node) {
+            int count = TurnGenerator.generate(position, turns);
+            if (count == 0) return null;
+            int[] copy = new int[count];
+            System.arraycopy(turns, 0, copy, 0, count);
+            Edges fresh = new Edges(copy);
+            Edges existing = (Edges) EDGES.compareAndExchange(node, null, fresh);
+            return existing == null ? fresh : existing;
+        }
+
+        /**
+         * Picks the child with the best UCT value; unexplored children come first.
+         */
+        private int select(Node node, Edges edges) {
+            int parentVisits = node.visits + node.virtual;
+            double logParent = Math.log(Math.max(1, parentVisits));
+            int size = edges.turns.length;
+            int offset = random.nextInt(size);
+            int best = offset;
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            for (int k = 0; k < size; k++) {
+                int i = (k + offset) % size;
+                Node child = (Node) CHILD.getVolatile(edges.nodes, i);
+                if (child == null) return i;
+                int n = child.visits + child.virtual;
+                if (n == 0) return i;
+                double value = child.reward / (double) (WIN * n)
+                        + exploration * Math.sqrt(logParent / n);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Finishes the game from the current position with the light policy.
+         *
+         * @return the winner, or {@link Position#ONGOING} if the playout was cut short
+         */
+        private int playOut() {
+            for (int ply = 0; ply < MAX_PLAYOUT_TURNS && !position.isOver(); ply++) {
+                int count = TurnGenerator.generate(position, turns);
+                if (count == 0) return 1 - position.getToMove();
+                position.apply(pick(count));
+            }
+            return position.getWinner();
+        }
+
+        private int pick(int count) {
+            for (int i = 0; i < count; i++) {
+                if (Turn.build(turns[i]) == Turn.NONE) return turns[i]; // winning climb
+            }
+            return turns[random.nextInt(count)];
+        }
+    }
+}
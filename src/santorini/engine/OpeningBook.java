@@ -0,0 +1,183 @@
+package santorini.engine;
+
+import santorini.model.BoardState;
+import santorini.model.gods.GodType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+
+/**
+ * A read-only book of prepared answers for the opening of a game: where to place the
+ * workers and which turns to play first, for each god-card matchup.
+ * <p>
+ * The book file is written by {@link OpeningBookBuilder}. After a 16-byte header it holds
+ * fixed-size entries sorted by key, each a {@link #key(Position) position key}, the best
+ * turn in the canonical frame of the position and its search score. The file is memory
+ * mapped rather than read, so opening a book costs nothing however large it is, and
+ * {@link #probe(Position)} is a binary search over the mapping that touches a handful of
+ * pages and allocates nothing for placements.
+ * <p>
+ * Worker placements are stored as turns too: when the side to move has no workers on
+ * the board, the book turn is a {@link #placement(int, int) placement} whose move cells
+ * are the two cells to place on.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class OpeningBook {
+
+    static final int MAGIC = 0x534E5442; // "SNTB"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    static final int ENTRY_BYTES = 16;
+
+    private static final GodType[] GODS = GodType.values();
+
+    /** A book without entries, which never has an answer. */
+    public static final OpeningBook EMPTY = new OpeningBook(ByteBuffer.allocate(HEADER_BYTES), 0);
+
+    private final ByteBuffer buffer;
+    private final int entries;
+
+    private OpeningBook(ByteBuffer buffer, int entries) {
+        this.buffer = buffer;
+        this.entries = entries;
+    }
+
+    /**
+     * Maps a book file.
+     *
+     * @param file the book written by {@link OpeningBookBuilder}
+     * @return the book
+     * @throws IOException if the file cannot be read or is not a book
+     */
+    public static OpeningBook open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not an opening book: " + file);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) throw new IOException("Not an opening book: " + file);
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported opening book version " + buffer.getInt(4) + ": " + file);
+            }
+            long count = buffer.getLong(8);
+            if (count < 0 || HEADER_BYTES + count * ENTRY_BYTES > size) {
+                throw new IOException("Truncated opening book: " + file);
+            }
+            return new OpeningBook(buffer, (int) count);
+        }
+    }
+
+    /**
+     * Returns the key a position is stored under: its canonical hash combined with the
+     * gods of both players, since the hash itself does not cover the gods.
+     *
+     * @param position the position
+     * @return the book key
+     */
+    public static long key(Position position) {
+        return position.canonicalHash() ^ godKey(position.getGod(0), position.getGod(1));
+    }
+
+    /**
+     * Packs a worker placement as a turn.
+     *
+     * @param first  the cell of the first worker
+     * @param second the cell of the second worker
+     * @return the placement, with the cells in {@link Turn#move(int)} and {@link Turn#move2(int)}
+     */
+    public static int placement(int first, int second) {
+        return Turn.pack(0, first, second, Turn.NONE, Turn.NONE, Turn.NONE);
+    }
+
+    /**
+     * Returns whether the side to move still has to place its workers.
+     *
+     * @param position the position
+     * @return {@code true} before the side to move's workers are on the board
+     */
+    public static boolean isPlacement(Position position) {
+        return position.getBoard().playerMask(position.getToMove()) == 0;
+    }
+
+    /**
+     * Looks up the book answer for a position.
+     * <p>
+     * Answers are checked before they are returned, so a key collision with an unrelated
+     * position can never produce an illegal turn or placement.
+     *
+     * @param position the position, with the side to move about to place or play
+     * @return the book turn or {@link #placement(int, int) placement} in the position's own
+     *         frame, or {@link Turn#NO_TURN} if the position is not in the book
+     */
+    public int probe(Position position) {
+        int index = find(key(position));
+        if (index < 0) return Turn.NO_TURN;
+        int turn = position.fromCanonical(buffer.getInt(offset(index) + Long.BYTES), position.canonicalSymmetry());
+        return isValid(position, turn) ? turn : Turn.NO_TURN;
+    }
+
+    /**
+     * Returns the number of positions in the book.
+     *
+     * @return the entry count
+     */
+    public int size() {
+        return entries;
+    }
+
+    /**
+     * Returns the index of the entry with a key, or -1.
+     */
+    private int find(long key) {
+        int low = 0;
+        int high = entries - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long probe = buffer.getLong(offset(mid));
+            if (probe < key) {
+                low = mid + 1;
+            } else if (probe > key) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private static int offset(int index) {
+        return HEADER_BYTES + index * ENTRY_BYTES;
+    }
+
+    private static boolean isValid(Position position, int turn) {
+        BoardState board = position.getBoard();
+        if (isPlacement(position)) {
+            int first = Turn.move(turn);
+            int second = Turn.move2(turn);
+            return first < board.size() && second < board.size() && first != second
+                    && !board.isOccupied(first) && !board.isOccupied(second);
+        }
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        int count = TurnGenerator.generate(position, turns);
+        for (int i = 0; i < count; i++) {
+            if (turns[i] == turn) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a fixed pseudo-random key for an ordered pair of gods.
+     */
+    private static long godKey(GodType god0, GodType god1) {
+        long z = (god0.ordinal() * GODS.length + god1.ordinal() + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
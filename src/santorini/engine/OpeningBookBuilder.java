@@ -0,0 +1,355 @@
+package santorini.engine;
+
+import santorini.model.BoardState;
+import santorini.model.gods.GodType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+
+/**
+ * Builds an {@link OpeningBook} offline with fixed-depth alpha-beta searches, spread
+ * over a fork-join pool.
+ * <p>
+ * For every god matchup the builder first solves the placement phase as a two-move game:
+ * each placement of player 0 is answered by every placement of player 1, the resulting
+ * start positions are searched, and player 0 takes the placement whose best answer is
+ * least bad for it. Placements and answers that are rotations or reflections of each
+ * other are searched only once. Every placement of player 0 gets a book answer for
+ * player 1, so the book still helps when player 0 places off-book.
+ * <p>
+ * The first turns are then prepared from the strongest start positions: every turn of
+ * a position is scored with a search one turn shallower, the best is stored, and the
+ * best few turns are followed to the next level, so both seats stay in book when the
+ * other side picks a good alternative.
+ * <p>
+ * Usage: {@code java santorini.engine.OpeningBookBuilder [options]}
+ * <pre>
+ *   --out FILE      book file to write (default book/opening.book)
+ *   --depth D       search depth in turns (default 2)
+ *   --plies P       number of turns to prepare after placement (default 2)
+ *   --width W       placements and turns followed from each position (default 3)
+ *   --gods G0,G1    a single matchup, such as ARTEMIS,ZEUS (default: every pair of different gods)
+ *   --threads T     fork-join pool size (default: number of cores)
+ * </pre>
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class OpeningBookBuilder {
+
+    private static final int ROWS = 5;
+    private static final int COLS = 5;
+    private static final int TABLE_ENTRIES = 1 << 16;
+    private static final long TIME_LIMIT_MILLIS = 3_600_000;
+
+    private final int depth;
+    private final int plies;
+    private final int width;
+    private final int threads;
+    private final Map<Long, Long> entries = new ConcurrentHashMap<>();
+    private final Set<Long> visited = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<Searcher> searchers = ThreadLocal.withInitial(Searcher::new);
+
+    /**
+     * Constructs a builder.
+     *
+     * @param depth   the search depth in turns, at least 1
+     * @param plies   the number of turns to prepare after placement
+     * @param width   the number of placements and turns followed from each position
+     * @param threads the fork-join pool size
+     */
+    public OpeningBookBuilder(int depth, int plies, int width, int threads) {
+        if (depth < 1) throw new IllegalArgumentException("Depth must be at least 1: " + depth);
+        this.depth = depth;
+        this.plies = plies;
+        this.width = width;
+        this.threads = threads;
+    }
+
+    /**
+     * Builds the book entries of a matchup. May be called for several matchups in turn.
+     *
+     * @param god0 the god of player 0, who places and moves first
+     * @param god1 the god of player 1
+     * @throws InterruptedException if interrupted while waiting for the searches
+     */
+    public void addMatchup(GodType god0, GodType god1) throws InterruptedException {
+        Position root = new Position(ROWS, COLS, god0, god1);
+        List<Integer> firsts = distinctPlacements(root);
+        List<Placement> answered = parallel(firsts, first -> answer(root, first));
+
+        answered.sort((a, b) -> Integer.compare(b.score, a.score));
+        put(root, answered.get(0).first, answered.get(0).score);
+
+        List<Position> level = new ArrayList<>();
+        for (Placement placement : answered.subList(0, Math.min(width, answered.size()))) {
+            for (int reply : placement.replies) {
+                Position start = placed(placed(root, placement.first), reply);
+                if (visited.add(OpeningBook.key(start))) level.add(start);
+            }
+        }
+        for (int ply = 0; ply < plies && !level.isEmpty(); ply++) {
+            List<List<Position>> next = parallel(level, this::prepare);
+            level = new ArrayList<>();
+            for (List<Position> children : next) {
+                for (Position child : children) {
+                    if (visited.add(OpeningBook.key(child))) level.add(child);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the entries built so far as a book, sorted by key. The file is replaced atomically.
+     *
+     * @param file the book file
+     * @return the number of entries written
+     * @throws IOException if the file cannot be written
+     */
+    public int write(Path file) throws IOException {
+        long[] keys = new long[entries.size()];
+        int count = 0;
+        for (long key : entries.keySet()) keys[count++] = key;
+        Arrays.sort(keys);
+
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(OpeningBook.MAGIC);
+            out.writeInt(OpeningBook.VERSION);
+            out.writeLong(count);
+            for (int i = 0; i < count; i++) {
+                long value = entries.get(keys[i]);
+                out.writeLong(keys[i]);
+                out.writeInt((int) value);
+                out.writeInt((int) (value >> 32));
+            }
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return count;
+    }
+
+    /**
+     * Scores every answer of player 1 to a placement of player 0 and stores the best.
+     */
+    private Placement answer(Position root, int first) {
+        Searcher searcher = searchers.get();
+        searcher.table.clear();
+        Position afterFirst = placed(root, first);
+        List<Integer> replies = distinctPlacements(afterFirst);
+        int[] scores = new int[replies.size()];
+        for (int i = 0; i < scores.length; i++) {
+            // the start position has player 0 to move, so negate for player 1
+            scores[i] = -searcher.score(placed(afterFirst, replies.get(i)), depth);
+        }
+        List<Integer> best = best(replies, scores);
+        int bestScore = scores[replies.indexOf(best.get(0))];
+        put(afterFirst, best.get(0), bestScore);
+        return new Placement(first, -bestScore, best);
+    }
+
+    /**
+     * Scores every turn of a position, stores the best and returns the positions after
+     * the best few.
+     */
+    private List<Position> prepare(Position position) {
+        Searcher searcher = searchers.get();
+        searcher.table.clear();
+        int mover = position.getToMove();
+        int count = TurnGenerator.generate(position, searcher.turns);
+        List<Integer> turns = new ArrayList<>(count);
+        int[] scores = new int[count];
+        for (int i = 0; i < count; i++) {
+            int turn = searcher.turns[i];
+            turns.add(turn);
+            position.apply(turn);
+            if (position.isOver()) {
+                scores[i] = position.getWinner() == mover ? Evaluator.WIN : -Evaluator.WIN;
+            } else {
+                scores[i] = depth == 1 ? -Evaluator.evaluate(position) : -searcher.score(position, depth - 1);
+            }
+            position.undo();
+        }
+        if (count == 0) return List.of();
+
+        List<Integer> best = best(turns, scores);
+        put(position, best.get(0), scores[turns.indexOf(best.get(0))]);
+        List<Position> children = new ArrayList<>();
+        for (int turn : best) {
+            Position child = new Position(position);
+            child.apply(turn);
+            if (!child.isOver()) children.add(child);
+        }
+        return children;
+    }
+
+    /**
+     * Returns the {@code width} highest-scoring candidates, best first.
+     */
+    private List<Integer> best(List<Integer> candidates, int[] scores) {
+        Integer[] order = new Integer[candidates.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, (a, b) -> Integer.compare(scores[b], scores[a]));
+        List<Integer> best = new ArrayList<>(width);
+        for (int i = 0; i < Math.min(width, order.length); i++) best.add(candidates.get(order[i]));
+        return best;
+    }
+
+    /**
+     * Stores the answer for a position in the canonical frame, with its score.
+     */
+    private void put(Position position, int turn, int score) {
+        int canonical = position.toCanonical(turn, position.canonicalSymmetry());
+        entries.put(OpeningBook.key(position), (long) score << 32 | (canonical & 0xFFFFFFFFL));
+    }
+
+    /**
+     * Returns every placement of the side to move on free cells, keeping one of each set
+     * of placements that lead to the same position up to symmetry.
+     */
+    private static List<Integer> distinctPlacements(Position position) {
+        BoardState board = position.getBoard();
+        Set<Long> seen = new HashSet<>();
+        List<Integer> placements = new ArrayList<>();
+        for (int first = 0; first < board.size(); first++) {
+            if (board.isOccupied(first)) continue;
+            for (int second = first + 1; second < board.size(); second++) {
+                if (board.isOccupied(second)) continue;
+                int placement = OpeningBook.placement(first, second);
+                if (seen.add(placed(position, placement).canonicalHash())) placements.add(placement);
+            }
+        }
+        return placements;
+    }
+
+    /**
+     * Returns a copy of a position with the side to move's workers placed and the other player to move.
+     */
+    private static Position placed(Position position, int placement) {
+        Position copy = new Position(position);
+        BoardState board = copy.getBoard();
+        int mover = copy.getToMove();
+        board.placeWorker(BoardState.slotOf(mover, 0), Turn.move(placement));
+        board.placeWorker(BoardState.slotOf(mover, 1), Turn.move2(placement));
+        copy.setToMove(1 - mover);
+        return copy;
+    }
+
+    /**
+     * Runs a task on every item in the fork-join pool and returns the results in item order.
+     */
+    private <T, R> List<R> parallel(List<T> items, Function<T, R> task) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            return new ArrayList<>(pool.submit(() -> items.parallelStream().map(task).toList()).get());
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Book search failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Builds a book from the command line.
+     *
+     * @param args the options described above
+     * @throws Exception if the options are invalid or the book cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        Path out = Path.of("book", "opening.book");
+        int depth = 2;
+        int plies = 2;
+        int width = 3;
+        int threads = Runtime.getRuntime().availableProcessors();
+        GodType[] matchup = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--out" -> out = Path.of(value);
+                case "--depth" -> depth = Integer.parseInt(value);
+                case "--plies" -> plies = Integer.parseInt(value);
+                case "--width" -> width = Integer.parseInt(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--gods" -> {
+                    String[] names = value.split(",");
+                    if (names.length != 2) throw new IllegalArgumentException("Expected two gods: " + value);
+                    matchup = new GodType[]{GodType.valueOf(names[0].trim().toUpperCase()),
+                            GodType.valueOf(names[1].trim().toUpperCase())};
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            i++;
+        }
+
+        List<GodType[]> matchups = new ArrayList<>();
+        if (matchup != null) {
+            matchups.add(matchup);
+        } else {
+            for (GodType god0 : GodType.values()) {
+                for (GodType god1 : GodType.values()) {
+                    if (god0 != GodType.NONE && god1 != GodType.NONE && god0 != god1) {
+                        matchups.add(new GodType[]{god0, god1});
+                    }
+                }
+            }
+        }
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(depth, plies, width, threads);
+        long start = System.nanoTime();
+        for (GodType[] gods : matchups) {
+            builder.addMatchup(gods[0], gods[1]);
+            System.out.printf("%-8s vs %-8s done after %d s%n", gods[0], gods[1],
+                    (System.nanoTime() - start) / 1_000_000_000L);
+        }
+        int written = builder.write(out);
+        System.out.println("wrote " + written + " positions to " + out);
+    }
+
+    /**
+     * The best answer found for a placement of player 0, scored for player 0, with the
+     * best few answers of player 1.
+     */
+    private static final class Placement {
+        private final int first;
+        private final int score;
+        private final List<Integer> replies;
+
+        private Placement(int first, int score, List<Integer> replies) {
+            this.first = first;
+            this.score = score;
+            this.replies = replies;
+        }
+    }
+
+    /**
+     * A searcher and its table, owned by one pool thread.
+     */
+    private static final class Searcher {
+        private final TranspositionTable table = new TranspositionTable(TABLE_ENTRIES);
+        private final AlphaBetaSearcher searcher = new AlphaBetaSearcher(table);
+        private final int[] turns = new int[TurnGenerator.MAX_TURNS];
+
+        /**
+         * Returns the score of a position for its side to move, searched to a fixed depth.
+         */
+        private int score(Position position, int depth) {
+            return searcher.search(position, TIME_LIMIT_MILLIS, depth).getScore();
+        }
+    }
+}
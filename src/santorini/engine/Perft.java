@@ -0,0 +1,237 @@
+package santorini.engine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+
+/**
+ * Counts the positions reachable in exactly {@code depth} turns ("perft"), to check
+ * the {@link TurnGenerator} against known counts and to measure its speed.
+ * <p>
+ * A game that is already over has no turns, so it counts only at depth 0. The counts
+ * cover every rule the generator handles: each god's extra phase, winning climbs, the
+ * block supply and the meter cost of building. {@link #divide} splits a count by root
+ * turn and can search the root turns' subtrees in parallel, which narrows a mismatch
+ * down to the turn whose subtree differs.
+ * <p>
+ * Usage:
+ * <pre>
+ *   java santorini.engine.Perft check [corpusFile] [maxDepth]
+ *   java santorini.engine.Perft count depth position...
+ *   java santorini.engine.Perft divide depth position...
+ * </pre>
+ * The corpus (by default the {@value #CORPUS} resource) holds one entry per line,
+ * {@code name ; position ; count1 count2 ...}, with positions in {@link PositionNotation}
+ * and the counts for depths 1, 2, ... Lines starting with {@code #} are comments.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class Perft {
+
+    /** Classpath resource of the reference corpus. */
+    public static final String CORPUS = "perft/perft.txt";
+
+    private Perft() {
+    }
+
+    /**
+     * Counts the positions reachable in exactly {@code depth} turns.
+     *
+     * @param position the start position (restored before returning)
+     * @param depth    the number of turns
+     * @return the leaf count
+     */
+    public static long count(Position position, int depth) {
+        return count(position, depth, new int[Math.max(depth, 1)][TurnGenerator.MAX_TURNS]);
+    }
+
+    private static long count(Position position, int depth, int[][] buffers) {
+        if (depth == 0) return 1;
+        int[] turns = buffers[depth - 1];
+        int n = TurnGenerator.generate(position, turns);
+        if (depth == 1) return n;
+
+        long nodes = 0;
+        for (int i = 0; i < n; i++) {
+            position.apply(turns[i]);
+            nodes += count(position, depth - 1, buffers);
+            position.undo();
+        }
+        return nodes;
+    }
+
+    /**
+     * Counts the positions reachable in exactly {@code depth} turns after each root turn.
+     *
+     * @param position the start position (not modified)
+     * @param depth    the number of turns, at least 1
+     * @param threads  the number of threads searching root turns in parallel
+     * @return the root turns, in generation order, and the count below each
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static Division divide(Position position, int depth, int threads) throws InterruptedException {
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        int n = TurnGenerator.generate(new Position(position), turns);
+        int[] roots = Arrays.copyOf(turns, n);
+        long[] counts = new long[n];
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try {
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(i -> {
+                Position child = new Position(position);
+                child.apply(roots[i]);
+                counts[i] = count(child, depth - 1);
+            })).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return new Division(roots, counts);
+    }
+
+    /**
+     * The counts of a {@link #divide} split by root turn.
+     */
+    public static final class Division {
+        private final int[] turns;
+        private final long[] counts;
+
+        private Division(int[] turns, long[] counts) {
+            this.turns = turns;
+            this.counts = counts;
+        }
+
+        /**
+         * Returns the root turns, in generation order.
+         *
+         * @return the packed turns
+         */
+        public int[] getTurns() {
+            return turns.clone();
+        }
+
+        /**
+         * Returns the count below each root turn.
+         *
+         * @return the counts, parallel to {@link #getTurns()}
+         */
+        public long[] getCounts() {
+            return counts.clone();
+        }
+
+        /**
+         * Returns the sum of the counts, which equals {@link Perft#count} at the same depth.
+         *
+         * @return the total leaf count
+         */
+        public long total() {
+            long total = 0;
+            for (long count : counts) total += count;
+            return total;
+        }
+    }
+
+    /**
+     * Runs the command-line tool.
+     *
+     * @param args the mode and its arguments, see the class description
+     * @throws Exception if the corpus cannot be read or a search fails
+     */
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "check";
+        switch (mode) {
+            case "check" -> {
+                List<String> lines = args.length > 1 ? Files.readAllLines(Path.of(args[1])) : readCorpus();
+                int maxDepth = args.length > 2 ? Integer.parseInt(args[2]) : Integer.MAX_VALUE;
+                if (!check(lines, maxDepth)) System.exit(1);
+            }
+            case "count", "divide" -> {
+                if (args.length < 3) {
+                    System.err.println("Usage: Perft " + mode + " depth position...");
+                    System.exit(2);
+                }
+                int depth = Integer.parseInt(args[1]);
+                Position position = PositionNotation.parse(String.join(" ", Arrays.copyOfRange(args, 2, args.length)));
+                long start = System.nanoTime();
+                long nodes;
+                if (mode.equals("divide")) {
+                    Division division = divide(position, depth, Runtime.getRuntime().availableProcessors());
+                    for (int i = 0; i < division.turns.length; i++) {
+                        System.out.println(Turn.toString(division.turns[i]) + ": " + division.counts[i]);
+                    }
+                    nodes = division.total();
+                } else {
+                    nodes = count(position, depth);
+                }
+                long nanos = System.nanoTime() - start;
+                System.out.printf("depth %d: %d nodes in %d ms (%.0f nodes/s)%n",
+                        depth, nodes, nanos / 1_000_000, nodes * 1e9 / Math.max(nanos, 1));
+            }
+            default -> {
+                System.err.println("Unknown mode: " + mode);
+                System.exit(2);
+            }
+        }
+    }
+
+    /**
+     * Checks every corpus entry up to a depth and prints each result with its speed.
+     *
+     * @param lines    the corpus lines
+     * @param maxDepth the deepest count to check
+     * @return {@code true} if every count matched
+     */
+    private static boolean check(List<String> lines, int maxDepth) {
+        boolean ok = true;
+        long totalNodes = 0;
+        long totalNanos = 0;
+        for (String line : lines) {
+            if (line.isBlank() || line.startsWith("#")) continue;
+            String[] parts = line.split(";");
+            String name = parts[0].trim();
+            Position position = PositionNotation.parse(parts[1]);
+            String[] expected = parts[2].trim().split("\\s+");
+
+            for (int depth = 1; depth <= Math.min(expected.length, maxDepth); depth++) {
+                long start = System.nanoTime();
+                long nodes = count(position, depth);
+                long nanos = System.nanoTime() - start;
+                long want = Long.parseLong(expected[depth - 1]);
+                boolean match = nodes == want;
+                ok &= match;
+                totalNodes += nodes;
+                totalNanos += nanos;
+                System.out.printf("%-4s %-24s depth %d %12d%s %12.0f nodes/s%n", match ? "ok" : "FAIL",
+                        name, depth, nodes, match ? "" : " (expected " + want + ")",
+                        nodes * 1e9 / Math.max(nanos, 1));
+            }
+        }
+        System.out.printf("%s: %d nodes in %d ms (%.0f nodes/s)%n", ok ? "all counts match" : "MISMATCH",
+                totalNodes, totalNanos / 1_000_000, totalNodes * 1e9 / Math.max(totalNanos, 1));
+        return ok;
+    }
+
+    private static List<String> readCorpus() throws IOException {
+        InputStream in = Perft.class.getClassLoader().getResourceAsStream(CORPUS);
+        if (in == null) throw new IOException("Missing resource " + CORPUS);
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
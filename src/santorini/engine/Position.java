@@ -0,0 +1,460 @@
+package santorini.engine;
+
+import santorini.model.Board;
+import santorini.model.BoardState;
+import santorini.model.Player;
+import santorini.model.Symmetry;
+import santorini.model.gods.GodType;
+import santorini.model.meters.ImpactLevel;
+import santorini.model.meters.MeterStrategy;
+import santorini.model.meters.MeterType;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * A complete, headless two-player game position used by the engine.
+ * <p>
+ * Combines a {@link BoardState} with everything else the rules depend on: each
+ * player's god and nature meter. The side to move and the shared block supply live in
+ * the board state.
+ * Turns are applied with {@link #apply(int)}, which follows the same rules as the
+ * {@code TurnManager} game loop, including god-power phases, meter costs and the
+ * stuck / depleted-meter lose conditions, and taken back with {@link #undo()}.
+ * Undo information is kept as plain ints on a stack owned by the position, so
+ * searching and simulating with apply/undo allocates nothing once the stack has
+ * grown to the deepest line played.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class Position {
+
+    /** Number of players in an engine position. */
+    public static final int PLAYERS = 2;
+
+    /** Winner value while the game is still being played. */
+    public static final int ONGOING = -1;
+
+    /** Starting nature meter value. */
+    public static final int METER_MAX = 100;
+
+    /** Nature meter cost of the n-th block of a building, indexed by block number (1 to 4). */
+    static final int[] IMPACT = new int[5];
+
+    static {
+        for (int height = 1; height <= 4; height++) {
+            IMPACT[height] = ImpactLevel.fromHeight(height).getImpact();
+        }
+    }
+
+    private static final int UNDO_TURN = 0;
+    private static final int UNDO_SIDE = 1;
+    private static final int UNDO_FROM = 2;
+    private static final int UNDO_METER0 = 3;
+    private static final int UNDO_METER1 = 4;
+    private static final int UNDO_WINNER = 5;
+    private static final int UNDO_STEPS = 6;
+    private static final int UNDO_SIZE = 8;
+    private static final int INITIAL_UNDO_DEPTH = 64;
+
+    private static final int STEP_MOVE2 = 1;
+    private static final int STEP_BUILD = 1 << 1;
+    private static final int STEP_BUILD2 = 1 << 2;
+    private static final int STEP_REMOVE_LEVEL = 1 << 3;
+    private static final int STEP_REMOVE_DOME = 1 << 4;
+
+    private final BoardState board;
+    private final GodType[] gods = new GodType[PLAYERS];
+    private final int[] meters = new int[PLAYERS];
+    private int winner = ONGOING;
+    private int[] undoStack = new int[INITIAL_UNDO_DEPTH * UNDO_SIZE];
+    private int undoDepth;
+
+    /**
+     * Constructs a fresh position on an empty board, with full meters and supply.
+     *
+     * @param rows  the number of rows
+     * @param cols  the number of columns
+     * @param god0  the god of player 0
+     * @param god1  the god of player 1
+     */
+    public Position(int rows, int cols, GodType god0, GodType god1) {
+        this.board = new BoardState(rows, cols);
+        gods[0] = god0;
+        gods[1] = god1;
+        meters[0] = METER_MAX;
+        meters[1] = METER_MAX;
+    }
+
+    /**
+     * Constructs a copy of another position.
+     *
+     * @param other the position to copy
+     */
+    public Position(Position other) {
+        this.board = new BoardState(other.board);
+        copyFrom(other);
+    }
+
+    /**
+     * Overwrites this position with another position on a board of the same size.
+     * The undo history is not copied; this position starts with an empty history.
+     *
+     * @param other the position to copy from
+     */
+    public void copyFrom(Position other) {
+        board.copyFrom(other.board);
+        System.arraycopy(other.gods, 0, gods, 0, PLAYERS);
+        System.arraycopy(other.meters, 0, meters, 0, PLAYERS);
+        winner = other.winner;
+        undoDepth = 0;
+    }
+
+    /**
+     * Captures the current state of a game in progress.
+     *
+     * @param board   the game board
+     * @param players the players in the game
+     * @param current the player whose turn it is
+     * @return a new engine position
+     */
+    public static Position from(Board board, List<Player> players, Player current) {
+        BoardState state = board.getState();
+        Position position = new Position(state.getRows(), state.getCols(), GodType.NONE, GodType.NONE);
+        position.board.copyFrom(state);
+        for (Player player : players) {
+            int index = player.getIndex();
+            position.gods[index] = GodType.of(player.getGodCard());
+            MeterStrategy meter = player.getMeter(MeterType.NATURE);
+            position.setMeter(index, meter != null ? meter.getValue() : METER_MAX);
+        }
+        position.setToMove(current.getIndex());
+        return position;
+    }
+
+    /**
+     * Returns the board of this position.
+     *
+     * @return the {@link BoardState}
+     */
+    public BoardState getBoard() {
+        return board;
+    }
+
+    /**
+     * Returns the god of a player.
+     *
+     * @param player the player index
+     * @return the player's {@link GodType}
+     */
+    public GodType getGod(int player) {
+        return gods[player];
+    }
+
+    /**
+     * Returns the nature meter value of a player.
+     *
+     * @param player the player index
+     * @return the meter value
+     */
+    public int getMeter(int player) {
+        return meters[player];
+    }
+
+    /**
+     * Sets the nature meter value of a player.
+     *
+     * @param player the player index
+     * @param value  the new meter value
+     */
+    public void setMeter(int player, int value) {
+        meters[player] = value;
+        board.setMeter(player, value);
+    }
+
+    /**
+     * Returns the number of blocks left in the supply for a block number.
+     *
+     * @param block the block number (1 to 3 for floors, 4 for domes)
+     * @return the remaining count
+     */
+    public int getSupply(int block) {
+        return board.getSupply().remaining(block);
+    }
+
+    /**
+     * Returns the index of the player to move.
+     *
+     * @return the side to move
+     */
+    public int getToMove() {
+        return board.getSideToMove();
+    }
+
+    /**
+     * Sets the player to move.
+     *
+     * @param player the player index
+     */
+    public void setToMove(int player) {
+        board.setSideToMove(player);
+    }
+
+    /**
+     * Returns the winner of the game, if decided.
+     *
+     * @return the winning player index, or {@link #ONGOING}
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns whether the game has been decided.
+     *
+     * @return {@code true} if a player has won
+     */
+    public boolean isOver() {
+        return winner != ONGOING;
+    }
+
+    /**
+     * Checks whether the next block on a cell is still available in the supply.
+     *
+     * @param cell the cell index
+     * @return {@code true} if the block can be taken from the supply
+     */
+    public boolean hasBlockFor(int cell) {
+        return board.getSupply().hasBlockFor(cell);
+    }
+
+    /**
+     * Applies a complete turn for the side to move and records how to take it back.
+     * <p>
+     * Moving a worker from level 2 to level 3 wins at once. A player whose build
+     * depletes their nature meter, or who is left without a legal move, loses;
+     * so does an opponent who cannot move at the start of their turn.
+     *
+     * @param turn the packed turn (see {@link Turn})
+     */
+    public void apply(int turn) {
+        if ((undoDepth + 1) * UNDO_SIZE > undoStack.length) {
+            undoStack = Arrays.copyOf(undoStack, undoStack.length * 2);
+        }
+        int mover = board.getSideToMove();
+        int base = undoDepth++ * UNDO_SIZE;
+        undoStack[base + UNDO_TURN] = turn;
+        undoStack[base + UNDO_SIDE] = mover;
+        undoStack[base + UNDO_FROM] = board.workerCell(BoardState.slotOf(mover, Turn.worker(turn)));
+        undoStack[base + UNDO_METER0] = meters[0];
+        undoStack[base + UNDO_METER1] = meters[1];
+        undoStack[base + UNDO_WINNER] = winner;
+        undoStack[base + UNDO_STEPS] = play(mover, turn);
+    }
+
+    /**
+     * Takes back the most recent turn applied with {@link #apply(int)}, restoring
+     * the board, meters, supply, side to move, winner and hash.
+     *
+     * @throws IllegalStateException if there is no turn to take back
+     */
+    public void undo() {
+        if (undoDepth == 0) {
+            throw new IllegalStateException("No turn to undo");
+        }
+        int base = --undoDepth * UNDO_SIZE;
+        int turn = undoStack[base + UNDO_TURN];
+        int mover = undoStack[base + UNDO_SIDE];
+        int steps = undoStack[base + UNDO_STEPS];
+
+        if ((steps & STEP_REMOVE_DOME) != 0) {
+            board.addDome(Turn.remove(turn));
+        } else if ((steps & STEP_REMOVE_LEVEL) != 0) {
+            board.addBlock(Turn.remove(turn));
+        }
+        if ((steps & STEP_BUILD2) != 0) board.removeBlock(Turn.build2(turn));
+        if ((steps & STEP_BUILD) != 0) board.removeBlock(Turn.build(turn));
+        board.moveWorker(BoardState.slotOf(mover, Turn.worker(turn)), undoStack[base + UNDO_FROM]);
+
+        setMeter(0, undoStack[base + UNDO_METER0]);
+        setMeter(1, undoStack[base + UNDO_METER1]);
+        winner = undoStack[base + UNDO_WINNER];
+        board.setSideToMove(mover);
+    }
+
+    /**
+     * Returns the number of applied turns that can still be taken back.
+     *
+     * @return the undo history size
+     */
+    public int getUndoDepth() {
+        return undoDepth;
+    }
+
+    /**
+     * Plays a turn for {@code mover} and returns which optional steps were carried out.
+     */
+    private int play(int mover, int turn) {
+        int opponent = 1 - mover;
+        int slot = BoardState.slotOf(mover, Turn.worker(turn));
+        int steps = 0;
+
+        int from = board.workerCell(slot);
+        int to = Turn.move(turn);
+        board.moveWorker(slot, to);
+        if (climbsToTop(from, to)) {
+            winner = mover;
+            return steps;
+        }
+
+        int to2 = Turn.move2(turn);
+        if (to2 != Turn.NONE) {
+            board.moveWorker(slot, to2);
+            steps |= STEP_MOVE2;
+            if (climbsToTop(to, to2)) {
+                winner = mover;
+                return steps;
+            }
+        }
+
+        int build = Turn.build(turn);
+        if (build != Turn.NONE) {
+            steps |= STEP_BUILD;
+            if (buildAndCheck(mover, build)) return steps;
+        }
+
+        int build2 = Turn.build2(turn);
+        if (build2 != Turn.NONE) {
+            steps |= STEP_BUILD2;
+            if (buildAndCheck(mover, build2)) return steps;
+        }
+
+        int remove = Turn.remove(turn);
+        if (remove != Turn.NONE) {
+            int block = board.blockCount(remove);
+            steps |= board.hasDome(remove) ? STEP_REMOVE_DOME : STEP_REMOVE_LEVEL;
+            board.removeBlock(remove);
+            setMeter(mover, Math.min(METER_MAX, meters[mover] + IMPACT[block]));
+        }
+
+        if (board.isStuck(mover)) {
+            winner = opponent;
+            return steps;
+        }
+        board.setSideToMove(opponent);
+        if (board.isStuck(opponent)) {
+            winner = mover;
+        }
+        return steps;
+    }
+
+    /**
+     * Checks whether a move from one cell to another climbs from level 2 to level 3.
+     *
+     * @param from the source cell
+     * @param to   the destination cell
+     * @return {@code true} if the move wins the game
+     */
+    public boolean climbsToTop(int from, int to) {
+        return board.height(from) == 2 && board.height(to) == 3;
+    }
+
+    private boolean buildAndCheck(int mover, int cell) {
+        int block = board.blockCount(cell) + 1;
+        board.addBlock(cell);
+        setMeter(mover, Math.max(0, meters[mover] - IMPACT[block]));
+
+        if (meters[mover] <= 0 || board.isStuck(mover)) {
+            winner = 1 - mover;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a 64-bit hash of the position: the board's incrementally maintained
+     * Zobrist hash of buildings, workers, meters and side to move. The block supply is
+     * determined by the buildings, so it is covered too.
+     *
+     * @return the position hash
+     */
+    public long hash() {
+        return board.hash();
+    }
+
+    /**
+     * Returns the canonical hash of the position: the same for a position and every
+     * rotation and reflection of it, since none of the rules depend on orientation.
+     * Turns stored under this key should be mapped with {@link #toCanonical(int, Symmetry)}
+     * and read back with {@link #fromCanonical(int, Symmetry)}, using {@link #canonicalSymmetry()}.
+     *
+     * @return the canonical position hash
+     */
+    public long canonicalHash() {
+        return board.canonicalHash();
+    }
+
+    /**
+     * Returns the symmetry mapping this position to its canonical form.
+     *
+     * @return the canonical transform
+     */
+    public Symmetry canonicalSymmetry() {
+        return board.canonicalSymmetry();
+    }
+
+    /**
+     * Maps a turn of the side to move into the frame of a symmetry.
+     * <p>
+     * The cells are transformed, and the worker number is replaced by the rank of the
+     * worker's transformed cell among its player's workers (0 for the lower cell), since
+     * two positions with the same canonical form may number their workers differently.
+     *
+     * @param turn     the packed turn, or {@link Turn#NO_TURN}
+     * @param symmetry the transform
+     * @return the transformed turn
+     */
+    public int toCanonical(int turn, Symmetry symmetry) {
+        if (turn == Turn.NO_TURN) return turn;
+        int[] map = board.cellMap(symmetry);
+        int worker = Turn.worker(turn);
+        int rank = worker == lowerWorker(map) ? 0 : 1;
+        return mapCells(rank, turn, map);
+    }
+
+    /**
+     * Maps a turn produced by {@link #toCanonical(int, Symmetry)} back to this position.
+     *
+     * @param turn     the transformed turn, or {@link Turn#NO_TURN}
+     * @param symmetry the transform the turn was mapped with
+     * @return the turn in this position's own frame
+     */
+    public int fromCanonical(int turn, Symmetry symmetry) {
+        if (turn == Turn.NO_TURN) return turn;
+        int lower = lowerWorker(board.cellMap(symmetry));
+        int worker = Turn.worker(turn) == 0 ? lower : 1 - lower;
+        return mapCells(worker, turn, board.cellMap(symmetry.inverse()));
+    }
+
+    /**
+     * Returns the number of the side to move's worker whose cell maps to the lower index.
+     */
+    private int lowerWorker(int[] map) {
+        int mover = board.getSideToMove();
+        int first = board.workerCell(BoardState.slotOf(mover, 0));
+        int second = board.workerCell(BoardState.slotOf(mover, 1));
+        if (second == BoardState.NO_CELL) return 0;
+        return first == BoardState.NO_CELL || map[second] < map[first] ? 1 : 0;
+    }
+
+    private static int mapCells(int worker, int turn, int[] map) {
+        return Turn.pack(worker, mapCell(Turn.move(turn), map), mapCell(Turn.move2(turn), map),
+                mapCell(Turn.build(turn), map), mapCell(Turn.build2(turn), map),
+                mapCell(Turn.remove(turn), map));
+    }
+
+    private static int mapCell(int cell, int[] map) {
+        return cell == Turn.NONE ? Turn.NONE : map[cell];
+    }
+}
@@ -0,0 +1,152 @@
+package santorini.engine;
+
+import santorini.model.BlockSupply;
+import santorini.model.BoardState;
+import santorini.model.gods.GodType;
+
+
+/**
+ * Reads and writes positions as one line of text, for test corpora and command-line tools.
+ * <p>
+ * The line has four fields separated by spaces, then optional {@code key=value} fields:
+ * <pre>
+ *   00000/01200/0D300/00100/00000 6,18,8,16 0 ARTEMIS,NONE meters=100,85 supply=22,18,14,18
+ * </pre>
+ * <ol>
+ *   <li>the board, row by row separated by {@code /}: a digit {@code 0}-{@code 3} per cell
+ *       for its levels, or a letter {@code A}-{@code D} for a dome on 0-3 levels;</li>
+ *   <li>the cell index of each worker slot in order, or {@code -} for an empty slot;</li>
+ *   <li>the player to move;</li>
+ *   <li>the god of each player ({@link GodType} names).</li>
+ * </ol>
+ * Meters default to {@link Position#METER_MAX} and the supply to
+ * {@link BlockSupply#STANDARD_LIMITS}; the {@code supply} field gives the total number of
+ * each piece in the box, not the number left.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class PositionNotation {
+
+    private PositionNotation() {
+    }
+
+    /**
+     * Parses a position.
+     *
+     * @param text the position line
+     * @return the position
+     * @throws IllegalArgumentException if the text is not a valid position
+     */
+    public static Position parse(String text) {
+        String[] fields = text.trim().split("\\s+");
+        if (fields.length < 4) {
+            throw new IllegalArgumentException("Expected board, workers, side to move and gods: " + text);
+        }
+
+        String[] rows = fields[0].split("/");
+        int cols = rows[0].length();
+        String[] gods = fields[3].split(",");
+        if (gods.length != Position.PLAYERS) {
+            throw new IllegalArgumentException("Expected " + Position.PLAYERS + " gods: " + fields[3]);
+        }
+        Position position = new Position(rows.length, cols, GodType.valueOf(gods[0]), GodType.valueOf(gods[1]));
+        BoardState board = position.getBoard();
+
+        for (int row = 0; row < rows.length; row++) {
+            if (rows[row].length() != cols) {
+                throw new IllegalArgumentException("Row " + row + " does not have " + cols + " cells");
+            }
+            for (int col = 0; col < cols; col++) {
+                setCell(board, board.index(row, col), rows[row].charAt(col));
+            }
+        }
+
+        String[] slots = fields[1].split(",");
+        for (int slot = 0; slot < slots.length; slot++) {
+            if (!slots[slot].equals("-")) board.placeWorker(slot, Integer.parseInt(slots[slot]));
+        }
+        position.setToMove(Integer.parseInt(fields[2]));
+
+        for (int i = 4; i < fields.length; i++) {
+            String[] option = fields[i].split("=", 2);
+            int[] values = parseInts(option.length == 2 ? option[1] : "");
+            switch (option[0]) {
+                case "meters" -> {
+                    for (int player = 0; player < Position.PLAYERS; player++) {
+                        position.setMeter(player, values[player]);
+                    }
+                }
+                case "supply" -> board.getSupply().setLimits(values);
+                default -> throw new IllegalArgumentException("Unknown field: " + fields[i]);
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Writes a position. Default meters and supply limits are left out.
+     *
+     * @param position the position
+     * @return the position line
+     */
+    public static String format(Position position) {
+        BoardState board = position.getBoard();
+        StringBuilder text = new StringBuilder();
+        for (int row = 0; row < board.getRows(); row++) {
+            if (row > 0) text.append('/');
+            for (int col = 0; col < board.getCols(); col++) {
+                int cell = board.index(row, col);
+                text.append((char) ((board.hasDome(cell) ? 'A' : '0') + board.height(cell)));
+            }
+        }
+
+        text.append(' ');
+        int last = BoardState.MAX_WORKERS - 1;
+        while (last > 0 && board.workerCell(last) == BoardState.NO_CELL) last--;
+        for (int slot = 0; slot <= last; slot++) {
+            if (slot > 0) text.append(',');
+            int cell = board.workerCell(slot);
+            text.append(cell == BoardState.NO_CELL ? "-" : String.valueOf(cell));
+        }
+
+        text.append(' ').append(position.getToMove())
+                .append(' ').append(position.getGod(0)).append(',').append(position.getGod(1));
+        if (position.getMeter(0) != Position.METER_MAX || position.getMeter(1) != Position.METER_MAX) {
+            text.append(" meters=").append(position.getMeter(0)).append(',').append(position.getMeter(1));
+        }
+        BlockSupply supply = board.getSupply();
+        boolean standard = true;
+        for (int block = 1; block <= BlockSupply.DOME; block++) {
+            standard &= supply.getLimit(block) == BlockSupply.STANDARD_LIMITS[block - 1];
+        }
+        if (!standard) {
+            text.append(" supply=");
+            for (int block = 1; block <= BlockSupply.DOME; block++) {
+                if (block > 1) text.append(',');
+                text.append(supply.getLimit(block));
+            }
+        }
+        return text.toString();
+    }
+
+    private static void setCell(BoardState board, int cell, char c) {
+        boolean dome = c >= 'A' && c <= 'D';
+        int height = dome ? c - 'A' : c - '0';
+        if (height < 0 || height > BoardState.MAX_LEVEL) {
+            throw new IllegalArgumentException("Invalid cell: " + c);
+        }
+        for (int level = 0; level < height; level++) {
+            board.addBlock(cell);
+        }
+        if (dome) board.addDome(cell);
+    }
+
+    private static int[] parseInts(String text) {
+        String[] parts = text.split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,92 @@
+package santorini.engine;
+
+
+/**
+ * The outcome of a search: the chosen turn, its score and search statistics.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class SearchResult {
+    private final int bestTurn;
+    private final int score;
+    private final int depth;
+    private final long nodes;
+    private final long elapsedNanos;
+
+    /**
+     * Constructs a search result.
+     *
+     * @param bestTurn     the best turn found, or {@link Turn#NO_TURN}
+     * @param score        the score of the best turn for the side to move
+     * @param depth        the deepest fully completed iteration
+     * @param nodes        the number of nodes visited
+     * @param elapsedNanos the wall-clock time spent searching
+     */
+    public SearchResult(int bestTurn, int score, int depth, long nodes, long elapsedNanos) {
+        this.bestTurn = bestTurn;
+        this.score = score;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the best turn found.
+     *
+     * @return the packed turn, or {@link Turn#NO_TURN} if the side to move has none
+     */
+    public int getBestTurn() {
+        return bestTurn;
+    }
+
+    /**
+     * Returns the score of the best turn for the side to move.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return score;
+    }
+
+    /**
+     * Returns the deepest fully completed iteration.
+     *
+     * @return the depth in turns
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of nodes visited.
+     *
+     * @return the node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Returns the wall-clock time spent searching.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    public long getElapsedMillis() {
+        return elapsedNanos / 1_000_000;
+    }
+
+    /**
+     * Returns the search speed.
+     *
+     * @return nodes visited per second
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : nodes * 1_000_000_000L / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("turn=%s score=%d depth=%d nodes=%d time=%dms nps=%d",
+                Turn.toString(bestTurn), score, depth, nodes, getElapsedMillis(), getNodesPerSecond());
+    }
+}
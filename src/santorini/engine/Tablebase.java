@@ -0,0 +1,170 @@
+package santorini.engine;
+
+import santorini.model.gods.GodType;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+
+/**
+ * A solved small board: the exact result of every position for one god matchup, with
+ * the number of turns to the end of the game under best play.
+ * <p>
+ * The file is written by {@link TablebaseBuilder}. After a 16-byte header holding the
+ * board size and gods, it has one byte per {@link TablebaseIndex index}: the distance
+ * in turns to a win for the side to move, its negation for a loss, or 0 for a
+ * combination that is not a position. The file is memory mapped, and a probe is one
+ * index computation and one byte read.
+ * <p>
+ * Usage: {@code java santorini.engine.Tablebase FILE position...} prints the result of
+ * a position given in {@link PositionNotation} and the turn that keeps it.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class Tablebase {
+
+    static final int MAGIC = 0x534E5454; // "SNTT"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+
+    /** Probe result for a position the table does not cover. */
+    public static final int UNKNOWN = 0;
+
+    private final TablebaseIndex index;
+    private final GodType[] gods;
+    private final ByteBuffer values;
+
+    private Tablebase(TablebaseIndex index, GodType[] gods, ByteBuffer values) {
+        this.index = index;
+        this.gods = gods;
+        this.values = values;
+    }
+
+    /**
+     * Maps a tablebase file.
+     *
+     * @param file the file written by {@link TablebaseBuilder}
+     * @return the tablebase
+     * @throws IOException if the file cannot be read or is not a tablebase
+     */
+    public static Tablebase open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES || size > Integer.MAX_VALUE) throw new IOException("Not a tablebase: " + file);
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) throw new IOException("Not a tablebase: " + file);
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported tablebase version " + buffer.getInt(4) + ": " + file);
+            }
+            TablebaseIndex index = new TablebaseIndex(buffer.get(8), buffer.get(9));
+            GodType[] gods = {GodType.values()[buffer.get(10)], GodType.values()[buffer.get(11)]};
+            if (size != HEADER_BYTES + index.size()) throw new IOException("Truncated tablebase: " + file);
+            return new Tablebase(index, gods, buffer);
+        }
+    }
+
+    /**
+     * Looks up the result of a position.
+     *
+     * @param position the position, with the side to move about to play
+     * @return the number of turns until the side to move wins, its negation if the side to
+     *         move loses, or {@link #UNKNOWN} if the table does not cover the position
+     */
+    public int probe(Position position) {
+        if (position.getGod(0) != gods[0] || position.getGod(1) != gods[1]) return UNKNOWN;
+        long at = index.index(position);
+        if (at < 0) return UNKNOWN;
+        return values.get(HEADER_BYTES + (int) at);
+    }
+
+    /**
+     * Returns a turn that keeps the result of a position: the quickest win, or the
+     * slowest loss.
+     *
+     * @param position the position, restored before returning
+     * @return the packed turn, or {@link Turn#NO_TURN} if the table does not cover the
+     *         position or it has no turns
+     */
+    public int bestTurn(Position position) {
+        if (probe(position) == UNKNOWN) return Turn.NO_TURN;
+        int mover = position.getToMove();
+        int[] turns = new int[TurnGenerator.MAX_TURNS];
+        int count = TurnGenerator.generate(position, turns);
+        int best = Turn.NO_TURN;
+        int bestRank = Integer.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            position.apply(turns[i]);
+            int result;
+            if (position.isOver()) {
+                result = position.getWinner() == mover ? 1 : -1;
+            } else {
+                // the child's result is for the opponent, one turn later
+                int child = probe(position);
+                result = child > 0 ? -(child + 1) : 1 - child;
+            }
+            position.undo();
+            // wins rank above losses; quicker wins and slower losses rank higher
+            int rank = result > 0 ? Byte.MAX_VALUE - result : -Byte.MAX_VALUE - result;
+            if (rank > bestRank) {
+                bestRank = rank;
+                best = turns[i];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Prints the result of a position and the turn that keeps it.
+     *
+     * @param args the tablebase file, then the position in {@link PositionNotation}
+     * @throws IOException if the tablebase cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: Tablebase FILE position...");
+            System.exit(2);
+        }
+        Tablebase tablebase = open(Path.of(args[0]));
+        Position position = PositionNotation.parse(String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
+        int value = tablebase.probe(position);
+        if (value == UNKNOWN) {
+            System.out.println("not covered by " + args[0]);
+            return;
+        }
+        int turn = tablebase.bestTurn(position);
+        System.out.printf("%s in %d turns, play %s%n", value > 0 ? "win" : "loss", Math.abs(value),
+                Turn.toString(turn));
+    }
+
+    /**
+     * Returns the number of rows of the solved board.
+     *
+     * @return the rows
+     */
+    public int getRows() {
+        return index.getRows();
+    }
+
+    /**
+     * Returns the number of columns of the solved board.
+     *
+     * @return the columns
+     */
+    public int getCols() {
+        return index.getCols();
+    }
+
+    /**
+     * Returns the god of a player in the solved matchup.
+     *
+     * @param player the player index
+     * @return the god
+     */
+    public GodType getGod(int player) {
+        return gods[player];
+    }
+}
@@ -0,0 +1,254 @@
+package santorini.engine;
+
+import santorini.model.gods.GodType;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+
+/**
+ * Solves every position of a small board by retrograde analysis and writes a {@link Tablebase}.
+ * <p>
+ * Positions are solved in order of distance to the end of the game, one sweep per
+ * distance. Sweep {@code d} finds the wins in {@code d} turns (a turn reaches a loss in
+ * {@code d - 1}) and the losses in {@code d} turns (every turn reaches a win, the
+ * longest in {@code d - 1}), reading only results from earlier sweeps, so the
+ * positions of a sweep can be solved in parallel in any order. The sweeps stop when
+ * one solves nothing. Since every turn builds and each build costs nature meter, every
+ * game ends, and every position is solved.
+ * <p>
+ * Gaia is not supported: her removals refill a meter only up to full, which breaks the
+ * meter sum the index relies on, and can make games last forever.
+ * <p>
+ * Usage: {@code java santorini.engine.TablebaseBuilder [options]}
+ * <pre>
+ *   --rows R        board rows (default 2)
+ *   --cols C        board columns (default 3)
+ *   --gods G0,G1    the gods, such as ARTEMIS,NONE (default NONE,NONE)
+ *   --out FILE      tablebase file (default tablebases/RxC-G0-G1.stb)
+ *   --threads T     fork-join pool size (default: number of cores)
+ * </pre>
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class TablebaseBuilder {
+
+    private final TablebaseIndex index;
+    private final GodType god0;
+    private final GodType god1;
+    private final int threads;
+    private final byte[] values;
+    private final ThreadLocal<Solver> solvers;
+
+    /**
+     * Constructs a builder.
+     *
+     * @param rows    the board rows
+     * @param cols    the board columns
+     * @param god0    the god of player 0
+     * @param god1    the god of player 1
+     * @param threads the fork-join pool size
+     * @throws IllegalArgumentException if the board is too large or a god is Gaia
+     */
+    public TablebaseBuilder(int rows, int cols, GodType god0, GodType god1, int threads) {
+        if (god0 == GodType.GAIA || god1 == GodType.GAIA) {
+            throw new IllegalArgumentException("Tablebases do not support Gaia");
+        }
+        this.index = new TablebaseIndex(rows, cols);
+        if (index.size() > Integer.MAX_VALUE - Tablebase.HEADER_BYTES) {
+            throw new IllegalArgumentException("Too many positions on a " + rows + "x" + cols + " board: " + index.size());
+        }
+        this.god0 = god0;
+        this.god1 = god1;
+        this.threads = threads;
+        this.values = new byte[(int) index.size()];
+        this.solvers = ThreadLocal.withInitial(() -> new Solver(new Position(rows, cols, god0, god1)));
+    }
+
+    /**
+     * Solves every position.
+     *
+     * @return the length of the longest game under best play, in turns
+     * @throws InterruptedException if interrupted while waiting for a sweep
+     */
+    public int solve() throws InterruptedException {
+        int distance = 0;
+        while (distance < Byte.MAX_VALUE) {
+            int sweep = distance + 1;
+            long solved = sweep(sweep);
+            System.out.printf("distance %d: %d positions%n", sweep, solved);
+            if (solved == 0) break;
+            distance = sweep;
+        }
+        return distance;
+    }
+
+    /**
+     * Writes the solved table.
+     *
+     * @param file the tablebase file, replaced atomically
+     * @throws IOException if the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(Tablebase.MAGIC);
+            out.writeInt(Tablebase.VERSION);
+            out.writeByte(index.getRows());
+            out.writeByte(index.getCols());
+            out.writeByte(god0.ordinal());
+            out.writeByte(god1.ordinal());
+            out.writeInt(0);
+            out.write(values);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Solves the positions at one distance, spread over the building configurations.
+     *
+     * @return the number of positions solved
+     */
+    private long sweep(int distance) throws InterruptedException {
+        LongAdder solved = new LongAdder();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> IntStream.range(0, index.heightCount()).parallel()
+                    .forEach(height -> solved.add(solvers.get().sweep(height, distance)))).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tablebase sweep failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+        return solved.sum();
+    }
+
+    /**
+     * Builds a tablebase from the command line.
+     *
+     * @param args the options described above
+     * @throws Exception if the options are invalid or the table cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        int rows = 2;
+        int cols = 3;
+        GodType[] gods = {GodType.NONE, GodType.NONE};
+        Path out = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            switch (args[i]) {
+                case "--rows" -> rows = Integer.parseInt(value);
+                case "--cols" -> cols = Integer.parseInt(value);
+                case "--out" -> out = Path.of(value);
+                case "--threads" -> threads = Integer.parseInt(value);
+                case "--gods" -> {
+                    String[] names = value.split(",");
+                    if (names.length != 2) throw new IllegalArgumentException("Expected two gods: " + value);
+                    gods = new GodType[]{GodType.valueOf(names[0].trim().toUpperCase()),
+                            GodType.valueOf(names[1].trim().toUpperCase())};
+                }
+                default -> throw new IllegalArgumentException("Unknown option: " + args[i]);
+            }
+            i++;
+        }
+        if (out == null) {
+            out = Path.of("tablebases", rows + "x" + cols + "-" + gods[0] + "-" + gods[1] + ".stb");
+        }
+
+        TablebaseBuilder builder = new TablebaseBuilder(rows, cols, gods[0], gods[1], threads);
+        long start = System.nanoTime();
+        int longest = builder.solve();
+        builder.write(out);
+        System.out.printf("solved %dx%d %s vs %s in %d s, longest game %d turns, written to %s%n", rows, cols,
+                gods[0], gods[1], (System.nanoTime() - start) / 1_000_000_000L, longest, out);
+    }
+
+    /**
+     * Solves positions with a working position owned by one pool thread.
+     */
+    private final class Solver {
+        private final Position position;
+        private final int[] turns = new int[TurnGenerator.MAX_TURNS];
+
+        private Solver(Position position) {
+            this.position = position;
+        }
+
+        /**
+         * Solves the unsolved positions of one building configuration at a distance.
+         *
+         * @return the number of positions solved
+         */
+        private int sweep(int height, int distance) {
+            index.setHeights(position.getBoard(), height);
+            int solved = 0;
+            for (int first = 0; first < index.firstPairs(); first++) {
+                for (int second = 0; second < index.secondPairs(); second++) {
+                    for (int meter = 0; meter < TablebaseIndex.meters(); meter++) {
+                        for (int side = 0; side < 2; side++) {
+                            int at = (int) index.index(height, first, second, meter, side);
+                            if (values[at] != 0) continue;
+                            if (!index.setUp(position, height, first, second, meter, side)) continue;
+                            int value = solve(distance);
+                            if (value != 0) {
+                                values[at] = (byte) value;
+                                solved++;
+                            }
+                        }
+                    }
+                }
+            }
+            return solved;
+        }
+
+        /**
+         * Returns the result of the working position if it is a win or loss in exactly
+         * {@code distance} turns, or 0.
+         */
+        private int solve(int distance) {
+            int mover = position.getToMove();
+            int count = TurnGenerator.generate(position, turns);
+            if (count == 0) return 0; // the game ended before this turn; not a position to solve
+
+            int shortestWin = Integer.MAX_VALUE;
+            int longestLoss = 0;
+            boolean allLose = true;
+            for (int i = 0; i < count; i++) {
+                position.apply(turns[i]);
+                int result;
+                if (position.isOver()) {
+                    result = position.getWinner() == mover ? 1 : -1;
+                } else {
+                    // only results of earlier sweeps count, so the order of solving does not matter
+                    int child = values[(int) index.index(position)];
+                    result = child == 0 || Math.abs(child) >= distance ? 0
+                            : child > 0 ? -(child + 1) : 1 - child;
+                }
+                position.undo();
+
+                if (result > 0) {
+                    shortestWin = Math.min(shortestWin, result);
+                } else if (result < 0) {
+                    longestLoss = Math.max(longestLoss, -result);
+                } else {
+                    allLose = false;
+                }
+            }
+            if (shortestWin == distance) return distance;
+            if (shortestWin == Integer.MAX_VALUE && allLose && longestLoss == distance) return -distance;
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package santorini.engine;
+
+import santorini.model.BoardState;
+
+import java.util.Arrays;
+
+
+/**
+ * The perfect hash of a {@link Tablebase}: a dense numbering of every position on a
+ * small board.
+ * <p>
+ * A position is numbered from five parts, in mixed radix:
+ * <ol>
+ *   <li>the block count of every cell (0 to 4, 4 being a dome), read as a base-5 number
+ *       and ranked among the configurations the nature meters can pay for;</li>
+ *   <li>the cells of player 0's workers, as a pair ranked among all pairs of cells;</li>
+ *   <li>the cells of player 1's workers, ranked among the pairs of the remaining cells;</li>
+ *   <li>player 0's nature meter, in steps of 5 from 5 to 100;</li>
+ *   <li>the side to move.</li>
+ * </ol>
+ * Player 1's meter is not numbered: both meters start full and every block built or
+ * removed moves its impact between a meter and the board, so the two meters and the
+ * impact of everything built always add up to twice the full meter.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+final class TablebaseIndex {
+
+    /** Largest number of cells a board may have; the height ranks take 5^cells ints. */
+    static final int MAX_CELLS = 9;
+
+    /** Total of both meters and the impact of every block on the board. */
+    static final int METER_TOTAL = 2 * Position.METER_MAX;
+
+    private static final int LEVELS = 5;
+    private static final int METER_STEP = 5;
+    private static final int METERS = Position.METER_MAX / METER_STEP;
+    private static final int[] CUMULATIVE_IMPACT = new int[LEVELS];
+
+    static {
+        for (int blocks = 1; blocks < LEVELS; blocks++) {
+            CUMULATIVE_IMPACT[blocks] = CUMULATIVE_IMPACT[blocks - 1] + Position.IMPACT[blocks];
+        }
+    }
+
+    private final int rows;
+    private final int cols;
+    private final int cells;
+    private final int[] heightRank;
+    private final int[] heightCode;
+    private final int[] heightImpact;
+    private final int firstPairs;
+    private final int secondPairs;
+
+    /**
+     * Numbers the positions of a board.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @throws IllegalArgumentException if the board has fewer than four or more than {@link #MAX_CELLS} cells
+     */
+    TablebaseIndex(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.cells = rows * cols;
+        if (cells < 2 * BoardState.WORKERS_PER_PLAYER || cells > MAX_CELLS) {
+            throw new IllegalArgumentException("Tablebases cover boards of 4 to " + MAX_CELLS + " cells: "
+                    + rows + "x" + cols);
+        }
+
+        int codes = 1;
+        for (int i = 0; i < cells; i++) codes *= LEVELS;
+        heightRank = new int[codes];
+        int[] ranked = new int[codes];
+        int[] impacts = new int[codes];
+        int count = 0;
+        for (int code = 0; code < codes; code++) {
+            int impact = 0;
+            for (int rest = code; rest > 0; rest /= LEVELS) impact += CUMULATIVE_IMPACT[rest % LEVELS];
+            if (impact > METER_TOTAL - 2 * METER_STEP) {
+                heightRank[code] = -1;
+                continue;
+            }
+            heightRank[code] = count;
+            impacts[count] = impact;
+            ranked[count++] = code;
+        }
+        heightCode = Arrays.copyOf(ranked, count);
+        heightImpact = Arrays.copyOf(impacts, count);
+        firstPairs = pairs(cells);
+        secondPairs = pairs(cells - 2);
+    }
+
+    int getRows() {
+        return rows;
+    }
+
+    int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of indices, valid or not.
+     *
+     * @return the index space size
+     */
+    long size() {
+        return (long) heightCode.length * firstPairs * secondPairs * METERS * 2;
+    }
+
+    /**
+     * Returns the number of building configurations, the outermost part of an index.
+     *
+     * @return the height configuration count
+     */
+    int heightCount() {
+        return heightCode.length;
+    }
+
+    /**
+     * Returns the index of a position, or -1 if the position cannot be numbered: its
+     * board has another size, a worker is missing, or its meters do not add up.
+     *
+     * @param position the position
+     * @return the index, or -1
+     */
+    long index(Position position) {
+        BoardState board = position.getBoard();
+        if (board.getRows() != rows || board.getCols() != cols) return -1;
+        int code = 0;
+        for (int cell = cells - 1; cell >= 0; cell--) code = code * LEVELS + board.blockCount(cell);
+        int height = heightRank[code];
+        if (height < 0) return -1;
+
+        int a = board.workerCell(BoardState.slotOf(0, 0));
+        int b = board.workerCell(BoardState.slotOf(0, 1));
+        int c = board.workerCell(BoardState.slotOf(1, 0));
+        int d = board.workerCell(BoardState.slotOf(1, 1));
+        if (a < 0 || b < 0 || c < 0 || d < 0) return -1;
+
+        int meter0 = position.getMeter(0);
+        int meter1 = position.getMeter(1);
+        if (meter0 % METER_STEP != 0 || meter0 <= 0 || meter1 <= 0
+                || meter0 + meter1 + heightImpact[height] != METER_TOTAL) {
+            return -1;
+        }
+        return index(height, pair(a, b), secondPair(a, b, c, d), meter0 / METER_STEP - 1, position.getToMove());
+    }
+
+    /**
+     * Sets up the position of a building configuration and the remaining index parts, or
+     * returns {@code false} if that combination is not a position: a worker would stand on
+     * a dome or player 1's meter would be out of range.
+     * The board must already hold the configuration, set with {@link #setHeights}.
+     *
+     * @param position the position to overwrite, on a board of this size
+     * @param height   the building configuration
+     * @param first    the rank of player 0's worker pair
+     * @param second   the rank of player 1's worker pair among the remaining cells
+     * @param meter    the meter part of the index
+     * @param side     the side to move
+     * @return whether the position exists
+     */
+    boolean setUp(Position position, int height, int first, int second, int meter, int side) {
+        int meter0 = (meter + 1) * METER_STEP;
+        int meter1 = METER_TOTAL - heightImpact[height] - meter0;
+        if (meter1 <= 0 || meter1 > Position.METER_MAX) return false;
+
+        int b = pairHigh(first);
+        int a = first - pairs(b);
+        int d = pairHigh(second);
+        int c = expand(second - pairs(d), a, b);
+        d = expand(d, a, b);
+
+        BoardState board = position.getBoard();
+        if (board.hasDome(a) || board.hasDome(b) || board.hasDome(c) || board.hasDome(d)) return false;
+        for (int slot = 0; slot < 2 * BoardState.WORKERS_PER_PLAYER; slot++) board.liftWorker(slot);
+        board.placeWorker(BoardState.slotOf(0, 0), a);
+        board.placeWorker(BoardState.slotOf(0, 1), b);
+        board.placeWorker(BoardState.slotOf(1, 0), c);
+        board.placeWorker(BoardState.slotOf(1, 1), d);
+        position.setMeter(0, meter0);
+        position.setMeter(1, meter1);
+        position.setToMove(side);
+        return true;
+    }
+
+    /**
+     * Clears a board and builds a configuration on it.
+     *
+     * @param board  the board, of this size
+     * @param height the building configuration
+     */
+    void setHeights(BoardState board, int height) {
+        board.clear();
+        int code = heightCode[height];
+        for (int cell = 0; cell < cells; cell++, code /= LEVELS) {
+            for (int block = 0; block < code % LEVELS; block++) board.addBlock(cell);
+        }
+    }
+
+    int firstPairs() {
+        return firstPairs;
+    }
+
+    int secondPairs() {
+        return secondPairs;
+    }
+
+    static int meters() {
+        return METERS;
+    }
+
+    long index(int height, int first, int second, int meter, int side) {
+        return (((long) height * firstPairs + first) * secondPairs + second) * METERS * 2 + meter * 2L + side;
+    }
+
+    /**
+     * Returns the rank of a pair of different cells, in either order.
+     */
+    private static int pair(int x, int y) {
+        int low = Math.min(x, y);
+        int high = Math.max(x, y);
+        return pairs(high) + low;
+    }
+
+    /**
+     * Returns the rank of player 1's pair after removing player 0's cells from the numbering.
+     */
+    private static int secondPair(int a, int b, int c, int d) {
+        return pair(compress(c, a, b), compress(d, a, b));
+    }
+
+    private static int compress(int cell, int a, int b) {
+        return cell - (cell > a ? 1 : 0) - (cell > b ? 1 : 0);
+    }
+
+    /**
+     * Undoes {@link #compress}: returns the cell numbered {@code rank} among the cells other than a and b.
+     */
+    private static int expand(int rank, int a, int b) {
+        int low = Math.min(a, b);
+        int high = Math.max(a, b);
+        int cell = rank;
+        if (cell >= low) cell++;
+        if (cell >= high) cell++;
+        return cell;
+    }
+
+    /**
+     * Returns the number of pairs of cells below {@code n}, which is also the rank of the first pair with high cell n.
+     */
+    private static int pairs(int n) {
+        return n * (n - 1) / 2;
+    }
+
+    /**
+     * Returns the high cell of the pair with the given rank.
+     */
+    private static int pairHigh(int rank) {
+        int high = 1;
+        while (pairs(high + 1) <= rank) high++;
+        return high;
+    }
+}
@@ -0,0 +1,238 @@
+package santorini.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Fixed-size hash table remembering search results per position, safe to share
+ * between search threads without locks.
+ * <p>
+ * Each slot is two {@code long}s: the packed data (best turn, score, search depth and
+ * bound type) and the position key XOR-ed with that data. A probe only accepts a slot
+ * whose stored key XOR data gives back the probed key, so a slot torn by two threads
+ * writing at once, or holding another position, reads as a miss instead of returning
+ * wrong data. The table has a power-of-two number of slots and always replaces on
+ * store, preferring deeper results for the same key.
+ * <p>
+ * Probe, hit, collision and store counts are kept for tuning the table size.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class TranspositionTable {
+
+    /** The stored score is exact. */
+    public static final int EXACT = 1;
+
+    /** The stored score is a lower bound (the search failed high). */
+    public static final int LOWER = 2;
+
+    /** The stored score is an upper bound (the search failed low). */
+    public static final int UPPER = 3;
+
+    /** Value returned by {@link #probe(long)} when the position is not stored. */
+    public static final long MISS = 0L;
+
+    /** Memory used by one slot: a key and a data word. */
+    public static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+
+    /**
+     * Constructs a table with room for at least the given number of entries.
+     *
+     * @param entries the minimum number of entries
+     */
+    public TranspositionTable(int entries) {
+        int size = Integer.highestOneBit(Math.max(2, entries - 1)) << 1;
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Creates the largest power-of-two table that fits in the given amount of memory.
+     *
+     * @param megabytes the memory budget in MB (at least 1)
+     * @return the new table
+     */
+    public static TranspositionTable ofMegabytes(int megabytes) {
+        long bytes = Math.max(1, megabytes) * 1024L * 1024L;
+        long entries = Long.highestOneBit(bytes / BYTES_PER_ENTRY);
+        return new TranspositionTable((int) Math.min(entries, 1 << 30));
+    }
+
+    /**
+     * Returns the number of slots in the table.
+     *
+     * @return the slot count
+     */
+    public int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key the position hash
+     * @return the packed entry, or {@link #MISS}
+     */
+    public long probe(long key) {
+        int index = (int) key & mask;
+        long entry = data[index];
+        long stored = keys[index] ^ entry;
+        probes.increment();
+        if (stored == key && entry != MISS) {
+            hits.increment();
+            return entry;
+        }
+        if (entry != MISS) collisions.increment();
+        return MISS;
+    }
+
+    /**
+     * Stores a search result for a position.
+     *
+     * @param key   the position hash
+     * @param depth the remaining search depth of the result
+     * @param bound {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     * @param turn  the best turn found, or {@link Turn#NO_TURN}
+     * @param score the score for the side to move, with win and loss scores counted
+     *              from this position rather than from the search root
+     */
+    public void store(long key, int depth, int bound, int turn, int score) {
+        int index = (int) key & mask;
+        long old = data[index];
+        if ((keys[index] ^ old) == key && depth(old) > depth) return;
+        long entry = pack(depth, bound, turn, score);
+        data[index] = entry;
+        keys[index] = key ^ entry;
+        stores.increment();
+    }
+
+    /**
+     * Empties the table and resets its counters. Must not run while a search is using the table.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0L);
+        Arrays.fill(data, 0L);
+        resetCounters();
+    }
+
+    /**
+     * Resets the probe, hit, collision and store counters.
+     */
+    public void resetCounters() {
+        probes.reset();
+        hits.reset();
+        collisions.reset();
+        stores.reset();
+    }
+
+    /**
+     * Returns the number of probes since the counters were last reset.
+     *
+     * @return the probe count
+     */
+    public long getProbes() {
+        return probes.sum();
+    }
+
+    /**
+     * Returns the number of probes that found their position.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of probes that found a slot holding a different position.
+     *
+     * @return the collision count
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * Returns the number of results written to the table.
+     *
+     * @return the store count
+     */
+    public long getStores() {
+        return stores.sum();
+    }
+
+    /**
+     * Returns the fraction of probes that were hits.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long p = probes.sum();
+        return p == 0 ? 0 : hits.sum() / (double) p;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("tt=%dMB probes=%d hits=%.1f%% collisions=%d stores=%d",
+                (long) capacity() * BYTES_PER_ENTRY >> 20, getProbes(), getHitRate() * 100,
+                getCollisions(), getStores());
+    }
+
+    static long pack(int depth, int bound, int turn, int score) {
+        return (turn & 0xFFFFFFFFL)
+                | (long) (score & 0x1FFFFF) << 32
+                | (long) (depth & 0x7F) << 53
+                | (long) bound << 60;
+    }
+
+    /**
+     * Returns the best turn of a packed entry.
+     *
+     * @param entry the packed entry
+     * @return the packed turn
+     */
+    public static int turn(long entry) {
+        return (int) entry;
+    }
+
+    /**
+     * Returns the score of a packed entry.
+     *
+     * @param entry the packed entry
+     * @return the score
+     */
+    public static int score(long entry) {
+        return (int) (entry << 11 >> 43);
+    }
+
+    /**
+     * Returns the search depth of a packed entry.
+     *
+     * @param entry the packed entry
+     * @return the depth
+     */
+    public static int depth(long entry) {
+        return (int) (entry >>> 53) & 0x7F;
+    }
+
+    /**
+     * Returns the bound type of a packed entry.
+     *
+     * @param entry the packed entry
+     * @return {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     */
+    public static int bound(long entry) {
+        return (int) (entry >>> 60) & 0x3;
+    }
+}
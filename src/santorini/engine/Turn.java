@@ -0,0 +1,145 @@
+package santorini.engine;
+
+/**
+ * Packs a complete Santorini turn into a single {@code int}.
+ * <p>
+ * A turn is the worker chosen, its move, an optional second move (Artemis), its build,
+ * an optional second build (Demeter) and an optional block removal (Gaia). Cells are
+ * stored as 6-bit board indices, with {@link #NONE} marking an unused step:
+ * <pre>
+ *   bit  0      worker number within the player
+ *   bits 1-6    move destination
+ *   bits 7-12   second move destination
+ *   bits 13-18  build cell (NONE when the move wins the game)
+ *   bits 19-24  second build cell
+ *   bits 25-30  removed cell
+ * </pre>
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class Turn {
+
+    /** Cell value marking an unused step. */
+    public static final int NONE = 63;
+
+    /** Value that never encodes a legal turn. */
+    public static final int NO_TURN = -1;
+
+    private static final int CELL_MASK = 0x3F;
+    private static final int MOVE_SHIFT = 1;
+    private static final int MOVE2_SHIFT = 7;
+    private static final int BUILD_SHIFT = 13;
+    private static final int BUILD2_SHIFT = 19;
+    private static final int REMOVE_SHIFT = 25;
+
+    private Turn() {
+    }
+
+    /**
+     * Packs the steps of a turn.
+     *
+     * @param worker the worker number within the player (0 or 1)
+     * @param move   the move destination
+     * @param move2  the second move destination, or {@link #NONE}
+     * @param build  the build cell, or {@link #NONE}
+     * @param build2 the second build cell, or {@link #NONE}
+     * @param remove the removed cell, or {@link #NONE}
+     * @return the packed turn
+     */
+    public static int pack(int worker, int move, int move2, int build, int build2, int remove) {
+        return worker
+                | move << MOVE_SHIFT
+                | move2 << MOVE2_SHIFT
+                | build << BUILD_SHIFT
+                | build2 << BUILD2_SHIFT
+                | remove << REMOVE_SHIFT;
+    }
+
+    /**
+     * Returns the worker number within the player.
+     *
+     * @param turn the packed turn
+     * @return the worker number
+     */
+    public static int worker(int turn) {
+        return turn & 1;
+    }
+
+    /**
+     * Returns the move destination.
+     *
+     * @param turn the packed turn
+     * @return the cell index
+     */
+    public static int move(int turn) {
+        return (turn >>> MOVE_SHIFT) & CELL_MASK;
+    }
+
+    /**
+     * Returns the second move destination.
+     *
+     * @param turn the packed turn
+     * @return the cell index, or {@link #NONE}
+     */
+    public static int move2(int turn) {
+        return (turn >>> MOVE2_SHIFT) & CELL_MASK;
+    }
+
+    /**
+     * Returns the build cell.
+     *
+     * @param turn the packed turn
+     * @return the cell index, or {@link #NONE}
+     */
+    public static int build(int turn) {
+        return (turn >>> BUILD_SHIFT) & CELL_MASK;
+    }
+
+    /**
+     * Returns the second build cell.
+     *
+     * @param turn the packed turn
+     * @return the cell index, or {@link #NONE}
+     */
+    public static int build2(int turn) {
+        return (turn >>> BUILD2_SHIFT) & CELL_MASK;
+    }
+
+    /**
+     * Returns the removed cell.
+     *
+     * @param turn the packed turn
+     * @return the cell index, or {@link #NONE}
+     */
+    public static int remove(int turn) {
+        return (turn >>> REMOVE_SHIFT) & CELL_MASK;
+    }
+
+    /**
+     * Returns the cell the worker finishes its movement on.
+     *
+     * @param turn the packed turn
+     * @return the final cell index
+     */
+    public static int finalCell(int turn) {
+        int move2 = move2(turn);
+        return move2 != NONE ? move2 : move(turn);
+    }
+
+    /**
+     * Formats a turn for logs, e.g. {@code w0 7>12 b13 b14 r8}.
+     *
+     * @param turn the packed turn
+     * @return a readable description
+     */
+    public static String toString(int turn) {
+        if (turn == NO_TURN) return "none";
+        StringBuilder sb = new StringBuilder();
+        sb.append('w').append(worker(turn)).append(' ').append(move(turn));
+        if (move2(turn) != NONE) sb.append('>').append(move2(turn));
+        if (build(turn) != NONE) sb.append(" b").append(build(turn));
+        if (build2(turn) != NONE) sb.append(" b").append(build2(turn));
+        if (remove(turn) != NONE) sb.append(" r").append(remove(turn));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,117 @@
+package santorini.engine;
+
+import santorini.model.BoardState;
+import santorini.model.LegalTargets;
+import santorini.model.gods.GodType;
+
+
+/**
+ * Generates every legal complete turn for the side to move of a {@link Position}.
+ * <p>
+ * Optional god-power phases are expanded into separate turns: with and without the
+ * Artemis second move, the Demeter second build and the Gaia removal. Zeus builds
+ * under its own worker appear as ordinary builds on the worker's cell. Build cells come
+ * from {@link LegalTargets#buildMask}, the same mask the UI highlights, so builds are
+ * only generated while the matching block is still in the supply.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class TurnGenerator {
+
+    /** Upper bound on the number of turns in any position; size buffers with this. */
+    public static final int MAX_TURNS = 2048;
+
+    private TurnGenerator() {
+    }
+
+    /**
+     * Writes every legal turn for the side to move into {@code out}.
+     *
+     * @param position the position to generate turns for
+     * @param out      the buffer receiving packed turns, at least {@link #MAX_TURNS} long
+     * @return the number of turns written
+     */
+    public static int generate(Position position, int[] out) {
+        if (position.isOver()) return 0;
+
+        BoardState board = position.getBoard();
+        int player = position.getToMove();
+        GodType god = position.getGod(player);
+        int count = 0;
+
+        for (int n = 0; n < BoardState.WORKERS_PER_PLAYER; n++) {
+            int slot = BoardState.slotOf(player, n);
+            int from = board.workerCell(slot);
+            if (from == BoardState.NO_CELL) continue;
+
+            for (long moves = board.moveTargets(from); moves != 0; moves &= moves - 1) {
+                int to = Long.numberOfTrailingZeros(moves);
+                if (position.climbsToTop(from, to)) {
+                    out[count++] = Turn.pack(n, to, Turn.NONE, Turn.NONE, Turn.NONE, Turn.NONE);
+                    continue;
+                }
+
+                board.moveWorker(slot, to);
+                count = addBuilds(position, god, n, to, Turn.NONE, out, count);
+
+                if (god == GodType.ARTEMIS) {
+                    long second = board.moveTargets(to) & ~(1L << from);
+                    for (; second != 0; second &= second - 1) {
+                        int to2 = Long.numberOfTrailingZeros(second);
+                        if (position.climbsToTop(to, to2)) {
+                            out[count++] = Turn.pack(n, to, to2, Turn.NONE, Turn.NONE, Turn.NONE);
+                            continue;
+                        }
+                        board.moveWorker(slot, to2);
+                        count = addBuilds(position, god, n, to, to2, out, count);
+                        board.moveWorker(slot, to);
+                    }
+                }
+                board.moveWorker(slot, from);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds every build (and follow-up god phase) for a worker that has finished moving.
+     * The worker must already stand on its final cell.
+     */
+    private static int addBuilds(Position position, GodType god, int n, int move, int move2,
+                                 int[] out, int count) {
+        BoardState board = position.getBoard();
+        int at = move2 != Turn.NONE ? move2 : move;
+
+        long builds = LegalTargets.buildMask(board, at, god == GodType.ZEUS);
+        for (; builds != 0; builds &= builds - 1) {
+            int build = Long.numberOfTrailingZeros(builds);
+            int block = board.blockCount(build) + 1;
+
+            switch (god) {
+                case DEMETER -> {
+                    out[count++] = Turn.pack(n, move, move2, build, Turn.NONE, Turn.NONE);
+                    long second = board.buildTargets(at) & ~(1L << build);
+                    for (; second != 0; second &= second - 1) {
+                        int build2 = Long.numberOfTrailingZeros(second);
+                        int block2 = board.blockCount(build2) + 1;
+                        int left = position.getSupply(block2) - (block2 == block ? 1 : 0);
+                        if (left > 0) {
+                            out[count++] = Turn.pack(n, move, move2, build, build2, Turn.NONE);
+                        }
+                    }
+                }
+                case GAIA -> {
+                    out[count++] = Turn.pack(n, move, move2, build, Turn.NONE, Turn.NONE);
+                    long built = board.levelMask(1) | board.domeMask() | (1L << build);
+                    long removable = (board.getAdjacency().mask(at) | (1L << at)) & built;
+                    for (; removable != 0; removable &= removable - 1) {
+                        int remove = Long.numberOfTrailingZeros(removable);
+                        out[count++] = Turn.pack(n, move, move2, build, Turn.NONE, remove);
+                    }
+                }
+                default -> out[count++] = Turn.pack(n, move, move2, build, Turn.NONE, Turn.NONE);
+            }
+        }
+        return count;
+    }
+}
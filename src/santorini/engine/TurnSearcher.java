@@ -0,0 +1,34 @@
+package santorini.engine;
+
+
+/**
+ * A search algorithm that chooses a complete turn for the side to move of a {@link Position}.
+ * <p>
+ * Implementations decide how to use the time budget; all of them return the best turn
+ * found so far when the budget runs out or {@link #stop()} is called.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public interface TurnSearcher extends AutoCloseable {
+
+    /**
+     * Searches a position for the best turn of the side to move.
+     *
+     * @param root   the position to search; it is not modified
+     * @param millis the time budget in milliseconds
+     * @return the search result
+     */
+    SearchResult search(Position root, long millis);
+
+    /**
+     * Asks a running search to stop as soon as possible.
+     */
+    void stop();
+
+    /**
+     * Releases any threads owned by the searcher. The default does nothing.
+     */
+    @Override
+    default void close() {
+    }
+}
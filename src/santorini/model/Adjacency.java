@@ -0,0 +1,125 @@
+package santorini.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Precomputed 8-directional adjacency tables for a board size.
+ * <p>
+ * For every cell index the table holds both a bit mask of its neighbours and an
+ * array of their indices, so neighbour lookups and adjacency checks never allocate
+ * or bounds-check at runtime. Tables are built once per board size and shared.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class Adjacency {
+
+    private static final Map<Integer, Adjacency> CACHE = new ConcurrentHashMap<>();
+
+    private final int rows;
+    private final int cols;
+    private final long[] masks;
+    private final int[][] neighbours;
+
+    private Adjacency(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        int size = rows * cols;
+        this.masks = new long[size];
+        this.neighbours = new int[size][];
+
+        for (int cell = 0; cell < size; cell++) {
+            int row = cell / cols;
+            int col = cell % cols;
+            long mask = 0L;
+            for (int dr = -1; dr <= 1; dr++) {
+                for (int dc = -1; dc <= 1; dc++) {
+                    int r = row + dr;
+                    int c = col + dc;
+                    if ((dr != 0 || dc != 0) && r >= 0 && r < rows && c >= 0 && c < cols) {
+                        mask |= 1L << (r * cols + c);
+                    }
+                }
+            }
+            masks[cell] = mask;
+            neighbours[cell] = indicesOf(mask);
+        }
+    }
+
+    /**
+     * Returns the shared adjacency tables for a board size, building them on first use.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @return the adjacency tables
+     */
+    public static Adjacency of(int rows, int cols) {
+        return CACHE.computeIfAbsent(rows * (BoardState.MAX_CELLS + 1) + cols, k -> new Adjacency(rows, cols));
+    }
+
+    /**
+     * Returns the number of rows these tables were built for.
+     *
+     * @return the row count
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns these tables were built for.
+     *
+     * @return the column count
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the mask of cells adjacent to a cell.
+     *
+     * @param cell the cell index
+     * @return the neighbour mask
+     */
+    public long mask(int cell) {
+        return masks[cell];
+    }
+
+    /**
+     * Returns the indices of cells adjacent to a cell.
+     * The returned array is shared and must not be modified.
+     *
+     * @param cell the cell index
+     * @return the neighbour indices, in row-major order
+     */
+    public int[] neighbours(int cell) {
+        return neighbours[cell];
+    }
+
+    /**
+     * Checks whether two cells are adjacent in O(1).
+     *
+     * @param from the first cell index
+     * @param to   the second cell index
+     * @return {@code true} if the cells are distinct neighbours
+     */
+    public boolean isAdjacent(int from, int to) {
+        return ((masks[from] >>> to) & 1L) != 0;
+    }
+
+    /**
+     * Expands a cell mask into the indices of its set bits, in ascending order.
+     *
+     * @param mask the cell mask
+     * @return the cell indices
+     */
+    public static int[] indicesOf(long mask) {
+        int[] indices = new int[Long.bitCount(mask)];
+        for (int i = 0; mask != 0; i++) {
+            indices[i] = Long.numberOfTrailingZeros(mask);
+            mask &= mask - 1;
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,121 @@
+package santorini.model;
+
+
+/**
+ * The box of building pieces shared by both players: 22 first-floor blocks, 18
+ * second-floor blocks, 14 third-floor blocks and 18 domes.
+ * <p>
+ * The supply is part of the {@link BoardState} it belongs to. Every piece is either in
+ * the box or on the board, so the number left of a kind is its limit minus the pieces
+ * of that kind on the board, which the state already holds as one bit mask per level
+ * and one for domes. Building therefore takes a piece and removing a block (Gaia's
+ * power, or taking back a turn in a search) returns it without any separate bookkeeping,
+ * each count is a single population count, and the supply is covered by the board's
+ * Zobrist hash. Builders should check {@link #hasBlockFor(int)} before building rather
+ * than building first and undoing.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class BlockSupply {
+
+    /** Number of first, second, third floor blocks and domes in a standard box. */
+    public static final int[] STANDARD_LIMITS = {22, 18, 14, 18};
+
+    /** Block number of a dome, the fourth block on a cell. */
+    public static final int DOME = 4;
+
+    private final BoardState state;
+    private int[] limits = STANDARD_LIMITS;
+
+    /**
+     * Constructs the supply of a board state with the standard limits.
+     *
+     * @param state the board state whose pieces the supply counts
+     */
+    BlockSupply(BoardState state) {
+        this.state = state;
+    }
+
+    /**
+     * Copies the limits of another supply.
+     *
+     * @param other the supply to copy from
+     */
+    void copyFrom(BlockSupply other) {
+        limits = other.limits;
+    }
+
+    /**
+     * Sets how many pieces of each kind the box holds.
+     *
+     * @param limits the first, second, third floor and dome limits
+     * @throws IllegalArgumentException if the array does not hold four limits
+     */
+    public void setLimits(int[] limits) {
+        if (limits.length != DOME) {
+            throw new IllegalArgumentException("Expected " + DOME + " limits");
+        }
+        this.limits = limits.clone();
+    }
+
+    /**
+     * Returns how many pieces of a kind the box holds in total.
+     *
+     * @param block the block number (1 to 3 for floors, {@link #DOME} for domes)
+     * @return the limit
+     */
+    public int getLimit(int block) {
+        return limits[block - 1];
+    }
+
+    /**
+     * Returns how many pieces of a kind are still in the box.
+     *
+     * @param block the block number (1 to 3 for floors, {@link #DOME} for domes)
+     * @return the remaining count, never negative
+     */
+    public int remaining(int block) {
+        long onBoard = block == DOME ? state.domeMask() : state.levelMask(block);
+        return Math.max(0, limits[block - 1] - Long.bitCount(onBoard));
+    }
+
+    /**
+     * Checks whether the next block for a cell is still in the box.
+     *
+     * @param cell the cell index
+     * @return {@code true} if the cell can be built on as far as the supply is concerned
+     */
+    public boolean hasBlockFor(int cell) {
+        int block = state.blockCount(cell) + 1;
+        return block <= DOME && remaining(block) > 0;
+    }
+
+    /**
+     * Returns the remaining count of every kind of piece.
+     *
+     * @return the remaining first, second, third floor and dome pieces
+     */
+    public int[] toArray() {
+        int[] counts = new int[DOME];
+        for (int block = 1; block <= DOME; block++) {
+            counts[block - 1] = remaining(block);
+        }
+        return counts;
+    }
+
+    /**
+     * Returns a short name for a kind of piece, for messages.
+     *
+     * @param block the block number (1 to 3 for floors, {@link #DOME} for domes)
+     * @return the piece name
+     */
+    public static String nameOf(int block) {
+        return switch (block) {
+            case 1 -> "first-floor block";
+            case 2 -> "second-floor block";
+            case 3 -> "third-floor block";
+            case DOME -> "dome";
+            default -> throw new IllegalArgumentException("Invalid block: " + block);
+        };
+    }
+}
@@ -1,24 +1,29 @@
 package santorini.model;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.MouseListener;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 
 /**
  * The {@code Board} class represents the game board in the Santorini game.
- * It extends {@code JPanel} and manages a grid of {@code Cell} objects.
+ * It manages a grid of {@code Cell} objects that act as views over a headless
+ * {@link BoardState}, which holds the actual buildings and worker positions.
  * The board is responsible for initializing cells, retrieving neighbors,
- * and highlighting or resetting cell states.
+ * and holding the {@link LegalTargets} of the current phase, which are the
+ * highlighted cells.
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
-public class Board extends JPanel {
+public class Board {
     private int rows;
     private int cols;
     private Cell[][] cells;
+    private List<List<Cell>> neighbourCells;
+    private final BoardState state;
+    private final Worker[] workers = new Worker[BoardState.MAX_WORKERS];
+    private LegalTargets legalTargets = LegalTargets.NONE;
 
     /**
      * Constructs a new Board with the specified number of rows and columns.
@@ -30,21 +35,85 @@ public class Board extends JPanel {
         this.rows = rows;
         this.cols = cols;
         this.cells = new Cell[rows][cols];
-        setLayout(new GridLayout(rows, cols));
+        this.state = new BoardState(rows, cols);
     }
 
     /**
-     * Initializes the board by creating {@code Cell} objects for each position
-     * and adding them to the panel.
+     * Initializes the board by clearing its state and creating a {@code Cell}
+     * view for each position.
      */
     public void initialize() {
+        state.clear();
+        Arrays.fill(workers, null);
         for (int row = 0; row < rows; row++) {
             for (int col = 0; col < cols; col++) {
-                Cell cell = new Cell(row, col);
-                cells[row][col] = cell;
-                add(cell);
+                cells[row][col] = new Cell(this, row, col);
             }
         }
+
+        // neighbour lists are fixed for the board's lifetime, so build them once
+        Adjacency adjacency = state.getAdjacency();
+        List<List<Cell>> lists = new ArrayList<>(rows * cols);
+        for (int index = 0; index < rows * cols; index++) {
+            int[] nbrs = adjacency.neighbours(index);
+            Cell[] nbrCells = new Cell[nbrs.length];
+            for (int j = 0; j < nbrs.length; j++) {
+                nbrCells[j] = getCell(nbrs[j]);
+            }
+            lists.add(List.of(nbrCells));
+        }
+        neighbourCells = List.copyOf(lists);
+    }
+
+    /**
+     * Returns the headless state backing this board.
+     *
+     * @return the {@link BoardState}
+     */
+    public BoardState getState() {
+        return state;
+    }
+
+    /**
+     * Retrieves the cell view for a cell index of the {@link BoardState}.
+     *
+     * @param index the cell index
+     * @return the {@code Cell} at that index
+     */
+    public Cell getCell(int index) {
+        return cells[index / cols][index % cols];
+    }
+
+    /**
+     * Returns the worker occupying a slot of the {@link BoardState}.
+     *
+     * @param slot the worker slot
+     * @return the {@link Worker}, or {@code null} if the slot is unused
+     */
+    public Worker getWorker(int slot) {
+        return slot == BoardState.NO_WORKER ? null : workers[slot];
+    }
+
+    /**
+     * Assigns a state slot to a worker the first time it is placed on this board.
+     *
+     * @param worker the worker to register
+     * @return the worker's slot
+     */
+    int register(Worker worker) {
+        if (worker.getSlot() >= 0 && workers[worker.getSlot()] == worker) {
+            return worker.getSlot();
+        }
+        int player = worker.getOwner().getIndex();
+        for (int n = 0; n < BoardState.WORKERS_PER_PLAYER; n++) {
+            int slot = BoardState.slotOf(player, n);
+            if (workers[slot] == null) {
+                workers[slot] = worker;
+                worker.setSlot(slot);
+                return slot;
+            }
+        }
+        throw new IllegalStateException("Too many workers for " + worker.getOwner().getName());
     }
 
     /**
@@ -88,58 +157,70 @@ public class Board extends JPanel {
     /**
      * Retrieves a list of neighboring cells around a given cell.
      * Neighbors are any adjacent cells (8-directional).
+     * <p>
+     * The lists are precomputed when the board is initialized, so this call does not
+     * allocate; the returned list is shared and unmodifiable.
      *
      * @param cell the cell whose neighbors are to be found
      * @return a list of neighboring {@code Cell} objects
      */
     public List<Cell> getNeighbourCells(Cell cell) {
-        List<Cell> neighbours = new ArrayList<>();
-        int x = cell.getX();
-        int y = cell.getY();
-
-        for (int dx = -1; dx <= 1; dx++) {
-            for (int dy = -1; dy <= 1; dy++) {
-                if (dx != 0 || dy != 0) {
-                    int newRow = x + dx;
-                    int newCol = y + dy;
-                    if (newRow >= 0 && newRow < rows && newCol >= 0 && newCol < cols) {
-                        neighbours.add(cells[newRow][newCol]);
-                    }
-                }
-            }
-        }
-        return neighbours;
+        return neighbourCells.get(cell.getIndex());
+    }
+
+    /**
+     * Checks in constant time whether two cells are adjacent (8-directional).
+     *
+     * @param from the first cell
+     * @param to   the second cell
+     * @return {@code true} if the cells are distinct neighbours
+     */
+    public boolean isAdjacent(Cell from, Cell to) {
+        return state.isAdjacent(from.getIndex(), to.getIndex());
+    }
+
+    /**
+     * Returns the cells that may be chosen in the current phase, which are also the highlighted cells.
+     *
+     * @return the current legal targets
+     */
+    public LegalTargets getLegalTargets() {
+        return legalTargets;
+    }
+
+    /**
+     * Replaces the legal targets of the current phase, highlighting exactly those cells.
+     *
+     * @param targets the new legal targets
+     */
+    public void setLegalTargets(LegalTargets targets) {
+        this.legalTargets = targets;
     }
 
     /**
-     * Highlights a specific cell by setting its highlight state to true
-     * and repainting it.
+     * Highlights a specific cell by adding it to the legal targets.
      *
      * @param row the row index of the cell to highlight
      * @param col the column index of the cell to highlight
      */
     public void highlightCell(int row, int col) {
-        Cell c = cells[row][col];
-        c.setIsHighlighted(true);
-        c.repaint();
+        legalTargets = legalTargets.with(state.index(row, col));
     }
 
     /**
-     * Clears all highlights on the board and removes any mouse listeners
-     * from each cell.
+     * Adds a cell to or removes it from the legal targets.
+     *
+     * @param index     the cell index
+     * @param highlight {@code true} to add the cell, {@code false} to remove it
+     */
+    public void setHighlighted(int index, boolean highlight) {
+        legalTargets = highlight ? legalTargets.with(index) : legalTargets.without(index);
+    }
+
+    /**
+     * Clears all highlights on the board.
      */
     public void clearHighlights() {
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col < cols; col++) {
-                Cell cell = cells[row][col];
-                cell.setIsHighlighted(false);
-                cell.repaint();
-
-                MouseListener[] listeners = cell.getMouseListeners();
-                for (int j = 0; j < listeners.length; j++) {
-                    cell.removeMouseListener(listeners[j]);
-                }
-            }
-        }
+        legalTargets = LegalTargets.NONE;
     }
 }
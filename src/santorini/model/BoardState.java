@@ -0,0 +1,810 @@
+package santorini.model;
+
+import java.util.Arrays;
+
+
+/**
+ * Headless, compact representation of the Santorini board.
+ * <p>
+ * Every cell is addressed by a single index ({@code row * cols + col}) and the board
+ * contents are stored as bit masks over those indices: one mask per building level,
+ * one for domes and one for worker occupancy (plus one per player). Worker positions
+ * are kept in a small array indexed by worker slot, where slot
+ * {@code playerIndex * WORKERS_PER_PLAYER + n} is the n-th worker of that player.
+ * <p>
+ * The state also carries the side to move and each player's nature-meter bucket, and
+ * keeps a {@link Zobrist} hash of all of the above that every mutator updates
+ * incrementally, so the hash is always available in constant time. The same is done
+ * for the board as seen through each {@link Symmetry}, so the canonical key of a
+ * position (shared by all its rotations and reflections) also costs constant time.
+ * <p>
+ * Each worker's mobility (its number of legal move destinations) is tracked
+ * incrementally as well: a change to a cell can only affect workers on that cell or next
+ * to it, so a change just marks that 3x3 neighbourhood stale and only workers standing
+ * on stale cells are recounted when a count is next read. {@link #isStuck(int)} is then
+ * a constant-time read. Marking instead of recounting straight away keeps the many
+ * speculative worker moves made by move generation cheap.
+ * <p>
+ * The shared {@link BlockSupply} is part of the state too; it is derived from the level
+ * and dome masks, so building and removing blocks keep it up to date for free.
+ * <p>
+ * This class is the source of truth for the board; {@link Board}, {@link Cell} and
+ * {@link Building} are views over it. It does not depend on AWT or Swing, so rules
+ * checks and simulations can run without creating any UI objects.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class BoardState {
+
+    /** Largest board supported by the 64-bit masks. */
+    public static final int MAX_CELLS = 64;
+
+    /** Largest number of players whose workers can be tracked. */
+    public static final int MAX_PLAYERS = 4;
+
+    /** Number of workers each player controls. */
+    public static final int WORKERS_PER_PLAYER = 2;
+
+    /** Number of worker slots tracked by the state. */
+    public static final int MAX_WORKERS = MAX_PLAYERS * WORKERS_PER_PLAYER;
+
+    /** Marker for "no cell" in worker positions and cell lookups. */
+    public static final int NO_CELL = -1;
+
+    /** Marker for "no worker" in occupant lookups. */
+    public static final int NO_WORKER = -1;
+
+    /** Number of building levels below a dome. */
+    public static final int MAX_LEVEL = 3;
+
+    private final int rows;
+    private final int cols;
+    private final int size;
+    private final long allCells;
+    private final Adjacency adjacency;
+
+    private long level1;
+    private long level2;
+    private long level3;
+    private long domes;
+    private long occupied;
+    private final long[] playerWorkers = new long[MAX_PLAYERS];
+    private final byte[] workerCell = new byte[MAX_WORKERS];
+    private final byte[] occupant;
+    private final byte[] mobility = new byte[MAX_WORKERS];
+    private long staleMobility;
+    private final BlockSupply supply = new BlockSupply(this);
+    private final byte[] meterBuckets = new byte[MAX_PLAYERS];
+    private int sideToMove;
+    private final int[][] cellMaps;
+    private final long[] symmetryKeys;
+    private final long[] hashes = new long[Symmetry.COUNT];
+
+    /**
+     * Constructs an empty board state with the specified dimensions.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @throws IllegalArgumentException if the board does not fit in {@link #MAX_CELLS} cells
+     */
+    public BoardState(int rows, int cols) {
+        if (rows <= 0 || cols <= 0 || rows * cols > MAX_CELLS) {
+            throw new IllegalArgumentException("Unsupported board size: " + rows + "x" + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.size = rows * cols;
+        this.allCells = size == 64 ? -1L : (1L << size) - 1;
+        this.adjacency = Adjacency.of(rows, cols);
+        this.occupant = new byte[size];
+        this.cellMaps = Symmetry.cellMaps(rows, cols);
+        this.symmetryKeys = Zobrist.symmetryKeys(rows, cols);
+        clear();
+    }
+
+    /**
+     * Constructs a copy of another board state.
+     *
+     * @param other the state to copy
+     */
+    public BoardState(BoardState other) {
+        this.rows = other.rows;
+        this.cols = other.cols;
+        this.size = other.size;
+        this.allCells = other.allCells;
+        this.adjacency = other.adjacency;
+        this.occupant = new byte[size];
+        this.cellMaps = other.cellMaps;
+        this.symmetryKeys = other.symmetryKeys;
+        copyFrom(other);
+    }
+
+    /**
+     * Overwrites this state with the contents of another state of the same size.
+     *
+     * @param other the state to copy from
+     */
+    public void copyFrom(BoardState other) {
+        if (other.size != size || other.cols != cols) {
+            throw new IllegalArgumentException("Board sizes differ");
+        }
+        level1 = other.level1;
+        level2 = other.level2;
+        level3 = other.level3;
+        domes = other.domes;
+        occupied = other.occupied;
+        System.arraycopy(other.playerWorkers, 0, playerWorkers, 0, MAX_PLAYERS);
+        System.arraycopy(other.workerCell, 0, workerCell, 0, MAX_WORKERS);
+        System.arraycopy(other.occupant, 0, occupant, 0, size);
+        System.arraycopy(other.mobility, 0, mobility, 0, MAX_WORKERS);
+        staleMobility = other.staleMobility;
+        supply.copyFrom(other.supply);
+        System.arraycopy(other.meterBuckets, 0, meterBuckets, 0, MAX_PLAYERS);
+        sideToMove = other.sideToMove;
+        System.arraycopy(other.hashes, 0, hashes, 0, Symmetry.COUNT);
+    }
+
+    /**
+     * Removes every building, dome and worker from the board, gives the move to
+     * player 0 and resets every meter bucket to full.
+     */
+    public void clear() {
+        level1 = 0;
+        level2 = 0;
+        level3 = 0;
+        domes = 0;
+        occupied = 0;
+        Arrays.fill(playerWorkers, 0L);
+        Arrays.fill(workerCell, (byte) NO_CELL);
+        Arrays.fill(occupant, (byte) NO_WORKER);
+        Arrays.fill(mobility, (byte) 0);
+        staleMobility = 0;
+        Arrays.fill(meterBuckets, (byte) (Zobrist.METER_BUCKETS - 1));
+        sideToMove = 0;
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            hashes[t] = cellMaps[t] != null ? computeHash(Symmetry.of(t)) : computeHash();
+        }
+    }
+
+    // === Hashing ===
+
+    /**
+     * Returns the Zobrist hash of the state, maintained incrementally.
+     *
+     * @return the 64-bit position hash
+     */
+    public long hash() {
+        return hashes[0];
+    }
+
+    /**
+     * Returns the Zobrist hash of the state after applying a symmetry, maintained
+     * incrementally.
+     *
+     * @param symmetry the transform, which must apply to this board size
+     * @return the 64-bit hash of the transformed position
+     */
+    public long hash(Symmetry symmetry) {
+        return hashes[symmetry.ordinal()];
+    }
+
+    /**
+     * Returns the canonical key of the state: the smallest hash over every symmetry of
+     * the board, which is the same for a position and all its rotations and reflections.
+     *
+     * @return the canonical 64-bit hash
+     */
+    public long canonicalHash() {
+        long min = hashes[0];
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            min = Math.min(min, hashes[t]);
+        }
+        return min;
+    }
+
+    /**
+     * Returns the symmetry that maps this state to its canonical form, the one whose
+     * hash is {@link #canonicalHash()}. Ties (symmetric positions) go to the lowest ordinal.
+     *
+     * @return the canonical transform
+     */
+    public Symmetry canonicalSymmetry() {
+        int best = 0;
+        for (int t = 1; t < Symmetry.COUNT; t++) {
+            if (hashes[t] < hashes[best]) best = t;
+        }
+        return Symmetry.of(best);
+    }
+
+    /**
+     * Returns the cell map of a symmetry for this board size.
+     *
+     * @param symmetry the transform, which must apply to this board size
+     * @return the array giving the transformed index of every cell; must not be modified
+     */
+    public int[] cellMap(Symmetry symmetry) {
+        return cellMaps[symmetry.ordinal()];
+    }
+
+    /**
+     * Recomputes the Zobrist hash from scratch. The result always equals
+     * {@link #hash()}; it is meant for verifying the incremental updates.
+     *
+     * @return the 64-bit position hash
+     */
+    public long computeHash() {
+        return computeHash(Symmetry.IDENTITY);
+    }
+
+    /**
+     * Recomputes the hash of the transformed state from scratch. The result always
+     * equals {@link #hash(Symmetry)}.
+     *
+     * @param symmetry the transform, which must apply to this board size
+     * @return the 64-bit hash of the transformed position
+     */
+    public long computeHash(Symmetry symmetry) {
+        int[] map = cellMaps[symmetry.ordinal()];
+        long h = 0;
+        for (int cell = 0; cell < size; cell++) {
+            for (int level = 1; level <= height(cell); level++) {
+                h ^= Zobrist.level(level, map[cell]);
+            }
+            if (hasDome(cell)) h ^= Zobrist.dome(map[cell]);
+        }
+        for (int slot = 0; slot < MAX_WORKERS; slot++) {
+            if (workerCell[slot] != NO_CELL) h ^= Zobrist.worker(ownerOf(slot), map[workerCell[slot]]);
+        }
+        for (int player = 0; player < MAX_PLAYERS; player++) {
+            h ^= Zobrist.meter(player, meterBuckets[player]);
+        }
+        return h ^ Zobrist.side(sideToMove);
+    }
+
+    /**
+     * Returns the index of the player to move.
+     *
+     * @return the side to move
+     */
+    public int getSideToMove() {
+        return sideToMove;
+    }
+
+    /**
+     * Sets the player to move.
+     *
+     * @param player the player index
+     */
+    public void setSideToMove(int player) {
+        toggle(Zobrist.side(sideToMove) ^ Zobrist.side(player));
+        sideToMove = player;
+    }
+
+    /**
+     * Returns the hashed bucket of a player's nature meter.
+     *
+     * @param player the player index
+     * @return the meter bucket
+     */
+    public int getMeterBucket(int player) {
+        return meterBuckets[player];
+    }
+
+    /**
+     * Records a player's nature meter value, updating the hash if its bucket changed.
+     *
+     * @param player the player index
+     * @param value  the meter value
+     */
+    public void setMeter(int player, int value) {
+        int bucket = Zobrist.bucketOf(value);
+        toggle(Zobrist.meter(player, meterBuckets[player]) ^ Zobrist.meter(player, bucket));
+        meterBuckets[player] = (byte) bucket;
+    }
+
+    /** XORs a cell-independent key into the hash of every symmetry. */
+    private void toggle(long key) {
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            hashes[t] ^= key;
+        }
+    }
+
+    /**
+     * XORs the keys of a feature (level - 1 for a building level, or one of the
+     * {@link Zobrist} dome and worker features) on a cell into the hash of every symmetry. Hashes of
+     * transforms that do not apply to the board size track the untransformed hash, so
+     * they never win {@link #canonicalHash()} outright.
+     */
+    private void toggle(int feature, int cell) {
+        int base = (feature * size + cell) * Symmetry.COUNT;
+        for (int t = 0; t < Symmetry.COUNT; t++) {
+            hashes[t] ^= symmetryKeys[base + t];
+        }
+    }
+
+    // === Geometry ===
+
+    /**
+     * Returns the number of rows on the board.
+     *
+     * @return the row count
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of columns on the board.
+     *
+     * @return the column count
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of cells on the board.
+     *
+     * @return the cell count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a mask with a bit set for every cell on the board.
+     *
+     * @return the full-board mask
+     */
+    public long allCellsMask() {
+        return allCells;
+    }
+
+    /**
+     * Converts a row and column into a cell index.
+     *
+     * @param row the row index
+     * @param col the column index
+     * @return the cell index
+     */
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    /**
+     * Returns the row of a cell index.
+     *
+     * @param cell the cell index
+     * @return the row index
+     */
+    public int row(int cell) {
+        return cell / cols;
+    }
+
+    /**
+     * Returns the column of a cell index.
+     *
+     * @param cell the cell index
+     * @return the column index
+     */
+    public int col(int cell) {
+        return cell % cols;
+    }
+
+    /**
+     * Returns the precomputed adjacency tables for this board size.
+     *
+     * @return the {@link Adjacency} tables
+     */
+    public Adjacency getAdjacency() {
+        return adjacency;
+    }
+
+    /**
+     * Checks whether two distinct cells touch each other (8-directional).
+     *
+     * @param from the first cell index
+     * @param to   the second cell index
+     * @return {@code true} if the cells are adjacent
+     */
+    public boolean isAdjacent(int from, int to) {
+        return adjacency.isAdjacent(from, to);
+    }
+
+    // === Buildings ===
+
+    /**
+     * Returns the number of building levels on a cell, ignoring any dome.
+     *
+     * @param cell the cell index
+     * @return the level count (0 to 3)
+     */
+    public int height(int cell) {
+        long bit = 1L << cell;
+        return ((level1 & bit) != 0 ? 1 : 0)
+                + ((level2 & bit) != 0 ? 1 : 0)
+                + ((level3 & bit) != 0 ? 1 : 0);
+    }
+
+    /**
+     * Returns the number of blocks on a cell, counting a dome as the fourth block.
+     *
+     * @param cell the cell index
+     * @return the block count (0 to 4)
+     */
+    public int blockCount(int cell) {
+        return height(cell) + (hasDome(cell) ? 1 : 0);
+    }
+
+    /**
+     * Checks whether a cell is capped with a dome.
+     *
+     * @param cell the cell index
+     * @return {@code true} if the cell has a dome
+     */
+    public boolean hasDome(int cell) {
+        return (domes & (1L << cell)) != 0;
+    }
+
+    /**
+     * Returns the mask of cells with at least the given number of levels.
+     *
+     * @param level the level (1 to 3)
+     * @return the mask of cells at or above that level
+     */
+    public long levelMask(int level) {
+        return switch (level) {
+            case 1 -> level1;
+            case 2 -> level2;
+            case 3 -> level3;
+            default -> throw new IllegalArgumentException("Invalid level: " + level);
+        };
+    }
+
+    /**
+     * Returns the mask of domed cells.
+     *
+     * @return the dome mask
+     */
+    public long domeMask() {
+        return domes;
+    }
+
+    /**
+     * Adds the next block to a cell: a level if it has fewer than three, otherwise a dome.
+     *
+     * @param cell the cell index
+     * @return {@code true} if a block was added, {@code false} if the cell already has a dome
+     */
+    public boolean addBlock(int cell) {
+        long bit = 1L << cell;
+        if ((domes & bit) != 0) return false;
+        if ((level1 & bit) == 0) {
+            level1 |= bit;
+            toggle(0, cell);
+        } else if ((level2 & bit) == 0) {
+            level2 |= bit;
+            toggle(1, cell);
+        } else if ((level3 & bit) == 0) {
+            level3 |= bit;
+            toggle(2, cell);
+        } else {
+            domes |= bit;
+            toggle(Zobrist.DOME_FEATURE, cell);
+        }
+        invalidateMobility(cell);
+        return true;
+    }
+
+    /**
+     * Places a dome on a cell regardless of its height.
+     *
+     * @param cell the cell index
+     * @return {@code true} if a dome was added, {@code false} if one was already present
+     */
+    public boolean addDome(int cell) {
+        long bit = 1L << cell;
+        if ((domes & bit) != 0) return false;
+        domes |= bit;
+        toggle(Zobrist.DOME_FEATURE, cell);
+        invalidateMobility(cell);
+        return true;
+    }
+
+    /**
+     * Removes the topmost block from a cell: the dome if present, otherwise the top level.
+     *
+     * @param cell the cell index
+     * @return {@code true} if a block was removed, {@code false} if the cell was empty
+     */
+    public boolean removeBlock(int cell) {
+        return removeDome(cell) || removeLevel(cell);
+    }
+
+    /**
+     * Removes the dome from a cell.
+     *
+     * @param cell the cell index
+     * @return {@code true} if a dome was removed
+     */
+    public boolean removeDome(int cell) {
+        long bit = 1L << cell;
+        if ((domes & bit) == 0) return false;
+        domes &= ~bit;
+        toggle(Zobrist.DOME_FEATURE, cell);
+        invalidateMobility(cell);
+        return true;
+    }
+
+    /**
+     * Removes the topmost level from a cell, leaving any dome in place.
+     *
+     * @param cell the cell index
+     * @return {@code true} if a level was removed
+     */
+    public boolean removeLevel(int cell) {
+        long bit = 1L << cell;
+        if ((level3 & bit) != 0) {
+            level3 &= ~bit;
+            toggle(2, cell);
+        } else if ((level2 & bit) != 0) {
+            level2 &= ~bit;
+            toggle(1, cell);
+        } else if ((level1 & bit) != 0) {
+            level1 &= ~bit;
+            toggle(0, cell);
+        } else {
+            return false;
+        }
+        invalidateMobility(cell);
+        return true;
+    }
+
+    /**
+     * Returns the supply of building pieces, which counts the pieces on this board.
+     *
+     * @return the block supply
+     */
+    public BlockSupply getSupply() {
+        return supply;
+    }
+
+    // === Workers ===
+
+    /**
+     * Returns the slot of the n-th worker of a player.
+     *
+     * @param player the player index
+     * @param n      the worker number within that player
+     * @return the worker slot
+     */
+    public static int slotOf(int player, int n) {
+        return player * WORKERS_PER_PLAYER + n;
+    }
+
+    /**
+     * Returns the player index owning a worker slot.
+     *
+     * @param slot the worker slot
+     * @return the owning player index
+     */
+    public static int ownerOf(int slot) {
+        return slot / WORKERS_PER_PLAYER;
+    }
+
+    /**
+     * Checks whether a cell holds a worker.
+     *
+     * @param cell the cell index
+     * @return {@code true} if occupied
+     */
+    public boolean isOccupied(int cell) {
+        return (occupied & (1L << cell)) != 0;
+    }
+
+    /**
+     * Returns the mask of cells holding any worker.
+     *
+     * @return the occupancy mask
+     */
+    public long occupiedMask() {
+        return occupied;
+    }
+
+    /**
+     * Returns the mask of cells holding a worker of the given player.
+     *
+     * @param player the player index
+     * @return the player's worker mask
+     */
+    public long playerMask(int player) {
+        return playerWorkers[player];
+    }
+
+    /**
+     * Returns the worker slot occupying a cell.
+     *
+     * @param cell the cell index
+     * @return the worker slot, or {@link #NO_WORKER} if the cell is empty
+     */
+    public int workerAt(int cell) {
+        return occupant[cell];
+    }
+
+    /**
+     * Returns the cell a worker is standing on.
+     *
+     * @param slot the worker slot
+     * @return the cell index, or {@link #NO_CELL} if the worker is not on the board
+     */
+    public int workerCell(int slot) {
+        return workerCell[slot];
+    }
+
+    /**
+     * Puts a worker on a cell, lifting it from its previous cell first.
+     * Any other worker already on the target cell is displaced from the board.
+     *
+     * @param slot the worker slot
+     * @param cell the target cell index
+     */
+    public void placeWorker(int slot, int cell) {
+        liftWorker(slot);
+        int previous = occupant[cell];
+        if (previous != NO_WORKER) liftWorker(previous);
+
+        long bit = 1L << cell;
+        occupied |= bit;
+        playerWorkers[ownerOf(slot)] |= bit;
+        occupant[cell] = (byte) slot;
+        workerCell[slot] = (byte) cell;
+        toggle(Zobrist.WORKER_FEATURE + ownerOf(slot), cell);
+        invalidateMobility(cell);
+    }
+
+    /**
+     * Moves a worker that is on the board to another cell.
+     *
+     * @param slot the worker slot
+     * @param to   the destination cell index
+     */
+    public void moveWorker(int slot, int to) {
+        placeWorker(slot, to);
+    }
+
+    /**
+     * Removes a worker from the board.
+     *
+     * @param slot the worker slot
+     */
+    public void liftWorker(int slot) {
+        int cell = workerCell[slot];
+        if (cell == NO_CELL) return;
+
+        long bit = 1L << cell;
+        occupied &= ~bit;
+        playerWorkers[ownerOf(slot)] &= ~bit;
+        occupant[cell] = (byte) NO_WORKER;
+        workerCell[slot] = (byte) NO_CELL;
+        mobility[slot] = 0;
+        toggle(Zobrist.WORKER_FEATURE + ownerOf(slot), cell);
+        invalidateMobility(cell);
+    }
+
+    /**
+     * Removes whichever worker stands on a cell.
+     *
+     * @param cell the cell index
+     */
+    public void clearCell(int cell) {
+        int slot = occupant[cell];
+        if (slot != NO_WORKER) liftWorker(slot);
+    }
+
+    // === Rules ===
+
+    /**
+     * Checks whether a worker standing on {@code from} may move to {@code to}:
+     * the cells must be adjacent, the target free of workers and domes,
+     * and at most one level higher than the source.
+     *
+     * @param from the source cell index
+     * @param to   the destination cell index
+     * @return {@code true} if the move is legal
+     */
+    public boolean canMove(int from, int to) {
+        return ((moveTargets(from) >>> to) & 1L) != 0;
+    }
+
+    /**
+     * Returns the mask of cells a worker standing on {@code from} may move to.
+     *
+     * @param from the cell index of the worker
+     * @return the mask of legal destinations
+     */
+    public long moveTargets(int from) {
+        long free = adjacency.mask(from) & ~(occupied | domes);
+        return switch (height(from)) {
+            case 0 -> free & ~level2;
+            case 1 -> free & ~level3;
+            default -> free;
+        };
+    }
+
+    /**
+     * Returns the mask of neighbouring cells a worker standing on {@code from} may build on.
+     *
+     * @param from the cell index of the worker
+     * @return the mask of buildable neighbours
+     */
+    public long buildTargets(int from) {
+        return adjacency.mask(from) & ~(occupied | domes);
+    }
+
+    /**
+     * Checks whether a block may be added to a cell (no worker and no dome).
+     *
+     * @param cell the cell index
+     * @return {@code true} if the cell can be built on
+     */
+    public boolean canBuild(int cell) {
+        return (((occupied | domes) >>> cell) & 1L) == 0;
+    }
+
+    /**
+     * Returns the number of legal move destinations of a worker, maintained incrementally.
+     *
+     * @param slot the worker slot
+     * @return the mobility, or 0 if the worker is not on the board
+     */
+    public int mobility(int slot) {
+        int cell = workerCell[slot];
+        if (cell == NO_CELL) return 0;
+        if ((staleMobility & 1L << cell) != 0) recount(1L << cell);
+        return mobility[slot];
+    }
+
+    /**
+     * Marks the mobility of every worker on or next to a changed cell as out of date.
+     */
+    private void invalidateMobility(int cell) {
+        staleMobility |= adjacency.mask(cell) | 1L << cell;
+    }
+
+    /**
+     * Recounts the workers standing on the given cells and clears their stale marks.
+     */
+    private void recount(long cells) {
+        for (long workers = cells & occupied; workers != 0; workers &= workers - 1) {
+            int at = Long.numberOfTrailingZeros(workers);
+            mobility[occupant[at]] = (byte) Long.bitCount(moveTargets(at));
+        }
+        staleMobility &= ~cells;
+    }
+
+    /**
+     * Checks whether the worker on a cell has at least one legal move.
+     *
+     * @param from the cell index of the worker
+     * @return {@code true} if the worker can move
+     */
+    public boolean hasMoveFrom(int from) {
+        return moveTargets(from) != 0;
+    }
+
+    /**
+     * Checks whether a player has no worker able to move, from the maintained mobility counts.
+     *
+     * @param player the player index
+     * @return {@code true} if every worker of the player on the board is stuck
+     */
+    public boolean isStuck(int player) {
+        long workers = playerWorkers[player];
+        long stale = staleMobility & workers;
+        if (stale != 0) recount(stale);
+        for (int n = 0; n < WORKERS_PER_PLAYER; n++) {
+            if (mobility[slotOf(player, n)] != 0) return false;
+        }
+        return true;
+    }
+}
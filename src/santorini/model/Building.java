@@ -1,38 +1,80 @@
 package santorini.model;
 
-import java.util.ArrayList;
 import java.util.List;
 
 
 /**
  * Represents a building structure in the Santorini game.
  * <p>
- * A building can have up to four levels and may optionally be topped with a dome.
- * Levels are added incrementally, and the dome is placed once the building is complete or based on god powers.
+ * A building can have up to three levels and may be topped with a dome, which counts
+ * as the fourth block. The building is a view over one cell of a {@link BoardState},
+ * where its height and dome are a few bits; adding or removing blocks updates that
+ * state directly. {@link Level} and {@link Dome} objects are shared flyweights handed
+ * out on request, so a building allocates nothing as it grows.
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
  * Modified by: Ubaid Irfan (Sprint 3 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
 public class Building {
-    private final List<Level> levels;
-    private Dome dome;
+    private static final List<Level> LEVELS = List.of(Level.of(0), Level.of(1), Level.of(2));
+
+    private final BoardState state;
+    private final int index;
 
     /**
-     * Constructs a new empty building with no levels or dome.
+     * Constructs a new empty building that is not attached to any board.
      */
     public Building() {
-        this.levels = new ArrayList<>();
-        this.dome = null;
+        this(new BoardState(1, 1), 0);
+    }
+
+    /**
+     * Constructs a building viewing the given cell of a board state.
+     *
+     * @param state the board state holding the building
+     * @param index the cell index within the state
+     */
+    public Building(BoardState state, int index) {
+        this.state = state;
+        this.index = index;
     }
 
     /**
      * Returns the current height of the building.
-     * Each level counts as one unit of height.
+     * Each level counts as one unit of height, and a dome counts as the fourth.
      *
-     * @return the number of levels in the building
+     * @return the number of blocks in the building
      */
     public int getHeight() {
-        return levels.size();
+        return state.blockCount(index);
+    }
+
+    /**
+     * Returns the number of levels in the building, not counting a dome.
+     *
+     * @return the level count (0 to 3)
+     */
+    public int getLevelCount() {
+        return state.height(index);
+    }
+
+    /**
+     * Returns the levels of the building from the bottom up.
+     *
+     * @return an unmodifiable list of shared {@link Level} instances, numbered from 0 at the bottom
+     */
+    public List<Level> getLevels() {
+        return LEVELS.subList(0, state.height(index));
+    }
+
+    /**
+     * Returns the dome on top of the building.
+     *
+     * @return the shared {@link Dome}, or {@code null} if the building has no dome
+     */
+    public Dome getDome() {
+        return state.hasDome(index) ? Dome.DOME : null;
     }
 
     /**
@@ -41,55 +83,46 @@ public class Building {
      * @return {@code true} if the building has a dome, otherwise {@code false}
      */
     public boolean hasDome() {
-        return dome != null;
+        return state.hasDome(index);
     }
 
     /**
-     * Adds a new level to the building if it has less than 4 levels and no dome.
+     * Adds the next block to the building if it does not already have a dome.
      * <p>
-     * Each level is assigned an increasing height index.
+     * The first three blocks are levels; the fourth is a dome.
      */
     public void addLevel() {
-        if (getHeight() < 4 && dome == null) {
-            levels.add(new Level(getHeight()));
-        }
+        state.addBlock(index);
     }
 
     /**
-     * Returns the dome of the building, if present.
+     * Returns whether the building has no levels and no dome.
      *
-     * @return the dome of the building, or {@code null} if no dome exists
+     * @return {@code true} if the building is empty, otherwise {@code false}
      */
     public boolean isEmpty() {
-        return levels.isEmpty() && dome == null;
+        return state.blockCount(index) == 0;
     }
 
     /**
-     * Adds a dome to the building at the specified cell.
+     * Adds a dome to the building, whatever its height.
      * Only allowed if the building does not already have a dome.
-     *
-     * @param cell  the cell on which the dome is placed
-     * @param board the board to which the cell belongs
      */
-    public void addDome(Cell cell, Board board) {
-        if (!hasDome()) {
-            this.dome = new Dome(cell, board);
-        }
+    public void addDome() {
+        state.addDome(index);
     }
 
     /**
      * Removes the dome from the building, if present.
      */
     public void removeDome() {
-        this.dome = null;
+        state.removeDome(index);
     }
 
     /**
      * Removes the topmost level from the building, if any exists.
      */
     public void removeLevel() {
-        if (!levels.isEmpty()) {
-            levels.remove(levels.size() - 1);
-        }
+        state.removeLevel(index);
     }
 }
@@ -1,37 +1,37 @@
 package santorini.model;
 
-import javax.swing.*;
-import java.awt.*;
-
 
 /**
  * Represents a single cell on the Santorini game board.
  * <p>
- * A cell may contain a building, a worker, a dome, and UI-related highlights.
- * It extends {@link JPanel} for visual representation in the game UI.
+ * A cell is a view over one index of the board's {@link BoardState}: its building,
+ * dome and worker are read from and written to that state, and its highlight is
+ * membership in the board's {@link LegalTargets}.
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
  * Modified by: Ubaid Irfan (Sprint 3 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
-public class Cell extends JPanel {
-    private int x;
-    private int y;
-    private Worker worker;
-    private Building building;
-    private boolean isOccupied;
-    private boolean isHighlighted;
+public class Cell {
+    private final int x;
+    private final int y;
+    private final int index;
+    private final Board board;
+    private final Building building;
 
     /**
      * Constructs a new Cell at the specified board coordinates.
      *
-     * @param x the row index
-     * @param y the column index
+     * @param board the board whose state this cell views
+     * @param x     the row index
+     * @param y     the column index
      */
-    public Cell(int x, int y) {
+    public Cell(Board board, int x, int y) {
+        this.board = board;
         this.x = x;
         this.y = y;
-        this.building = new Building();
-        setBorder(BorderFactory.createLineBorder(Color.BLACK));
+        this.index = board.getState().index(x, y);
+        this.building = new Building(board.getState(), index);
     }
 
     /**
@@ -52,6 +52,15 @@ public class Cell extends JPanel {
         return y;
     }
 
+    /**
+     * Returns the index of this cell in the board's {@link BoardState}.
+     *
+     * @return the cell index
+     */
+    public int getIndex() {
+        return index;
+    }
+
     /**
      * Returns the building associated with this cell.
      *
@@ -62,14 +71,17 @@ public class Cell extends JPanel {
     }
 
     /**
-     * Assigns a worker to this cell and updates the occupied flag.
+     * Assigns a worker to this cell, or clears the cell when {@code worker} is {@code null}.
      *
      * @param worker the {@link Worker} to assign
      */
     public void setWorker(Worker worker) {
-        this.worker = worker;
-        this.isOccupied = (worker != null);
-        repaint();
+        BoardState state = board.getState();
+        if (worker == null) {
+            state.clearCell(index);
+        } else {
+            state.placeWorker(board.register(worker), index);
+        }
     }
 
     /**
@@ -78,16 +90,7 @@ public class Cell extends JPanel {
      * @return the {@link Worker}, or {@code null} if none
      */
     public Worker getWorker() {
-        return worker;
-    }
-
-    /**
-     * Sets whether the cell is occupied (by a worker).
-     *
-     * @param occupied {@code true} if occupied, otherwise {@code false}
-     */
-    public void setIsOccupied(boolean occupied) {
-        isOccupied = occupied;
+        return board.getWorker(board.getState().workerAt(index));
     }
 
     /**
@@ -96,7 +99,7 @@ public class Cell extends JPanel {
      * @return {@code true} if occupied, otherwise {@code false}
      */
     public boolean getIsOccupied() {
-        return isOccupied;
+        return board.getState().isOccupied(index);
     }
 
     /**
@@ -105,7 +108,7 @@ public class Cell extends JPanel {
      * @param highlight {@code true} to highlight, {@code false} to remove highlight
      */
     public void setIsHighlighted(boolean highlight) {
-        isHighlighted = highlight;
+        board.setHighlighted(index, highlight);
     }
 
     /**
@@ -114,16 +117,7 @@ public class Cell extends JPanel {
      * @return {@code true} if highlighted, otherwise {@code false}
      */
     public boolean getIsHighlighted() {
-        return isHighlighted;
-    }
-
-    /**
-     * Assigns a new building object to the cell.
-     *
-     * @param building the {@link Building} to assign
-     */
-    public void setBuilding(Building building) {
-        this.building = building;
+        return board.getLegalTargets().contains(index);
     }
 
     /**
@@ -152,18 +146,4 @@ public class Cell extends JPanel {
     public boolean hasDome() {
         return building.hasDome();
     }
-
-    /**
-     * Custom paint logic for displaying a worker in the UI.
-     *
-     * @param g the {@link Graphics} context used to draw the component
-     */
-    @Override
-    protected void paintComponent(Graphics g) {
-        super.paintComponent(g);
-        if (worker != null) {
-            g.setColor(Color.DARK_GRAY);
-            g.fillOval(20, 20, getWidth() - 40, getHeight() - 40);
-        }
-    }
-}
\ No newline at end of file
+}
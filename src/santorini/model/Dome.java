@@ -6,29 +6,19 @@ package santorini.model;
  * A dome can be placed on a cell to indicate that no further building or movement
  * can occur there. Domes are typically placed on buildings of height 3, but may
  * also be used according to specific god powers.
+ * <p>
+ * Whether a cell has a dome is stored as one bit in the {@link BoardState}, so a dome
+ * has no state of its own and a single shared instance, {@link #DOME}, is used wherever
+ * an object is needed.
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
-public class Dome {
+public final class Dome {
 
-    private boolean isPlaced;
-    private Cell locatedCell;
-    private int locatedX;
-    private int locatedY;
-    private Board board;
+    /** The shared dome instance. */
+    public static final Dome DOME = new Dome();
 
-    /**
-     * Constructs a dome at the specified cell on the board.
-     * The dome is considered placed upon creation.
-     *
-     * @param cell  the {@link Cell} where the dome is located
-     * @param board the game {@link Board} the dome belongs to
-     */
-    public Dome(Cell cell, Board board) {
-        this.isPlaced = true;
-        this.locatedCell = cell;
-        this.locatedX = cell.getX();
-        this.locatedY = cell.getY();
-        this.board = board;
+    private Dome() {
     }
 }
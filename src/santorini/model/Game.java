@@ -1,20 +1,32 @@
 package santorini.model;
 
 import santorini.controller.*;
+import santorini.engine.OpeningBook;
+import santorini.engine.Position;
+import santorini.engine.Turn;
 import santorini.model.gods.GodCardFactory;
+import santorini.model.gods.GodType;
 import santorini.model.meters.*;
 import santorini.model.loseconditions.LoseCondition;
 import santorini.model.loseconditions.NatureMeterDepletedLoseCondition;
 import santorini.model.loseconditions.StuckLoseCondition;
 import santorini.model.timing.*;
+import santorini.record.GameRecordHeader;
+import santorini.record.GameRecordWriter;
+import santorini.record.GameSnapshot;
 import santorini.view.BoardUI;
+import santorini.view.DefaultButton;
 import santorini.view.NatureMeterLabel;
 import santorini.view.SantoriniApp;
 import santorini.view.TimerLabel;
 
 import javax.swing.*;
 import java.awt.*;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.List;
 
@@ -23,12 +35,27 @@ public class Game {
     private final SantoriniApp app;
     private final JPanel container;
 
-    private WorkerPlacementStrategy placementStrategy = new RandomPlacementStrategy();
     private static final int DEFAULT_ROWS = 5;
     private static final int DEFAULT_COLS = 5;
     private BoardUI ui;
     private List<Player> players = new ArrayList<>();
     private Board board = new Board(DEFAULT_ROWS, DEFAULT_COLS);
+    private final Set<Integer> botSeats = new HashSet<>();
+    private final List<EngineBot> bots = new ArrayList<>();
+    private List<GameTimer> timers = List.of();
+    private GameRecordWriter recorder;
+    private TurnManager turnManager;
+    private long seed;
+    private final OpeningBook book = loadBook();
+
+    /** System property naming the directory games are recorded to; games are only recorded when it is set. */
+    public static final String RECORD_DIR_PROPERTY = "santorini.records";
+
+    /** System property naming the directory games are saved to. */
+    public static final String SAVE_DIR_PROPERTY = "santorini.saves";
+
+    /** System property naming the opening book file. */
+    public static final String BOOK_PROPERTY = "santorini.book";
 
     ImageIcon logo = new ImageIcon(getClass().getClassLoader().getResource("workers/worker_girl_orange1_32x32.png"));
 
@@ -37,34 +64,215 @@ public class Game {
         this.container = container;
     }
 
-    public void startGame() {
+    /**
+     * Chooses which player seats are taken by computer players in the next game.
+     *
+     * @param seats the player indices the bot plays for; empty for a two-player game
+     */
+    public void setBotSeats(Collection<Integer> seats) {
+        botSeats.clear();
+        botSeats.addAll(seats);
+    }
 
-        players.clear();
-        container.removeAll();
-        container.setLayout(new BorderLayout());
+    public void startGame() {
+        stopGame();
 
+        // one seed drives every random choice of this game; rerun with -Dsantorini.seed to replay it
+        GameRandom random = GameRandom.withDefaultSeed();
+        seed = random.getSeed();
+        showSeed(seed);
 
-        List<GameTimer> timers = List.of(
+        timers = List.of(
                 new DefaultPlayerTimer(5), // each player starts with 5 mins on the clock
                 new DefaultPlayerTimer(5)
         );
 
         // === Initialize Players with meter/s ===
-        List<String> playerNames = List.of("Player 1", "Player 2");
-        for (int i = 0; i < playerNames.size(); i++) {
-            Player player = new Player(playerNames.get(i), i);
+        createPlayers(2);
+
+        // === Assign God Cards ===
+        GodCardPool pool = new GodCardPool(GodCardFactory.getDefaultGodCards());
+        GodCardAssigner assigner = new GodCardAssigner(pool, random.split());
+        assigner.assignTo(players);
+
+        // === Initialize Board and Place Workers ===
+        board.initialize();
+        // bots place from the opening book when there is one; everyone else places at random
+        WorkerPlacementStrategy placementStrategy = book.size() > 0 && !botSeats.isEmpty()
+                ? new BookPlacementStrategy(book, botSeats, random.split())
+                : new RandomPlacementStrategy(random.split());
+        placementStrategy.placeWorkers(board, players);
+
+        // === Randomly Assign Worker Colors ===
+        List<String> colors = new ArrayList<>(List.of("blue", "red"));
+        random.shuffle(colors);
+        players.get(0).setWorkerColor(colors.get(0));
+        players.get(1).setWorkerColor(colors.get(1));
+
+        TurnManager gm = layOut(random.split(), players.get(0));
+        openRecorder(GameRecordHeader.of(seed, board, players, timers));
+        if (recorder != null) gm.setRecorder(recorder, timers);
+        gm.startTurn();
+    }
+
+    /**
+     * Resumes a saved game where it was left: the board, gods, meters and clocks are restored
+     * to the start of the turn that was in progress, and the moves already made in that turn
+     * are played again. Resumed games are not recorded, as their record would lack the
+     * turns played before the save.
+     *
+     * @param snapshot the saved game
+     */
+    public void resumeGame(GameSnapshot snapshot) {
+        stopGame();
+
+        seed = snapshot.getSeed();
+        showSeed(seed);
+
+        List<GameTimer> restored = new ArrayList<>();
+        for (int i = 0; i < snapshot.getSeatCount(); i++) {
+            restored.add(DefaultPlayerTimer.withRemainingMillis(snapshot.getSeat(i).getClockMillis()));
+        }
+        timers = List.copyOf(restored);
+
+        createPlayers(snapshot.getSeatCount());
+        botSeats.clear();
+        for (Player player : players) {
+            GameSnapshot.Seat seat = snapshot.getSeat(player.getIndex());
+            player.setGodCard(GodCardFactory.create(seat.getGod()));
+            player.setWorkerColor(seat.getWorkerColor());
+            MeterStrategy meter = player.getMeter(MeterType.NATURE);
+            meter.adjust(seat.getMeter() - meter.getValue());
+            if (seat.isBot()) botSeats.add(player.getIndex());
+        }
+
+        board.initialize();
+        restoreBoard(snapshot.getBoard());
+
+        TurnManager gm = layOut(new GameRandom(seed).split(), players.get(snapshot.getToMove()));
+        for (Player player : players) {
+            ui.getEcoLabels().get(player).updateEcoLevel(player.getMeter(MeterType.NATURE).getValue());
+        }
+        gm.resumeTurn(snapshot.getEvents());
+    }
+
+    /**
+     * Saves the game in progress so it can be resumed with {@link #resumeGame(GameSnapshot)}.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     * @throws IllegalStateException if no game is in progress
+     */
+    public void saveGame(Path file) throws IOException {
+        if (turnManager == null || turnManager.getPhase() == TurnPhase.GAME_OVER) {
+            throw new IllegalStateException("No game in progress");
+        }
+        List<TurnEvent> events = turnManager.getTurnEvents();
+        GameSnapshot.Seat[] seats = new GameSnapshot.Seat[players.size()];
+        for (Player player : players) {
+            int index = player.getIndex();
+            seats[index] = new GameSnapshot.Seat(GodType.of(player.getGodCard()),
+                    turnManager.getTurnStartMeter(player), timers.get(index).getRemainingTimeMillis(),
+                    botSeats.contains(index), player.getWorkerColor());
+        }
+        GameSnapshot snapshot = new GameSnapshot(seed, turnManager.getTurnStartState(),
+                turnManager.getCurrentPlayer().getIndex(), seats,
+                events.isEmpty() ? TurnPhase.SELECT_WORKER : turnManager.getPhase(), events);
+
+        Path dir = file.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            snapshot.write(out);
+        }
+    }
+
+    /**
+     * Returns where games are saved: {@code santorini.ssav} in the save directory
+     * (the {@value #SAVE_DIR_PROPERTY} property, or {@code saves}).
+     *
+     * @return the save file
+     */
+    public static Path saveFile() {
+        return Path.of(System.getProperty(SAVE_DIR_PROPERTY, "saves"), "santorini.ssav");
+    }
+
+    /**
+     * Stops the previous game's bots, clocks and record and clears the screen.
+     */
+    private void stopGame() {
+        bots.forEach(EngineBot::shutdown);
+        bots.clear();
+        timers.forEach(GameTimer::pause); // disarm the previous game's clocks
+        closeRecorder();
+        turnManager = null;
+
+        players.clear();
+        container.removeAll();
+        container.setLayout(new BorderLayout());
+    }
+
+    /**
+     * Creates the players, each with a full nature meter.
+     *
+     * @param count the number of players
+     */
+    private void createPlayers(int count) {
+        for (int i = 0; i < count; i++) {
+            Player player = new Player("Player " + (i + 1), i);
             MeterStrategy natureMeter = new NatureMeter(0, 100);
             player.setMeter(MeterType.NATURE, natureMeter);
             players.add(player);
         }
+    }
 
-        // === Assign God Cards ===
-        GodCardPool pool = new GodCardPool(GodCardFactory.getDefaultGodCards());
-        GodCardAssigner assigner = new GodCardAssigner(pool);
-        assigner.assignTo(players);
+    /**
+     * Copies the buildings, block supply and workers of a saved board onto the freshly initialised
+     * board, along with the players' restored meters.
+     *
+     * @param saved the saved board state
+     */
+    private void restoreBoard(BoardState saved) {
+        BoardState state = board.getState();
+        for (int cell = 0; cell < saved.size(); cell++) {
+            for (int level = 0; level < saved.height(cell); level++) {
+                state.addBlock(cell);
+            }
+            if (saved.hasDome(cell)) state.addDome(cell);
+        }
+        int[] limits = new int[BlockSupply.DOME];
+        for (int block = 1; block <= BlockSupply.DOME; block++) {
+            limits[block - 1] = saved.getSupply().getLimit(block);
+        }
+        state.getSupply().setLimits(limits);
+
+        for (Player player : players) {
+            state.setMeter(player.getIndex(), player.getMeter(MeterType.NATURE).getValue());
+        }
+
+        // workers are registered in slot order, so each lands in the slot it was saved from
+        for (Player player : players) {
+            for (int n = 0; n < BoardState.WORKERS_PER_PLAYER; n++) {
+                int index = saved.workerCell(BoardState.slotOf(player.getIndex(), n));
+                if (index == BoardState.NO_CELL) continue;
+                Cell cell = board.getCell(index);
+                Worker worker = new Worker(player);
+                player.addWorker(worker);
+                worker.setCurrentCell(cell);
+                cell.setWorker(worker);
+            }
+        }
+    }
 
+    /**
+     * Builds the game screen around the board and creates the turn manager, with bots in their seats.
+     *
+     * @param uiRandom the random source for the board's decorations
+     * @param first    the player who moves first
+     * @return the turn manager, not yet started
+     */
+    private TurnManager layOut(GameRandom uiRandom, Player first) {
         // === Create Turn Label ===
-        JLabel turnLabel = new JLabel("Turn: " + players.get(0).getName(), JLabel.CENTER);
+        JLabel turnLabel = new JLabel("Turn: " + first.getName(), JLabel.CENTER);
         turnLabel.setFont(new Font("SansSerif", Font.BOLD, 16));
         turnLabel.setOpaque(true);
         turnLabel.setBackground(new Color(39,39,39));
@@ -80,25 +288,33 @@ public class Game {
             turnLabel.setFont(new Font("Monospaced", Font.BOLD, 22));
         }
 
+        JButton save = new JButton("Save");
+        DefaultButton.styleButton(save, DefaultButton.Style.MODAL_PROMPT);
+        save.addActionListener(e -> saveFromMenu());
+
+        JButton hint = new JButton("Hint");
+        DefaultButton.styleButton(hint, DefaultButton.Style.MODAL_PROMPT);
+        hint.addActionListener(e -> showHint());
+
+        JPanel actions = new JPanel(new GridLayout(1, 2));
+        actions.setOpaque(false);
+        actions.add(hint);
+        actions.add(save);
+
+        JPanel centerBar = new JPanel(new BorderLayout());
+        centerBar.setBackground(new Color(39,39,39));
+        centerBar.add(turnLabel, BorderLayout.CENTER);
+        centerBar.add(actions, BorderLayout.EAST);
+
         JPanel topBar = new JPanel(new BorderLayout());
         topBar.setBackground(new Color(39,39,39));
         TimerLabel timerLabel1 = new TimerLabel(timers.get(0), players.get(0).getName());
         TimerLabel timerLabel2 = new TimerLabel(timers.get(1), players.get(1).getName());
         topBar.add(timerLabel1, BorderLayout.WEST);
-        topBar.add(turnLabel, BorderLayout.CENTER);
+        topBar.add(centerBar, BorderLayout.CENTER);
         topBar.add(timerLabel2, BorderLayout.EAST);
         container.add(topBar, BorderLayout.NORTH);
 
-        // === Initialize Board and Place Workers ===
-        board.initialize();
-        placementStrategy.placeWorkers(board, players);
-
-        // === Randomly Assign Worker Colors ===
-        List<String> colors = new ArrayList<>(List.of("blue", "red"));
-        Collections.shuffle(colors);
-        players.get(0).setWorkerColor(colors.get(0));
-        players.get(1).setWorkerColor(colors.get(1));
-
         // === Initialize Board UI ===
         JLayeredPane layeredPane = new JLayeredPane();
         layeredPane.setPreferredSize(new Dimension(850, 500));
@@ -106,14 +322,12 @@ public class Game {
 
         layeredPane.setPreferredSize(new Dimension(850, 500));
 
-        ui = new BoardUI(board, layeredPane);
+        ui = new BoardUI(board, layeredPane, uiRandom);
         ui.setBounds(0, 0, 850, 541);
         ui.setGodCardInfo(players.get(0), players.get(1));
         ui.setTimers(players, timers);
         ui.setEcoMeters(players);
 
-        new TimeOutHandler(players, timers, app);
-
         // === Layout Center Panel ===
         layeredPane.add(ui, JLayeredPane.DEFAULT_LAYER);
         container.add(layeredPane, BorderLayout.CENTER);
@@ -136,9 +350,141 @@ public class Game {
         );
 
         // === Start Turn/timer Manager ===
+        // the turn manager rotates its own copy of the seating, starting with the first player
+        List<Player> order = new ArrayList<>(players);
+        Collections.rotate(order, -order.indexOf(first));
         TimerManager timerManager = new GameTimerManager(timers);
-        TurnManager gm = new TurnManager(players, board, ui, timerManager, buildObservers, loseConditions, app);
+        TurnManager gm = new TurnManager(order, board, ui, timerManager, buildObservers, loseConditions, app);
         gm.setTurnLabel(turnLabel);
-        gm.startTurn();
+        new TimeOutHandler(players, timers, gm);
+        for (int seat : botSeats) {
+            EngineBot bot = new EngineBot(timers.get(seat));
+            bot.setOpeningBook(book);
+            bots.add(bot);
+            gm.setBot(seat, bot);
+        }
+        turnManager = gm;
+        return gm;
+    }
+
+    /**
+     * Saves the game in progress to {@link #saveFile()} and tells the player how it went.
+     */
+    private void saveFromMenu() {
+        if (turnManager == null || turnManager.getPhase() == TurnPhase.GAME_OVER) {
+            ui.showToast("There is no game in progress to save.");
+            return;
+        }
+        Path file = saveFile();
+        try {
+            saveGame(file);
+            ui.showToast("Game saved.");
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(container, "Could not save the game: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Tells the player to move the opening book's turn for the current position, if it has one.
+     * Hints are given at the start of a human player's turn.
+     */
+    private void showHint() {
+        if (turnManager == null || turnManager.getPhase() != TurnPhase.SELECT_WORKER
+                || botSeats.contains(turnManager.getCurrentPlayer().getIndex())) {
+            ui.showToast("Hints are given at the start of your turn.");
+            return;
+        }
+        Position position = Position.from(board, players, turnManager.getCurrentPlayer());
+        int turn = book.probe(position);
+        if (turn == Turn.NO_TURN) {
+            ui.showToast("The opening book has no move here.");
+            return;
+        }
+
+        BoardState state = board.getState();
+        int from = state.workerCell(BoardState.slotOf(position.getToMove(), Turn.worker(turn)));
+        StringBuilder text = new StringBuilder("Book: move ").append(cellName(from))
+                .append(" to ").append(cellName(Turn.move(turn)));
+        if (Turn.move2(turn) != Turn.NONE) text.append(", then ").append(cellName(Turn.move2(turn)));
+        if (Turn.build(turn) != Turn.NONE) text.append(", build ").append(cellName(Turn.build(turn)));
+        if (Turn.build2(turn) != Turn.NONE) text.append(" and ").append(cellName(Turn.build2(turn)));
+        if (Turn.remove(turn) != Turn.NONE) text.append(", remove ").append(cellName(Turn.remove(turn)));
+        ui.showToast(text.toString());
+    }
+
+    /**
+     * Names a cell by column letter and row number, with A1 in the top left corner.
+     *
+     * @param cell the cell index
+     * @return the cell name
+     */
+    private String cellName(int cell) {
+        BoardState state = board.getState();
+        return (char) ('A' + state.col(cell)) + String.valueOf(state.row(cell) + 1);
+    }
+
+    /**
+     * Maps the opening book (the {@value #BOOK_PROPERTY} property, or {@code book/opening.book}).
+     * Games are played without a book if the file is missing or cannot be read.
+     *
+     * @return the book, or {@link OpeningBook#EMPTY}
+     */
+    private static OpeningBook loadBook() {
+        Path file = Path.of(System.getProperty(BOOK_PROPERTY, "book/opening.book"));
+        if (!Files.exists(file)) return OpeningBook.EMPTY;
+        try {
+            return OpeningBook.open(file);
+        } catch (IOException e) {
+            System.err.println("Opening book not loaded: " + e.getMessage());
+            return OpeningBook.EMPTY;
+        }
+    }
+
+    /**
+     * Shows the game seed in the window title, so the game can be replayed with
+     * {@code -Dsantorini.seed}.
+     *
+     * @param seed the game seed
+     */
+    private void showSeed(long seed) {
+        if (SwingUtilities.getWindowAncestor(container) instanceof Frame frame) {
+            frame.setTitle("Santorini - seed " + seed);
+        }
+    }
+
+    /**
+     * Starts recording the game to {@code <seed>-<time>.srec} in the record directory, if
+     * the {@value #RECORD_DIR_PROPERTY} property names one. The game is played unrecorded
+     * if the property is not set or the file cannot be created.
+     *
+     * @param header the opening of the game
+     */
+    private void openRecorder(GameRecordHeader header) {
+        String property = System.getProperty(RECORD_DIR_PROPERTY);
+        if (property == null) return;
+        Path dir = Path.of(property);
+        Path file = dir.resolve(header.getSeed() + "-" + System.currentTimeMillis() + ".srec");
+        try {
+            Files.createDirectories(dir);
+            // the writer buffers on its own, and the turn manager flushes it after every turn
+            recorder = new GameRecordWriter(Files.newOutputStream(file));
+            recorder.writeHeader(header);
+        } catch (IOException e) {
+            ui.showToast("This game is not being recorded: " + e.getMessage());
+            recorder = null;
+        }
+    }
+
+    /**
+     * Closes the game record.
+     */
+    private void closeRecorder() {
+        if (recorder == null) return;
+        try {
+            recorder.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        recorder = null;
     }
-}
\ No newline at end of file
+}
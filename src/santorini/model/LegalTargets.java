@@ -0,0 +1,209 @@
+package santorini.model;
+
+import santorini.model.actions.Action;
+import santorini.model.gods.GodCard;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * The set of cells a player may choose in the current phase of a turn, as a bit mask
+ * over {@link BoardState} cell indices.
+ * <p>
+ * Each phase (move, build, a god-power follow-up, removal) computes its targets once.
+ * The same value then drives highlighting, validates clicks and feeds the god-power
+ * prompts, so no legality work is repeated on the event thread. The static mask
+ * methods are also used by the engine's move generator, so bots and the UI agree on
+ * what is legal. Boards hold at most {@link BoardState#MAX_CELLS} cells, so one
+ * {@code long} covers every supported size.
+ * <p>
+ * Instances are immutable.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class LegalTargets {
+
+    /** No legal targets. */
+    public static final LegalTargets NONE = new LegalTargets(0L);
+
+    private final long mask;
+
+    private LegalTargets(long mask) {
+        this.mask = mask;
+    }
+
+    /**
+     * Wraps a mask of cell indices.
+     *
+     * @param mask the mask of legal cells
+     * @return the targets
+     */
+    public static LegalTargets of(long mask) {
+        return mask == 0 ? NONE : new LegalTargets(mask);
+    }
+
+    /**
+     * Collects the target cells of a list of actions, such as the options offered by a god power.
+     *
+     * @param actions the candidate actions
+     * @return the targets
+     */
+    public static LegalTargets of(List<Action> actions) {
+        long mask = 0;
+        for (Action action : actions) {
+            Cell cell = action.getTargetCell();
+            if (cell != null) mask |= 1L << cell.getIndex();
+        }
+        return of(mask);
+    }
+
+    /**
+     * Returns the cells a worker may move to.
+     *
+     * @param state the board state
+     * @param slot  the worker slot
+     * @return the move targets, or {@link #NONE} if the worker is not on the board
+     */
+    public static LegalTargets moves(BoardState state, int slot) {
+        int from = state.workerCell(slot);
+        return from == BoardState.NO_CELL ? NONE : of(state.moveTargets(from));
+    }
+
+    /**
+     * Returns the cells a worker may build on, including any extra cells its god allows.
+     *
+     * @param board  the game board
+     * @param worker the worker building
+     * @return the build targets
+     */
+    public static LegalTargets builds(Board board, Worker worker) {
+        BoardState state = board.getState();
+        Cell at = worker.getCurrentCell();
+        if (at == null) return NONE;
+
+        long mask = buildMask(state, at.getIndex(), false);
+        GodCard card = worker.getOwner().getGodCard();
+        if (card != null && card.getSpecialPower() != null) {
+            for (Cell cell : card.getSpecialPower().getAdditionalBuildCells(board, worker)) {
+                if (state.getSupply().hasBlockFor(cell.getIndex())) mask |= 1L << cell.getIndex();
+            }
+        }
+        return of(mask);
+    }
+
+    /**
+     * Returns the mask of cells a worker standing on a cell may build on: free neighbours
+     * (and optionally its own cell, below level 3) whose next piece is still in the supply.
+     *
+     * @param state      the board state
+     * @param at         the cell of the building worker
+     * @param buildUnder whether the worker may also build under itself
+     * @return the mask of buildable cells
+     */
+    public static long buildMask(BoardState state, int at, boolean buildUnder) {
+        long mask = state.buildTargets(at);
+        if (buildUnder && state.height(at) < BoardState.MAX_LEVEL) {
+            mask |= 1L << at;
+        }
+        BlockSupply supply = state.getSupply();
+        for (int block = 1; block <= BlockSupply.DOME; block++) {
+            if (supply.remaining(block) == 0) mask &= ~blockMask(state, block);
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the mask of cells whose next piece is the given block number.
+     */
+    private static long blockMask(BoardState state, int block) {
+        return switch (block) {
+            case 1 -> ~state.levelMask(1);
+            case 2 -> state.levelMask(1) & ~state.levelMask(2);
+            case 3 -> state.levelMask(2) & ~state.levelMask(3);
+            default -> state.levelMask(3);
+        };
+    }
+
+    /**
+     * Returns the underlying mask.
+     *
+     * @return the mask of legal cells
+     */
+    public long mask() {
+        return mask;
+    }
+
+    /**
+     * Checks whether a cell is a legal target.
+     *
+     * @param cell the cell index
+     * @return {@code true} if the cell may be chosen
+     */
+    public boolean contains(int cell) {
+        return ((mask >>> cell) & 1L) != 0;
+    }
+
+    /**
+     * Checks whether a cell is a legal target.
+     *
+     * @param cell the cell
+     * @return {@code true} if the cell may be chosen
+     */
+    public boolean contains(Cell cell) {
+        return cell != null && contains(cell.getIndex());
+    }
+
+    /**
+     * Returns these targets with one more cell.
+     *
+     * @param cell the cell index to add
+     * @return the extended targets
+     */
+    public LegalTargets with(int cell) {
+        return of(mask | 1L << cell);
+    }
+
+    /**
+     * Returns these targets without a cell.
+     *
+     * @param cell the cell index to remove
+     * @return the reduced targets
+     */
+    public LegalTargets without(int cell) {
+        return of(mask & ~(1L << cell));
+    }
+
+    /**
+     * Checks whether there is nothing to choose.
+     *
+     * @return {@code true} if no cell is legal
+     */
+    public boolean isEmpty() {
+        return mask == 0;
+    }
+
+    /**
+     * Returns the number of legal cells.
+     *
+     * @return the target count
+     */
+    public int size() {
+        return Long.bitCount(mask);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof LegalTargets other && other.mask == mask;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mask);
+    }
+
+    @Override
+    public String toString() {
+        return "LegalTargets" + Arrays.toString(Adjacency.indicesOf(mask));
+    }
+}
@@ -5,11 +5,25 @@ package santorini.model;
  * Represents a single level of a building in the Santorini game.
  * <p>
  * Levels are stacked to increase the height of a building, and their order
- * is determined by the {@code levelNumber} (0 to 3).
+ * is determined by the {@code levelNumber}, counted from 0 for the block on the ground
+ * to {@link BoardState#MAX_LEVEL} - 1 for the top level. A dome is not a level.
+ * <p>
+ * A level carries no state beyond its number, so one shared instance exists per
+ * number; obtain it with {@link #of(int)}. Buildings themselves only store a height in
+ * their {@link BoardState} and hand out these instances on request.
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
-public class Level {
+public final class Level {
+    private static final Level[] LEVELS = new Level[BoardState.MAX_LEVEL];
+
+    static {
+        for (int i = 0; i < LEVELS.length; i++) {
+            LEVELS[i] = new Level(i);
+        }
+    }
+
     private final int levelNumber;
 
     /**
@@ -17,16 +31,30 @@ public class Level {
      *
      * @param levelNumber the numeric height of the level (e.g., 0 for ground level, 1 for first floor, etc.)
      */
-    public Level(int levelNumber) {
+    private Level(int levelNumber) {
         this.levelNumber = levelNumber;
     }
 
+    /**
+     * Returns the shared level with the specified level number.
+     *
+     * @param levelNumber the position of the level from the bottom (0 to 2)
+     * @return the level
+     * @throws IllegalArgumentException if the number is out of range
+     */
+    public static Level of(int levelNumber) {
+        if (levelNumber < 0 || levelNumber >= LEVELS.length) {
+            throw new IllegalArgumentException("Invalid level: " + levelNumber);
+        }
+        return LEVELS[levelNumber];
+    }
+
     /**
      * Returns the numeric level of this building segment.
      *
-     * @return the level number (0 to 3)
+     * @return the level number (0 to 2)
      */
     public int getLevelNumber() {
         return levelNumber;
     }
-}
\ No newline at end of file
+}
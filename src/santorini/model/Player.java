@@ -19,6 +19,7 @@ import java.util.Map;
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
  * Modified by: Ubaid Irfan (Sprint 3 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
 public class Player {
     private String name;
@@ -78,20 +79,7 @@ public class Player {
      * @param w the active worker
      */
     public void highlightMovableCells(Board B, Worker w) {
-        Cell currentCell = w.getCurrentCell();
-        List<Cell> adjacentCells = B.getNeighbourCells(currentCell);
-
-        for (int j = 0; j < adjacentCells.size(); j++) {
-            Cell neighbor = adjacentCells.get(j);
-            int fromHeight = w.getCurrentCell().getBuilding().getHeight();
-            int toHeight = neighbor.getBuilding().getHeight();
-
-            if (!neighbor.getIsOccupied()
-                    && !neighbor.hasDome()
-                    && (toHeight - fromHeight) <= 1) {
-                B.highlightCell(neighbor.getX(), neighbor.getY());
-            }
-        }
+        B.setLegalTargets(LegalTargets.moves(B.getState(), w.getSlot()));
     }
 
 
@@ -99,33 +87,14 @@ public class Player {
      * Highlights valid cells where the specified worker can build.
      * <p>
      * Valid cells must be adjacent, unoccupied, without a dome,
-     * and with a building height less than 4.
+     * and the block supply must still hold the piece the cell needs next.
      * Additionally, it checks for any extra buildable cells provided by the god card's special power.
      *
      * @param board  the game board
      * @param worker the active worker
      */
     public void highlightBuildableCells(Board board, Worker worker) {
-        Cell currentCell = worker.getCurrentCell();
-        List<Cell> adjacentCells = board.getNeighbourCells(currentCell);
-
-        // by default, highlight normal buildable adjacent cells
-        for (Cell neighbor : adjacentCells) {
-            if (!neighbor.getIsOccupied()
-                    && !neighbor.hasDome()
-                    && neighbor.getBuilding().getHeight() < 4) {
-                board.highlightCell(neighbor.getX(), neighbor.getY());
-            }
-        }
-
-        //ask god power for extra valid build cells
-        GodCard godCard = this.getGodCard();
-        if (godCard != null && godCard.getSpecialPower() != null) {
-            List<Cell> extraCells = godCard.getSpecialPower().getAdditionalBuildCells(board, worker);
-            for (Cell cell : extraCells) {
-                board.highlightCell(cell.getX(), cell.getY());
-            }
-        }
+        board.setLegalTargets(LegalTargets.builds(board, worker));
     }
 
     /**
@@ -0,0 +1,123 @@
+package santorini.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * The eight symmetries of a square board (four rotations and four reflections).
+ * <p>
+ * Santorini's rules do not depend on orientation, so positions that differ only by one
+ * of these transforms have the same value and the same best turns (with the cells
+ * mapped). {@link BoardState} keeps a hash per symmetry so the canonical form of a
+ * position (the transform giving the smallest hash) is available in constant time.
+ * On non-square boards only the transforms that keep the row and column counts apply.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public enum Symmetry {
+    IDENTITY,
+    ROTATE_90,
+    ROTATE_180,
+    ROTATE_270,
+    MIRROR_COLUMNS,
+    MIRROR_ROWS,
+    TRANSPOSE,
+    ANTI_TRANSPOSE;
+
+    /** Number of symmetries. */
+    public static final int COUNT = 8;
+
+    private static final Symmetry[] VALUES = values();
+    private static final Map<Integer, int[][]> MAPS = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the symmetry with the given ordinal.
+     *
+     * @param ordinal the ordinal (0 to 7)
+     * @return the symmetry
+     */
+    public static Symmetry of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Returns the transform that undoes this one.
+     *
+     * @return the inverse symmetry
+     */
+    public Symmetry inverse() {
+        return switch (this) {
+            case ROTATE_90 -> ROTATE_270;
+            case ROTATE_270 -> ROTATE_90;
+            default -> this;
+        };
+    }
+
+    /**
+     * Checks whether the transform maps a board of the given size onto itself.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @return {@code true} if the transform applies
+     */
+    public boolean appliesTo(int rows, int cols) {
+        return rows == cols || switch (this) {
+            case IDENTITY, ROTATE_180, MIRROR_COLUMNS, MIRROR_ROWS -> true;
+            default -> false;
+        };
+    }
+
+    /**
+     * Returns where a cell ends up under this transform.
+     *
+     * @param cell the cell index
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @return the transformed cell index
+     * @throws IllegalArgumentException if the transform does not apply to the board size
+     */
+    public int apply(int cell, int rows, int cols) {
+        if (!appliesTo(rows, cols)) {
+            throw new IllegalArgumentException(this + " does not apply to " + rows + "x" + cols);
+        }
+        int r = cell / cols;
+        int c = cell % cols;
+        int lastRow = rows - 1;
+        int lastCol = cols - 1;
+        return switch (this) {
+            case IDENTITY -> r * cols + c;
+            case ROTATE_90 -> c * cols + (lastRow - r);
+            case ROTATE_180 -> (lastRow - r) * cols + (lastCol - c);
+            case ROTATE_270 -> (lastCol - c) * cols + r;
+            case MIRROR_COLUMNS -> r * cols + (lastCol - c);
+            case MIRROR_ROWS -> (lastRow - r) * cols + c;
+            case TRANSPOSE -> c * cols + r;
+            case ANTI_TRANSPOSE -> (lastCol - c) * cols + (lastRow - r);
+        };
+    }
+
+    /**
+     * Returns the cell maps of every symmetry for a board size, indexed by ordinal.
+     * Entries for transforms that do not apply to the size are {@code null}.
+     * The arrays are cached and shared; callers must not modify them.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @return the cell maps
+     */
+    public static int[][] cellMaps(int rows, int cols) {
+        return MAPS.computeIfAbsent(rows * 1000 + cols, key -> {
+            int[][] maps = new int[COUNT][];
+            for (Symmetry symmetry : VALUES) {
+                if (!symmetry.appliesTo(rows, cols)) continue;
+                int[] map = new int[rows * cols];
+                for (int cell = 0; cell < map.length; cell++) {
+                    map[cell] = symmetry.apply(cell, rows, cols);
+                }
+                maps[symmetry.ordinal()] = map;
+            }
+            return maps;
+        });
+    }
+}
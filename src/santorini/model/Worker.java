@@ -14,6 +14,7 @@ public class Worker {
     private Cell currentCell;
     private Cell previousCell;
     private Boolean canMove;
+    private int slot = -1;
 
     /**
      * Constructs a worker belonging to the specified player.
@@ -62,6 +63,24 @@ public class Worker {
         return owner;
     }
 
+    /**
+     * Returns the slot this worker occupies in the board's {@link BoardState}.
+     *
+     * @return the worker slot, or {@code -1} if it has never been placed on a board
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    /**
+     * Sets the slot this worker occupies in the board's {@link BoardState}.
+     *
+     * @param slot the worker slot
+     */
+    void setSlot(int slot) {
+        this.slot = slot;
+    }
+
     /**
      * Sets the player who owns this worker.
      *
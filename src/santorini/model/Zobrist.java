@@ -0,0 +1,159 @@
+package santorini.model;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Random 64-bit keys for Zobrist hashing of {@link BoardState} positions.
+ * <p>
+ * A position's hash is the XOR of one key per building level and dome on each cell,
+ * one key per worker (by owning player and cell), a key for the side to move and a
+ * key for each player's nature-meter bucket. Because every feature has its own key,
+ * the hash is updated incrementally by XOR-ing keys in and out as the state changes.
+ * Keys come from a fixed seed so hashes are stable across runs.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class Zobrist {
+
+    /** Nature meter points per hashed bucket; every build and removal changes a meter by a multiple of this. */
+    public static final int METER_BUCKET_SIZE = 5;
+
+    /** Number of meter buckets, covering meter values 0 to 100. */
+    public static final int METER_BUCKETS = 100 / METER_BUCKET_SIZE + 1;
+
+    private static final long SEED = 0x5A4E70121L;
+
+    private static final long[][] LEVEL = new long[BoardState.MAX_LEVEL + 1][BoardState.MAX_CELLS];
+    private static final long[] DOME = new long[BoardState.MAX_CELLS];
+    private static final long[][] WORKER = new long[BoardState.MAX_PLAYERS][BoardState.MAX_CELLS];
+    private static final long[] SIDE = new long[BoardState.MAX_PLAYERS];
+    private static final long[][] METER = new long[BoardState.MAX_PLAYERS][METER_BUCKETS];
+
+    /** Feature number of a dome in {@link #symmetryKeys(int, int)}; levels 1 to 3 are features 0 to 2. */
+    static final int DOME_FEATURE = BoardState.MAX_LEVEL;
+
+    /** Feature number of player 0's workers in {@link #symmetryKeys(int, int)}; player p is this plus p. */
+    static final int WORKER_FEATURE = DOME_FEATURE + 1;
+
+    private static final int FEATURES = WORKER_FEATURE + BoardState.MAX_PLAYERS;
+    private static final Map<Integer, long[]> SYMMETRY_KEYS = new ConcurrentHashMap<>();
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int level = 1; level <= BoardState.MAX_LEVEL; level++) {
+            fill(random, LEVEL[level]);
+        }
+        fill(random, DOME);
+        for (long[] keys : WORKER) fill(random, keys);
+        fill(random, SIDE);
+        for (long[] keys : METER) fill(random, keys);
+    }
+
+    private Zobrist() {
+    }
+
+    private static void fill(SplittableRandom random, long[] keys) {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns the cell keys of a board size as seen through every {@link Symmetry}, laid
+     * out so that the eight keys of a feature on a cell are contiguous, starting at
+     * {@code (feature * rows * cols + cell) * Symmetry.COUNT}. Transforms that do not apply
+     * to the size repeat the untransformed key. The arrays are cached and shared.
+     *
+     * @param rows the number of rows
+     * @param cols the number of columns
+     * @return the key table
+     */
+    static long[] symmetryKeys(int rows, int cols) {
+        return SYMMETRY_KEYS.computeIfAbsent(rows * 1000 + cols, key -> {
+            int size = rows * cols;
+            int[][] maps = Symmetry.cellMaps(rows, cols);
+            long[] keys = new long[FEATURES * size * Symmetry.COUNT];
+            for (int feature = 0; feature < FEATURES; feature++) {
+                for (int cell = 0; cell < size; cell++) {
+                    for (int t = 0; t < Symmetry.COUNT; t++) {
+                        int mapped = maps[t] != null ? maps[t][cell] : cell;
+                        keys[(feature * size + cell) * Symmetry.COUNT + t] = featureKey(feature, mapped);
+                    }
+                }
+            }
+            return keys;
+        });
+    }
+
+    private static long featureKey(int feature, int cell) {
+        if (feature < DOME_FEATURE) return LEVEL[feature + 1][cell];
+        if (feature == DOME_FEATURE) return DOME[cell];
+        return WORKER[feature - WORKER_FEATURE][cell];
+    }
+
+    /**
+     * Returns the key of a building level on a cell.
+     *
+     * @param level the level (1 to 3)
+     * @param cell  the cell index
+     * @return the key
+     */
+    public static long level(int level, int cell) {
+        return LEVEL[level][cell];
+    }
+
+    /**
+     * Returns the key of a dome on a cell.
+     *
+     * @param cell the cell index
+     * @return the key
+     */
+    public static long dome(int cell) {
+        return DOME[cell];
+    }
+
+    /**
+     * Returns the key of a player's worker standing on a cell.
+     *
+     * @param player the owning player index
+     * @param cell   the cell index
+     * @return the key
+     */
+    public static long worker(int player, int cell) {
+        return WORKER[player][cell];
+    }
+
+    /**
+     * Returns the key of a player being the side to move.
+     *
+     * @param player the player index
+     * @return the key
+     */
+    public static long side(int player) {
+        return SIDE[player];
+    }
+
+    /**
+     * Returns the key of a player's nature meter being in a bucket.
+     *
+     * @param player the player index
+     * @param bucket the meter bucket (see {@link #bucketOf(int)})
+     * @return the key
+     */
+    public static long meter(int player, int bucket) {
+        return METER[player][bucket];
+    }
+
+    /**
+     * Returns the hashed bucket of a nature meter value.
+     *
+     * @param value the meter value
+     * @return the bucket, clamped to {@code 0..METER_BUCKETS - 1}
+     */
+    public static int bucketOf(int value) {
+        return Math.max(0, Math.min(METER_BUCKETS - 1, value / METER_BUCKET_SIZE));
+    }
+}
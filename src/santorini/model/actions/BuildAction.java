@@ -8,10 +8,12 @@ import java.util.List;
 /**
  * Represents a build action in the Santorini game.
  * <p>
- * This action attempts to construct a level or dome on a valid, unoccupied neighboring cell.
+ * This action attempts to construct a level or dome on a valid, unoccupied neighboring cell,
+ * provided the {@link BlockSupply} still holds the piece it needs.
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
  * Modified by: Ubaid Irfan (Sprint 3 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
 public class BuildAction extends Action {
 
@@ -33,7 +35,7 @@ public class BuildAction extends Action {
     /**
      * Executes the build action if it is legal.
      * <p>
-     * Adds a level to the target cell or a dome if the height is already at 4.
+     * Adds a level to the target cell, or a dome if it already has three levels.
      *
      * @return {@code true} if the build was successful; {@code false} otherwise
      */
@@ -43,12 +45,7 @@ public class BuildAction extends Action {
             return false;
         }
 
-        Building building = targetCell.getBuilding();
-        if (building.getHeight() < 4) {
-            building.addLevel();
-        } else if (!building.hasDome()) {
-            building.addDome(targetCell, board);
-        }
+        board.getState().addBlock(targetCell.getIndex());
         return true;
     }
 
@@ -65,8 +62,11 @@ public class BuildAction extends Action {
             return false;
         }
 
-        boolean isAdjacent = board.getNeighbourCells(from).contains(targetCell);
-        boolean isCurrentCell = targetCell.equals(from);
+        BoardState state = board.getState();
+        int fromIndex = from.getIndex();
+        int targetIndex = targetCell.getIndex();
+        boolean isAdjacent = state.isAdjacent(fromIndex, targetIndex);
+        boolean isCurrentCell = fromIndex == targetIndex;
 
         if (!isAdjacent && !isCurrentCell) {
             fail("Target cell is not adjacent or current.");
@@ -74,7 +74,7 @@ public class BuildAction extends Action {
         }
 
         //check if building on occupied cells is allowed
-        boolean canBuildHere = !targetCell.getIsOccupied() ||
+        boolean canBuildHere = !state.isOccupied(targetIndex) ||
                 worker.getOwner().getGodCard().getSpecialPower().canBuildOnOccupiedCell(targetCell, worker);
 
         if (!canBuildHere) {
@@ -82,11 +82,18 @@ public class BuildAction extends Action {
             return false;
         }
 
-        if (targetCell.getBuilding().getHeight() >= 4) {
+        if (state.hasDome(targetIndex)) {
             fail("Cell has a dome.");
             return false;
         }
 
+        BlockSupply supply = state.getSupply();
+        if (!supply.hasBlockFor(targetIndex)) {
+            int block = state.blockCount(targetIndex) + 1;
+            fail("Limit of " + supply.getLimit(block) + " " + BlockSupply.nameOf(block) + "s reached.");
+            return false;
+        }
+
         return true;
     }
 
@@ -94,12 +94,7 @@ public class MoveAction extends Action {
         Cell from = worker.getCurrentCell();
         if (from == null || dest == null) return false;
 
-        if (!board.getNeighbourCells(from).contains(dest)) return false;
-        if (dest.getIsOccupied()) return false;
-        if (dest.hasDome() || dest.getBuilding().getHeight() >= 4) return false;
-        if (dest.getBuilding().getHeight() - from.getBuilding().getHeight() > 1) return false;
-
-        return true;
+        return board.getState().canMove(from.getIndex(), dest.getIndex());
     }
 }
 
@@ -61,13 +61,14 @@ public class RemoveBuildAction extends Action {
     public boolean isLegal() {
         if (targetCell == null || worker == null) return false;
 
-        Cell from = worker.getCurrentCell();
-        boolean isAdjacentOrSame = board.getNeighbourCells(from).contains(targetCell) || targetCell.equals(from);
+        BoardState state = board.getState();
+        int from = worker.getCurrentCell().getIndex();
+        int target = targetCell.getIndex();
+        boolean isAdjacentOrSame = state.isAdjacent(from, target) || target == from;
 
         if (!isAdjacentOrSame) return false;
 
-        Building b = targetCell.getBuilding();
-        return b.getHeight() > 0 || targetCell.hasDome();
+        return state.blockCount(target) > 0;
     }
 
     /**
@@ -1,5 +1,7 @@
 package santorini.model.gods;
 
+import santorini.model.Board;
+import santorini.model.BoardState;
 import santorini.model.Cell;
 import santorini.model.actions.Action;
 import santorini.model.actions.ActionType;
@@ -41,21 +43,16 @@ public class ArtemisPower extends SpecialPower {
         if (action.getType() == ActionType.MOVE) {
             MoveAction m = (MoveAction) action;
 
+            Board board = action.getBoard();
+            BoardState state = board.getState();
             Cell current = m.getTargetCell();
             Cell original = m.getSourceCell();
 
-            for (Cell neighbour : action.getBoard().getNeighbourCells(current)) {
-                if (!neighbour.equals(original)
-                        && !neighbour.getIsOccupied()
-                        && neighbour.getBuilding().getHeight() <= current.getBuilding().getHeight() + 1) {
-
-                    poweredMoves.add(new MoveAction(
-                            action.getBoard(),
-                            action.getPlayers(),
-                            action.getWorker(),
-                            neighbour
-                    ));
-                }
+            // only legal second moves become actions; the state filters height, domes and workers
+            long targets = state.moveTargets(current.getIndex()) & ~(1L << original.getIndex());
+            for (; targets != 0; targets &= targets - 1) {
+                Cell neighbour = board.getCell(Long.numberOfTrailingZeros(targets));
+                poweredMoves.add(new MoveAction(board, action.getPlayers(), action.getWorker(), neighbour));
             }
         }
 
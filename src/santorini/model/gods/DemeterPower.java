@@ -17,6 +17,7 @@ import java.util.List;
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
  * Modified by: Ubaid Irfan (Sprint 3 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
 public class DemeterPower extends SpecialPower {
 
@@ -45,14 +46,14 @@ public class DemeterPower extends SpecialPower {
             Worker worker = action.getWorker();
             Board board = action.getBoard();
 
-            List<Cell> neighbours = board.getNeighbourCells(worker.getCurrentCell());
-
-            for (Cell cell : neighbours) {
-                if (!cell.equals(firstBuildCell)
-                        && !cell.getIsOccupied()
-                        && cell.getBuilding().getHeight() < 4) {
-                    modifiedActions.add(new BuildAction(board, action.getPlayers(), worker, cell));
-                }
+            BoardState state = board.getState();
+            long targets = state.buildTargets(worker.getCurrentCell().getIndex())
+                    & ~(1L << firstBuildCell.getIndex());
+            for (; targets != 0; targets &= targets - 1) {
+                int index = Long.numberOfTrailingZeros(targets);
+                if (!state.getSupply().hasBlockFor(index)) continue;
+                Cell cell = board.getCell(index);
+                modifiedActions.add(new BuildAction(board, action.getPlayers(), worker, cell));
             }
         }
 
@@ -37,12 +37,12 @@ public class GaiaPower extends SpecialPower {
         Player player = worker.getOwner();
         Board board = action.getBoard();
 
+        BoardState state = board.getState();
         List<Action> removes = new ArrayList<>();
-        for (Cell cell : board.getNeighbourCells(worker.getCurrentCell())) {
-            Building b = cell.getBuilding();
-            if (b.getHeight() > 0 || cell.hasDome()) {
-                removes.add(new RemoveBuildAction(board, List.of(player), worker, cell));
-            }
+        long targets = state.getAdjacency().mask(worker.getCurrentCell().getIndex()) & builtMask(state);
+        for (; targets != 0; targets &= targets - 1) {
+            Cell cell = board.getCell(Long.numberOfTrailingZeros(targets));
+            removes.add(new RemoveBuildAction(board, List.of(player), worker, cell));
         }
         return removes;
     }
@@ -68,22 +68,27 @@ public class GaiaPower extends SpecialPower {
     @Override
     public List<Action> getRemoveOptions(Board board, List<Player> players, Worker worker) {
         List<Action> options = new ArrayList<>();
-
-        // Include adjacent cells
-        for (Cell nbr : board.getNeighbourCells(worker.getCurrentCell())) {
-            Action a = new RemoveBuildAction(board, players, worker, nbr);
-            if (a.isLegal()) options.add(a);
-        }
-
-        // Also allow removing from the worker's own cell
         Cell ownCell = worker.getCurrentCell();
-        if (ownCell != null) {
-            Action selfRemove = new RemoveBuildAction(board, players, worker, ownCell);
-            if (selfRemove.isLegal()) options.add(selfRemove);
+        if (ownCell == null) return options;
+
+        // adjacent cells plus the worker's own cell, keeping only cells that have a block
+        BoardState state = board.getState();
+        int own = ownCell.getIndex();
+        long targets = (state.getAdjacency().mask(own) | (1L << own)) & builtMask(state);
+        for (; targets != 0; targets &= targets - 1) {
+            Cell cell = board.getCell(Long.numberOfTrailingZeros(targets));
+            options.add(new RemoveBuildAction(board, players, worker, cell));
         }
 
         return options;
     }
 
+    /**
+     * Returns the mask of cells holding at least one block or a dome.
+     */
+    private static long builtMask(BoardState state) {
+        return state.levelMask(1) | state.domeMask();
+    }
+
 
 }
\ No newline at end of file
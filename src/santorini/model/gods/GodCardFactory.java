@@ -7,6 +7,7 @@ import java.util.function.Supplier;
  * Factory class to provide a default set of god cards for the Santorini game.
  *
  * Author: Ubaid Irfan (Sprint 3 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
 public class GodCardFactory {
 
@@ -25,4 +26,20 @@ public class GodCardFactory {
                 GaiaCard::new
         );
     }
+
+    /**
+     * Creates a new card of the given god from the default set.
+     *
+     * @param type the god
+     * @return a new card, or {@code null} for {@link GodType#NONE}
+     * @throws IllegalArgumentException if the default set has no such god
+     */
+    public static GodCard create(GodType type) {
+        if (type == GodType.NONE) return null;
+        for (Supplier<GodCard> supplier : getDefaultGodCards()) {
+            GodCard card = supplier.get();
+            if (GodType.of(card) == type) return card;
+        }
+        throw new IllegalArgumentException("No default card for " + type);
+    }
 }
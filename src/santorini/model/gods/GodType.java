@@ -0,0 +1,42 @@
+package santorini.model.gods;
+
+/**
+ * Enum identifying each god power by its rule behaviour.
+ * <p>
+ * Used by headless code (search, simulation, records) that needs to branch on a
+ * player's god without going through {@link SpecialPower} objects.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public enum GodType {
+    /** No god power. */
+    NONE,
+
+    /** May move one additional time, but not back to the initial space. */
+    ARTEMIS,
+
+    /** May build one additional time, but not on the same space. */
+    DEMETER,
+
+    /** May build a block under itself. */
+    ZEUS,
+
+    /** May remove an existing block after building. */
+    GAIA;
+
+    /**
+     * Returns the god type of a card.
+     *
+     * @param card the god card, may be {@code null}
+     * @return the matching {@code GodType}, or {@link #NONE} if the card is unknown
+     */
+    public static GodType of(GodCard card) {
+        if (card == null) return NONE;
+        SpecialPower power = card.getSpecialPower();
+        if (power instanceof ArtemisPower) return ARTEMIS;
+        if (power instanceof DemeterPower) return DEMETER;
+        if (power instanceof ZeusPower) return ZEUS;
+        if (power instanceof GaiaPower) return GAIA;
+        return NONE;
+    }
+}
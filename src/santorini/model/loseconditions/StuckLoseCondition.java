@@ -1,18 +1,18 @@
 package santorini.model.loseconditions;
 
-import java.util.List;
 import santorini.model.*;
 import santorini.model.Player;
-import santorini.model.Worker;
 
 
 /**
  * Represents a standard lose condition where a player has no legal moves.
  * <p>
  * This condition checks if all of a player's workers are stuck (i.e., unable to move
- * to any adjacent valid cell).
+ * to any adjacent valid cell). The board keeps each worker's mobility up to date as
+ * cells change, so the check is a constant-time read rather than a neighbour scan.
  *
  * Author: FIT3077 Team Santorinians (005) (Sprint 2 implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
 public class StuckLoseCondition implements LoseCondition {
 
@@ -25,24 +25,6 @@ public class StuckLoseCondition implements LoseCondition {
      */
     @Override
     public boolean loseCheck(Player P, Board B) {
-        List<Worker> workers = P.getWorkers();
-
-        for (int i = 0; i < workers.size(); i++) {
-            Worker w = workers.get(i);
-            Cell currentCell = w.getCurrentCell();
-            List<Cell> adjacentCells = B.getNeighbourCells(currentCell);
-
-            for (int j = 0; j < adjacentCells.size(); j++) {
-                Cell neighbor = adjacentCells.get(j);
-                int fromHeight = currentCell.getBuilding().getHeight();
-                int toHeight = neighbor.getBuilding().getHeight();
-
-                if (neighbor.getWorker() == null && toHeight <= fromHeight + 1 && !neighbor.hasDome()) {
-                    return false; // At least one move is possible
-                }
-            }
-        }
-
-        return true; // All workers are stuck
+        return B.getState().isStuck(P.getIndex());
     }
 }
\ No newline at end of file
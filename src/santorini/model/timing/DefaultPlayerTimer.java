@@ -1,66 +1,91 @@
 package santorini.model.timing;
 
 import javax.swing.*;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * This class implements GameTimer interface to provide a default countdown timer with start/pause/resume functionality.
- * It tracks the remaining time in seconds and allows setting a timeout action to be executed when the timer runs out.
+ * It tracks the remaining time and allows setting a timeout action to be executed when the timer runs out.
+ * <p>
+ * Time is measured with {@link System#nanoTime()}. While the timer runs, a single deadline task is armed on a
+ * shared scheduler (see {@link TimerScheduler}) and cancelled on pause, so timeouts fire on time without a
+ * polling thread per timer.
  *
  * Author: Ubaid Irfan (Sprint 3 Implementation)
+ * Modified by: Ubaid Irfan (Sprint 4 implementation)
  */
 public class DefaultPlayerTimer implements GameTimer {
-    private final int initialTimeSeconds;
-    private int remainingSeconds;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final ScheduledExecutorService scheduler;
+    private long remainingNanos;
     private boolean isRunning = false;
     private long lastStartTime;
+    private long generation;
+    private ScheduledFuture<?> deadline;
     private Runnable onTimeout;
 
     /**
-     * Constructs a DefaultPlayerTimer with a specified initial time in seconds.
-     * @param minutes
+     * Constructs a DefaultPlayerTimer with a specified initial time, using the shared clock scheduler.
+     *
+     * @param minutes the initial time in minutes
      */
     public DefaultPlayerTimer(int minutes) {
-        this.initialTimeSeconds = minutes * 60;
-        this.remainingSeconds = initialTimeSeconds;
+        this(minutes, TimerScheduler.shared());
+    }
+
+    /**
+     * Constructs a DefaultPlayerTimer with a specified initial time and the scheduler that fires its timeout.
+     *
+     * @param minutes   the initial time in minutes
+     * @param scheduler the scheduler on which the timeout deadline is armed
+     */
+    public DefaultPlayerTimer(int minutes, ScheduledExecutorService scheduler) {
+        this(scheduler, TimeUnit.MINUTES.toNanos(minutes));
+    }
+
+    private DefaultPlayerTimer(ScheduledExecutorService scheduler, long remainingNanos) {
+        this.remainingNanos = remainingNanos;
+        this.scheduler = scheduler;
     }
 
     /**
-     * Starts the timer if not already running.
-     * <p>A background thread periodically checks if the timer has expired and invokes the timeout action if set.</p>
+     * Creates a paused timer with a given amount of time left, such as a clock restored from a saved game.
+     *
+     * @param millis the remaining time in milliseconds
+     * @return the timer, using the shared clock scheduler
+     */
+    public static DefaultPlayerTimer withRemainingMillis(long millis) {
+        return new DefaultPlayerTimer(TimerScheduler.shared(), TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    /**
+     * Starts the timer if not already running, arming a deadline for the remaining time.
      */
     @Override
-    public void start() {
-        if (!isRunning) {
-            lastStartTime = System.currentTimeMillis();
-            isRunning = true;
-
-            new Thread(() -> {
-                while (isRunning && getRemainingTimeSeconds() > 0) {
-                    try {
-                        Thread.sleep(500);
-                    } catch (InterruptedException ignored) {}
-                }
-                if (isRunning && getRemainingTimeSeconds() <= 0) {
-                    isRunning = false;
-                    if (onTimeout != null) {
-                        SwingUtilities.invokeLater(onTimeout);
-                    }
-
-                }
-            }).start();
-        }
+    public synchronized void start() {
+        if (isRunning || remainingNanos <= 0) return;
+
+        lastStartTime = System.nanoTime();
+        isRunning = true;
+        long armed = ++generation;
+        deadline = scheduler.schedule(() -> expire(armed), remainingNanos, TimeUnit.NANOSECONDS);
     }
 
     /**
-     * Pauses the timer and updates remaining time.
+     * Pauses the timer, updates the remaining time and cancels the pending deadline.
      */
     @Override
-    public void pause() {
-        if (isRunning) {
-            long now = System.currentTimeMillis();
-            remainingSeconds = getRemainingTimeSeconds();
-            isRunning = false;
-        }
+    public synchronized void pause() {
+        if (!isRunning) return;
+
+        remainingNanos = remainingNanos();
+        isRunning = false;
+        generation++;
+        deadline.cancel(false);
+        deadline = null;
     }
 
     /**
@@ -72,19 +97,23 @@ public class DefaultPlayerTimer implements GameTimer {
     }
 
     /**
-     * Returns the remaining time in seconds.
-     * If the timer is running, it calculates the elapsed time since the last start.
+     * Returns the remaining time in seconds, rounded up so the display reaches 0 only at the timeout.
      *
      * @return remaining time in seconds
      */
     @Override
     public int getRemainingTimeSeconds() {
-        if (isRunning) {
-            long now = System.currentTimeMillis();
-            int elapsed = (int) ((now - lastStartTime) / 1000);
-            return Math.max(remainingSeconds - elapsed, 0);
-        }
-        return Math.max(remainingSeconds, 0);
+        return (int) ((getRemainingTimeMillis() + 999) / 1000);
+    }
+
+    /**
+     * Returns the remaining time in milliseconds.
+     *
+     * @return remaining time in milliseconds
+     */
+    @Override
+    public synchronized long getRemainingTimeMillis() {
+        return remainingNanos() / NANOS_PER_MILLI;
     }
 
     /**
@@ -93,9 +122,30 @@ public class DefaultPlayerTimer implements GameTimer {
      * @param action the action to execute on timeout
      */
     @Override
-    public void setOnTimeout(Runnable action) {
+    public synchronized void setOnTimeout(Runnable action) {
         this.onTimeout = action;
     }
 
-}
+    private long remainingNanos() {
+        if (!isRunning) return Math.max(remainingNanos, 0);
+        return Math.max(remainingNanos - (System.nanoTime() - lastStartTime), 0);
+    }
 
+    /**
+     * Runs on the scheduler thread when a deadline is reached. A deadline from an earlier
+     * start that was already cancelled by a pause is ignored.
+     */
+    private void expire(long armed) {
+        Runnable action;
+        synchronized (this) {
+            if (!isRunning || armed != generation) return;
+            isRunning = false;
+            remainingNanos = 0;
+            deadline = null;
+            action = onTimeout;
+        }
+        if (action != null) {
+            SwingUtilities.invokeLater(action);
+        }
+    }
+}
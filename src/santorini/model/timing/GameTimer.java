@@ -11,5 +11,6 @@ public interface GameTimer {
     void pause();
     void resume();
     int getRemainingTimeSeconds();
+    long getRemainingTimeMillis();
     void setOnTimeout(Runnable action);
 }
@@ -0,0 +1,41 @@
+package santorini.model.timing;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+
+
+/**
+ * Holds the single scheduler thread shared by every game clock in the process.
+ * <p>
+ * Clocks arm one deadline task here while running and cancel it when paused, so any
+ * number of clocks costs one thread and no polling. Cancelled tasks are removed from
+ * the queue straight away, keeping pause/resume cycles from piling up stale deadlines.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class TimerScheduler {
+
+    private static final ScheduledExecutorService SHARED = create();
+
+    private TimerScheduler() {
+    }
+
+    /**
+     * Returns the process-wide clock scheduler.
+     *
+     * @return the shared scheduler
+     */
+    public static ScheduledExecutorService shared() {
+        return SHARED;
+    }
+
+    private static ScheduledExecutorService create() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "santorini-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+}
@@ -0,0 +1,179 @@
+package santorini.record;
+
+import santorini.engine.Position;
+import santorini.model.Board;
+import santorini.model.BoardState;
+import santorini.model.Player;
+import santorini.model.gods.GodType;
+import santorini.model.timing.GameTimer;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * The opening of a recorded game: the seed, board size, each player's god card, where
+ * the workers were placed and how much time each clock started with.
+ * <p>
+ * Together with the recorded turns this is everything needed to rebuild any position of
+ * the game. Instances are immutable.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class GameRecordHeader {
+
+    private final long seed;
+    private final int rows;
+    private final int cols;
+    private final GodType[] gods;
+    private final int[] workerCells;
+    private final long[] clockMillis;
+
+    /**
+     * Constructs a header.
+     *
+     * @param seed        the game seed
+     * @param rows        the number of board rows
+     * @param cols        the number of board columns
+     * @param gods        the god of each player
+     * @param workerCells the starting cell of each worker slot, or {@link BoardState#NO_CELL}
+     * @param clockMillis the starting clock time of each player in milliseconds
+     * @throws IllegalArgumentException if the arrays do not cover the same players
+     */
+    public GameRecordHeader(long seed, int rows, int cols, GodType[] gods, int[] workerCells, long[] clockMillis) {
+        if (workerCells.length != gods.length * BoardState.WORKERS_PER_PLAYER || clockMillis.length != gods.length) {
+            throw new IllegalArgumentException("Gods, workers and clocks must cover the same players");
+        }
+        this.seed = seed;
+        this.rows = rows;
+        this.cols = cols;
+        this.gods = gods.clone();
+        this.workerCells = workerCells.clone();
+        this.clockMillis = clockMillis.clone();
+    }
+
+    /**
+     * Captures the header of a game that has just been set up.
+     *
+     * @param seed    the game seed
+     * @param board   the board with the workers placed
+     * @param players the players, in seat order, with their god cards assigned
+     * @param timers  each player's clock
+     * @return the header
+     */
+    public static GameRecordHeader of(long seed, Board board, List<Player> players, List<GameTimer> timers) {
+        BoardState state = board.getState();
+        GodType[] gods = new GodType[players.size()];
+        int[] cells = new int[players.size() * BoardState.WORKERS_PER_PLAYER];
+        long[] clocks = new long[players.size()];
+        for (Player player : players) {
+            int index = player.getIndex();
+            gods[index] = GodType.of(player.getGodCard());
+            clocks[index] = timers.get(index).getRemainingTimeMillis();
+            for (int n = 0; n < BoardState.WORKERS_PER_PLAYER; n++) {
+                int slot = BoardState.slotOf(index, n);
+                cells[slot] = state.workerCell(slot);
+            }
+        }
+        return new GameRecordHeader(seed, board.getRows(), board.getCols(), gods, cells, clocks);
+    }
+
+    /**
+     * Builds the starting position of the game, with player 0 to move.
+     *
+     * @return the position before the first turn
+     */
+    public Position toPosition() {
+        Position position = new Position(rows, cols, gods[0], gods[1]);
+        BoardState board = position.getBoard();
+        for (int slot = 0; slot < workerCells.length; slot++) {
+            if (workerCells[slot] != BoardState.NO_CELL) board.placeWorker(slot, workerCells[slot]);
+        }
+        position.setToMove(0);
+        return position;
+    }
+
+    /**
+     * Returns the seed every random choice of the game was drawn from.
+     *
+     * @return the game seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the number of board rows.
+     *
+     * @return the row count
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Returns the number of board columns.
+     *
+     * @return the column count
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the player count
+     */
+    public int getPlayerCount() {
+        return gods.length;
+    }
+
+    /**
+     * Returns a player's god.
+     *
+     * @param player the player index
+     * @return the god type
+     */
+    public GodType getGod(int player) {
+        return gods[player];
+    }
+
+    /**
+     * Returns the starting cell of a worker slot.
+     *
+     * @param slot the worker slot
+     * @return the cell index, or {@link BoardState#NO_CELL}
+     */
+    public int getWorkerCell(int slot) {
+        return workerCells[slot];
+    }
+
+    /**
+     * Returns the time a player's clock started with.
+     *
+     * @param player the player index
+     * @return the starting time in milliseconds
+     */
+    public long getClockMillis(int player) {
+        return clockMillis[player];
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof GameRecordHeader other && seed == other.seed && rows == other.rows
+                && cols == other.cols && Arrays.equals(gods, other.gods)
+                && Arrays.equals(workerCells, other.workerCells) && Arrays.equals(clockMillis, other.clockMillis);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed) * 31 + Arrays.hashCode(workerCells);
+    }
+
+    @Override
+    public String toString() {
+        return "GameRecordHeader[seed=" + seed + ", " + rows + "x" + cols + ", gods=" + Arrays.toString(gods)
+                + ", workers=" + Arrays.toString(workerCells) + "]";
+    }
+}
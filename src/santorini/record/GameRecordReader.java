@@ -0,0 +1,187 @@
+package santorini.record;
+
+import santorini.engine.Position;
+import santorini.engine.Turn;
+import santorini.model.gods.GodType;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+
+/**
+ * Reads the binary records written by {@link GameRecordWriter}.
+ * <p>
+ * Call {@link #readHeader()} to start a record, then {@link #readTurn()} until it
+ * returns {@link Turn#NO_TURN}; the next {@code readHeader()} moves on to the following
+ * record. Turns come back in their packed form with the clock time read into the
+ * reader, and input is decoded straight from the reader's own buffer, so reading a turn
+ * allocates nothing.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class GameRecordReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 65536;
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private boolean inRecord;
+    private long timerMillis;
+    private int winner = Position.ONGOING;
+
+    /**
+     * Constructs a reader.
+     *
+     * @param in the stream holding the records
+     */
+    public GameRecordReader(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the header of the next record, skipping any turns left in the current one.
+     *
+     * @return the header, or {@code null} at the end of the stream
+     * @throws IOException if the stream fails or does not hold a game record
+     */
+    public GameRecordHeader readHeader() throws IOException {
+        while (inRecord) readTurn();
+        if (!fill()) return null;
+
+        for (byte b : GameRecordWriter.MAGIC) {
+            if (readByte() != (b & 0xFF)) throw new IOException("Not a game record");
+        }
+        int version = readInt();
+        if (version != GameRecordWriter.VERSION) {
+            throw new IOException("Unsupported game record version " + version);
+        }
+        long seed = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            seed = seed << 8 | readByte();
+        }
+        int rows = readInt();
+        int cols = readInt();
+
+        int players = readInt();
+        GodType[] gods = new GodType[players];
+        GodType[] types = GodType.values();
+        for (int player = 0; player < players; player++) {
+            int god = readInt();
+            if (god >= types.length) throw new IOException("Unknown god " + god);
+            gods[player] = types[god];
+        }
+        int[] cells = new int[players * 2];
+        for (int slot = 0; slot < cells.length; slot++) {
+            cells[slot] = readInt() - 1;
+        }
+        long[] clocks = new long[players];
+        for (int player = 0; player < players; player++) {
+            clocks[player] = readVarint();
+        }
+
+        inRecord = true;
+        winner = Position.ONGOING;
+        return new GameRecordHeader(seed, rows, cols, gods, cells, clocks);
+    }
+
+    /**
+     * Reads the next turn of the current record.
+     *
+     * @return the packed turn, or {@link Turn#NO_TURN} once the record has ended
+     * @throws IOException if the stream fails or the record is malformed
+     */
+    public int readTurn() throws IOException {
+        if (!inRecord) return Turn.NO_TURN;
+        if (!fill() || buffer[position] == GameRecordWriter.MAGIC[0]) {
+            // a record cut short ends after its last complete turn, possibly where the next one starts
+            inRecord = false;
+            return Turn.NO_TURN;
+        }
+
+        try {
+            int tag = readInt();
+            if (tag == GameRecordWriter.END_TAG) {
+                winner = readInt() - 1;
+                inRecord = false;
+                return Turn.NO_TURN;
+            }
+            if (tag > GameRecordWriter.END_TAG) throw new IOException("Invalid turn tag " + tag);
+
+            int move = readInt();
+            int move2 = (tag & GameRecordWriter.MOVE2_FLAG) != 0 ? readInt() : Turn.NONE;
+            int build = (tag & GameRecordWriter.BUILD_FLAG) != 0 ? readInt() : Turn.NONE;
+            int build2 = (tag & GameRecordWriter.BUILD2_FLAG) != 0 ? readInt() : Turn.NONE;
+            int remove = (tag & GameRecordWriter.REMOVE_FLAG) != 0 ? readInt() : Turn.NONE;
+            timerMillis = readVarint();
+            return Turn.pack(tag & 1, move, move2, build, build2, remove);
+        } catch (EOFException e) {
+            // a record cut short ends after its last complete turn
+            inRecord = false;
+            return Turn.NO_TURN;
+        }
+    }
+
+    /**
+     * Returns the clock time of the turn last read.
+     *
+     * @return the milliseconds the player's clock ran during the turn
+     */
+    public long getTimerMillis() {
+        return timerMillis;
+    }
+
+    /**
+     * Returns the winner recorded at the end of the current record.
+     *
+     * @return the winning player index, or {@link Position#ONGOING} if none was recorded
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private int readInt() throws IOException {
+        long value = readVarint();
+        if (value > Integer.MAX_VALUE) throw new IOException("Value out of range: " + value);
+        return (int) value;
+    }
+
+    private long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private int readByte() throws IOException {
+        if (position == limit && !fill()) throw new EOFException("Game record ends mid-entry");
+        return buffer[position++] & 0xFF;
+    }
+
+    /**
+     * Makes sure at least one byte is buffered.
+     *
+     * @return {@code false} at the end of the stream
+     */
+    private boolean fill() throws IOException {
+        while (position == limit) {
+            int read = in.read(buffer, 0, buffer.length);
+            if (read < 0) return false;
+            position = 0;
+            limit = read;
+        }
+        return true;
+    }
+}
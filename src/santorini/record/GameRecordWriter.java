@@ -0,0 +1,167 @@
+package santorini.record;
+
+import santorini.engine.Turn;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+
+/**
+ * Writes games as compact binary records.
+ * <p>
+ * A record is a header followed by one entry per turn and an optional end marker.
+ * Every number is an unsigned LEB128 varint (7 bits per byte, low bits first) unless
+ * noted:
+ * <pre>
+ *   header := "SNTR" version seed(8 bytes, big-endian) rows cols players
+ *             god*players (cell+1)*(players*2) clockMillis*players
+ *   turn   := tag cell+ timerDeltaMillis
+ *   end    := {@value #END_TAG} (winner+1)
+ * </pre>
+ * A turn's tag holds the worker number in bit 0 and flags for the steps that follow
+ * the move: second move (bit 1), build (bit 2), second build (bit 3) and removal
+ * (bit 4). The cells follow in that order, each a single byte on boards of up to 128
+ * cells, so a typical turn takes four to six bytes. Several records may follow each
+ * other in one stream. A record cut short (a closed window, a crash) is still readable
+ * up to its last complete turn.
+ * <p>
+ * Output is collected in the writer's own buffer and passed on in large blocks, and
+ * turns are written from their packed {@link Turn} form, so recording allocates nothing
+ * per turn.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class GameRecordWriter implements Closeable, Flushable {
+
+    /** First bytes of every record. */
+    static final byte[] MAGIC = {'S', 'N', 'T', 'R'};
+
+    /** Current format version. */
+    static final int VERSION = 1;
+
+    /** Tag of the end marker; turn tags are always smaller, and the first magic byte larger. */
+    static final int END_TAG = 0x40;
+
+    static final int MOVE2_FLAG = 1 << 1;
+    static final int BUILD_FLAG = 1 << 2;
+    static final int BUILD2_FLAG = 1 << 3;
+    static final int REMOVE_FLAG = 1 << 4;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    /**
+     * Constructs a writer.
+     *
+     * @param out the stream receiving the records
+     */
+    public GameRecordWriter(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Starts a new record.
+     *
+     * @param header the opening of the game
+     * @throws IOException if the stream fails
+     */
+    public void writeHeader(GameRecordHeader header) throws IOException {
+        for (byte b : MAGIC) writeByte(b);
+        writeVarint(VERSION);
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            writeByte((int) (header.getSeed() >>> shift));
+        }
+        writeVarint(header.getRows());
+        writeVarint(header.getCols());
+
+        int players = header.getPlayerCount();
+        writeVarint(players);
+        for (int player = 0; player < players; player++) {
+            writeVarint(header.getGod(player).ordinal());
+        }
+        for (int slot = 0; slot < players * 2; slot++) {
+            writeVarint(header.getWorkerCell(slot) + 1);
+        }
+        for (int player = 0; player < players; player++) {
+            writeVarint(header.getClockMillis(player));
+        }
+    }
+
+    /**
+     * Appends a turn to the current record.
+     *
+     * @param turn        the packed turn
+     * @param timerMillis the time the player's clock ran during the turn
+     * @throws IOException if the stream fails
+     */
+    public void writeTurn(int turn, long timerMillis) throws IOException {
+        int move2 = Turn.move2(turn);
+        int build = Turn.build(turn);
+        int build2 = Turn.build2(turn);
+        int remove = Turn.remove(turn);
+
+        int tag = Turn.worker(turn);
+        if (move2 != Turn.NONE) tag |= MOVE2_FLAG;
+        if (build != Turn.NONE) tag |= BUILD_FLAG;
+        if (build2 != Turn.NONE) tag |= BUILD2_FLAG;
+        if (remove != Turn.NONE) tag |= REMOVE_FLAG;
+
+        writeVarint(tag);
+        writeVarint(Turn.move(turn));
+        if (move2 != Turn.NONE) writeVarint(move2);
+        if (build != Turn.NONE) writeVarint(build);
+        if (build2 != Turn.NONE) writeVarint(build2);
+        if (remove != Turn.NONE) writeVarint(remove);
+        writeVarint(Math.max(0, timerMillis));
+    }
+
+    /**
+     * Closes the current record with its result.
+     *
+     * @param winner the winning player index, or a negative value if there was none
+     * @throws IOException if the stream fails
+     */
+    public void writeEnd(int winner) throws IOException {
+        writeVarint(END_TAG);
+        writeVarint(Math.max(winner + 1, 0));
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        writeByte((int) value);
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (position == buffer.length) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+        buffer[position++] = (byte) b;
+    }
+}
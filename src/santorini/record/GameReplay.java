@@ -0,0 +1,229 @@
+package santorini.record;
+
+import santorini.engine.Position;
+import santorini.engine.Turn;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+
+/**
+ * A recorded game loaded for viewing, with a cursor that can be stepped and seeked to any ply.
+ * <p>
+ * The turns of the record are kept as deltas, and a full copy of the position is kept
+ * as a keyframe every {@code K} plies. Seeking copies the nearest keyframe at or before
+ * the target and applies the turns from there, so any seek costs at most {@code K - 1}
+ * turn applications however long the game is. Short moves are cheaper still: stepping
+ * forward applies one turn, and stepping back undoes one.
+ * <p>
+ * The clock of each player after every ply is rebuilt from the turn times in the record.
+ * Nothing here touches the turn manager or Swing; the replay screen only reads the
+ * current position.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class GameReplay {
+
+    /** Default number of plies between keyframes. */
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 16;
+
+    private final GameRecordHeader header;
+    private final int[] turns;
+    private final int winner;
+    private final int interval;
+    private final Position[] keyframes;
+    private final long[][] clocks;
+
+    private final Position position;
+    private int ply;
+
+    /**
+     * Constructs a replay from the contents of a record.
+     *
+     * @param header   the record header
+     * @param turns    the packed turns, in order
+     * @param elapsed  the clock time of each turn, in milliseconds
+     * @param winner   the recorded winner, or {@link Position#ONGOING}
+     * @param interval the number of plies between keyframes
+     * @throws IllegalArgumentException if the interval is not positive
+     */
+    public GameReplay(GameRecordHeader header, int[] turns, long[] elapsed, int winner, int interval) {
+        if (interval <= 0) throw new IllegalArgumentException("Keyframe interval must be positive");
+        this.header = header;
+        this.turns = turns.clone();
+        this.winner = winner;
+        this.interval = interval;
+
+        Position walker = header.toPosition();
+        keyframes = new Position[turns.length / interval + 1];
+        clocks = new long[turns.length + 1][header.getPlayerCount()];
+        for (int player = 0; player < header.getPlayerCount(); player++) {
+            clocks[0][player] = header.getClockMillis(player);
+        }
+        for (int i = 0; i <= turns.length; i++) {
+            if (i % interval == 0) keyframes[i / interval] = new Position(walker);
+            if (i == turns.length) break;
+
+            clocks[i + 1] = clocks[i].clone();
+            int mover = walker.getToMove();
+            clocks[i + 1][mover] = Math.max(0, clocks[i][mover] - elapsed[i]);
+            walker.apply(turns[i]);
+        }
+        position = new Position(keyframes[0]);
+    }
+
+    /**
+     * Loads the first game of a record file with the default keyframe interval.
+     *
+     * @param file the record file
+     * @return the replay, positioned before the first turn
+     * @throws IOException if the file cannot be read or holds no game record
+     */
+    public static GameReplay load(Path file) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            return read(new GameRecordReader(in), DEFAULT_KEYFRAME_INTERVAL);
+        }
+    }
+
+    /**
+     * Reads the next game of a record.
+     *
+     * @param reader   the record reader
+     * @param interval the number of plies between keyframes
+     * @return the replay, positioned before the first turn
+     * @throws IOException if the stream fails or holds no further game record
+     */
+    public static GameReplay read(GameRecordReader reader, int interval) throws IOException {
+        GameRecordHeader header = reader.readHeader();
+        if (header == null) throw new IOException("No game in record");
+
+        int[] turns = new int[64];
+        long[] elapsed = new long[64];
+        int count = 0;
+        int turn;
+        while ((turn = reader.readTurn()) != Turn.NO_TURN) {
+            if (count == turns.length) {
+                turns = Arrays.copyOf(turns, count * 2);
+                elapsed = Arrays.copyOf(elapsed, count * 2);
+            }
+            turns[count] = turn;
+            elapsed[count++] = reader.getTimerMillis();
+        }
+        return new GameReplay(header, Arrays.copyOf(turns, count), Arrays.copyOf(elapsed, count),
+                reader.getWinner(), interval);
+    }
+
+    /**
+     * Moves the cursor to just after a ply: {@code 0} is the opening position and
+     * {@link #getPlyCount()} the final one. Targets outside that range are clamped.
+     *
+     * @param target the ply to show
+     */
+    public void seek(int target) {
+        target = Math.max(0, Math.min(target, turns.length));
+        if (target == ply) return;
+
+        if (target == ply - 1 && position.getUndoDepth() > 0) {
+            position.undo();
+        } else if (target < ply || target / interval != ply / interval) {
+            int keyframe = target / interval;
+            position.copyFrom(keyframes[keyframe]);
+            ply = keyframe * interval;
+        }
+        while (ply < target) {
+            position.apply(turns[ply++]);
+        }
+        ply = target;
+    }
+
+    /**
+     * Moves the cursor one ply forward, if not at the end.
+     */
+    public void stepForward() {
+        seek(ply + 1);
+    }
+
+    /**
+     * Moves the cursor one ply back, if not at the start.
+     */
+    public void stepBack() {
+        seek(ply - 1);
+    }
+
+    /**
+     * Returns the position at the cursor. It changes as the cursor moves and must not be modified.
+     *
+     * @return the current position
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Returns the ply at the cursor.
+     *
+     * @return the number of turns played in the current position
+     */
+    public int getPly() {
+        return ply;
+    }
+
+    /**
+     * Returns the number of turns in the game.
+     *
+     * @return the ply count
+     */
+    public int getPlyCount() {
+        return turns.length;
+    }
+
+    /**
+     * Returns the turn that led to the current position.
+     *
+     * @return the packed turn, or {@link Turn#NO_TURN} at the opening position
+     */
+    public int getLastTurn() {
+        return ply == 0 ? Turn.NO_TURN : turns[ply - 1];
+    }
+
+    /**
+     * Returns the time left on a player's clock in the current position.
+     *
+     * @param player the player index
+     * @return the remaining time in milliseconds
+     */
+    public long getClockMillis(int player) {
+        return clocks[ply][player];
+    }
+
+    /**
+     * Returns the record header.
+     *
+     * @return the header
+     */
+    public GameRecordHeader getHeader() {
+        return header;
+    }
+
+    /**
+     * Returns the winner recorded at the end of the game.
+     *
+     * @return the winning player index, or {@link Position#ONGOING} if none was recorded
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns the number of plies between keyframes.
+     *
+     * @return the keyframe interval
+     */
+    public int getKeyframeInterval() {
+        return interval;
+    }
+}
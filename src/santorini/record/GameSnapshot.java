@@ -0,0 +1,344 @@
+package santorini.record;
+
+import santorini.controller.TurnEvent;
+import santorini.controller.TurnPhase;
+import santorini.model.BlockSupply;
+import santorini.model.BoardState;
+import santorini.model.gods.GodType;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * A saved game in progress, from which play can resume exactly where it stopped.
+ * <p>
+ * The snapshot holds the position at the start of the current turn (buildings, domes,
+ * workers, block supply and each player's god, nature meter, remaining clock time,
+ * worker colour and whether a bot plays the seat), plus the {@link TurnEvent}s the
+ * current player has already played this turn and the phase they led to. Resuming
+ * replays those events through the turn state machine, which also rebuilds any state a
+ * god power keeps within a turn (such as the cell of Demeter's first build) the same way
+ * it was built the first time.
+ * <p>
+ * The binary form takes under a hundred bytes on a 5x5 board: the magic {@code "SNTS"},
+ * a format version, then varint fields and one byte per cell. It is read and written in
+ * a single pass, so a game resumes instantly.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class GameSnapshot {
+
+    /** Current format version. */
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = {'S', 'N', 'T', 'S'};
+    private static final int DOME_BIT = 4;
+
+    /**
+     * The saved state of one player's seat.
+     */
+    public static final class Seat {
+        private final GodType god;
+        private final int meter;
+        private final long clockMillis;
+        private final boolean bot;
+        private final String workerColor;
+
+        /**
+         * Constructs a seat.
+         *
+         * @param god         the player's god
+         * @param meter       the nature meter value at the start of the turn
+         * @param clockMillis the time left on the player's clock
+         * @param bot         whether a bot plays the seat
+         * @param workerColor the colour of the player's workers
+         */
+        public Seat(GodType god, int meter, long clockMillis, boolean bot, String workerColor) {
+            this.god = god;
+            this.meter = meter;
+            this.clockMillis = clockMillis;
+            this.bot = bot;
+            this.workerColor = workerColor;
+        }
+
+        /**
+         * Returns the player's god.
+         *
+         * @return the god type
+         */
+        public GodType getGod() {
+            return god;
+        }
+
+        /**
+         * Returns the nature meter value at the start of the turn.
+         *
+         * @return the meter value
+         */
+        public int getMeter() {
+            return meter;
+        }
+
+        /**
+         * Returns the time left on the player's clock.
+         *
+         * @return the remaining time in milliseconds
+         */
+        public long getClockMillis() {
+            return clockMillis;
+        }
+
+        /**
+         * Returns whether a bot plays the seat.
+         *
+         * @return {@code true} for a bot seat
+         */
+        public boolean isBot() {
+            return bot;
+        }
+
+        /**
+         * Returns the colour of the player's workers.
+         *
+         * @return the colour name
+         */
+        public String getWorkerColor() {
+            return workerColor;
+        }
+    }
+
+    private final long seed;
+    private final BoardState board;
+    private final int toMove;
+    private final Seat[] seats;
+    private final TurnPhase phase;
+    private final List<TurnEvent> events;
+
+    /**
+     * Constructs a snapshot.
+     *
+     * @param seed   the seed of the game
+     * @param board  the board at the start of the current turn (copied)
+     * @param toMove the index of the player whose turn it is
+     * @param seats  every player's seat, in index order
+     * @param phase  the phase the current turn has reached
+     * @param events the events played so far this turn
+     */
+    public GameSnapshot(long seed, BoardState board, int toMove, Seat[] seats,
+                        TurnPhase phase, List<TurnEvent> events) {
+        this.seed = seed;
+        this.board = new BoardState(board);
+        this.toMove = toMove;
+        this.seats = seats.clone();
+        this.phase = phase;
+        this.events = List.copyOf(events);
+    }
+
+    /**
+     * Returns the seed of the game.
+     *
+     * @return the game seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns the board at the start of the current turn.
+     *
+     * @return a copy of the board state
+     */
+    public BoardState getBoard() {
+        return new BoardState(board);
+    }
+
+    /**
+     * Returns the index of the player whose turn it is.
+     *
+     * @return the player to move
+     */
+    public int getToMove() {
+        return toMove;
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the seat count
+     */
+    public int getSeatCount() {
+        return seats.length;
+    }
+
+    /**
+     * Returns a player's seat.
+     *
+     * @param player the player index
+     * @return the seat
+     */
+    public Seat getSeat(int player) {
+        return seats[player];
+    }
+
+    /**
+     * Returns the phase the current turn had reached.
+     *
+     * @return the phase
+     */
+    public TurnPhase getPhase() {
+        return phase;
+    }
+
+    /**
+     * Returns the events played so far this turn.
+     *
+     * @return the events, in order
+     */
+    public List<TurnEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * Writes the snapshot.
+     *
+     * @param out the stream to write to (not closed)
+     * @throws IOException if the stream fails
+     */
+    public void write(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.write(MAGIC);
+        writeVarint(data, VERSION);
+        data.writeLong(seed);
+        writeVarint(data, board.getRows());
+        writeVarint(data, board.getCols());
+        for (int cell = 0; cell < board.size(); cell++) {
+            data.writeByte(board.height(cell) | (board.hasDome(cell) ? DOME_BIT : 0));
+        }
+        for (int block = 1; block <= BlockSupply.DOME; block++) {
+            writeVarint(data, board.getSupply().getLimit(block));
+        }
+
+        writeVarint(data, seats.length);
+        for (int slot = 0; slot < seats.length * BoardState.WORKERS_PER_PLAYER; slot++) {
+            writeVarint(data, board.workerCell(slot) + 1);
+        }
+        for (Seat seat : seats) {
+            writeVarint(data, seat.god.ordinal());
+            writeVarint(data, Math.max(seat.meter, 0));
+            writeVarint(data, Math.max(seat.clockMillis, 0));
+            data.writeBoolean(seat.bot);
+            data.writeUTF(seat.workerColor == null ? "" : seat.workerColor);
+        }
+
+        writeVarint(data, toMove);
+        writeVarint(data, phase.ordinal());
+        writeVarint(data, events.size());
+        for (TurnEvent event : events) {
+            writeVarint(data, event.getType().ordinal());
+            writeVarint(data, event.getCell() + 1);
+        }
+        data.flush();
+    }
+
+    /**
+     * Reads a snapshot written by {@link #write(OutputStream)}.
+     *
+     * @param in the stream to read from (not closed)
+     * @return the snapshot
+     * @throws IOException if the stream fails or does not hold a snapshot of a supported version
+     */
+    public static GameSnapshot read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        for (byte b : MAGIC) {
+            if (data.readByte() != b) throw new IOException("Not a saved game");
+        }
+        int version = readInt(data);
+        if (version != VERSION) throw new IOException("Unsupported saved game version " + version);
+
+        long seed = data.readLong();
+        int rows = readInt(data);
+        int cols = readInt(data);
+        if (rows * cols > BoardState.MAX_CELLS) throw new IOException("Board too large: " + rows + "x" + cols);
+        BoardState board = new BoardState(rows, cols);
+        for (int cell = 0; cell < board.size(); cell++) {
+            int value = data.readUnsignedByte();
+            for (int level = 0; level < (value & 3); level++) {
+                board.addBlock(cell);
+            }
+            if ((value & DOME_BIT) != 0) board.addDome(cell);
+        }
+        int[] limits = new int[BlockSupply.DOME];
+        for (int block = 0; block < limits.length; block++) {
+            limits[block] = readInt(data);
+        }
+        board.getSupply().setLimits(limits);
+
+        int players = readInt(data);
+        for (int slot = 0; slot < players * BoardState.WORKERS_PER_PLAYER; slot++) {
+            int cell = readInt(data) - 1;
+            if (cell != BoardState.NO_CELL) board.placeWorker(slot, cell);
+        }
+        Seat[] seats = new Seat[players];
+        for (int player = 0; player < players; player++) {
+            GodType god = enumAt(GodType.values(), readInt(data));
+            int meter = readInt(data);
+            long clock = readVarint(data);
+            boolean bot = data.readBoolean();
+            String color = data.readUTF();
+            seats[player] = new Seat(god, meter, clock, bot, color.isEmpty() ? null : color);
+        }
+
+        int toMove = readInt(data);
+        TurnPhase phase = enumAt(TurnPhase.values(), readInt(data));
+        int count = readInt(data);
+        List<TurnEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            TurnEvent.Type type = enumAt(TurnEvent.Type.values(), readInt(data));
+            int cell = readInt(data) - 1;
+            events.add(switch (type) {
+                case CLICK -> TurnEvent.click(cell);
+                case ACCEPT -> TurnEvent.accept();
+                case DECLINE -> TurnEvent.decline();
+            });
+        }
+        board.setSideToMove(toMove);
+        return new GameSnapshot(seed, board, toMove, seats, phase, events);
+    }
+
+    private static <E> E enumAt(E[] values, int ordinal) throws IOException {
+        if (ordinal >= values.length) throw new IOException("Invalid value " + ordinal);
+        return values[ordinal];
+    }
+
+    private static void writeVarint(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    private static int readInt(DataInput in) throws IOException {
+        long value = readVarint(in);
+        if (value > Integer.MAX_VALUE) throw new IOException("Value out of range: " + value);
+        return (int) value;
+    }
+}
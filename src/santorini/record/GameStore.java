@@ -0,0 +1,406 @@
+package santorini.record;
+
+import santorini.engine.Position;
+import santorini.engine.PositionNotation;
+import santorini.engine.Turn;
+import santorini.model.gods.GodType;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+
+/**
+ * An append-only store of recorded games with an on-disk index from position to the
+ * games that reached it.
+ * <p>
+ * A store is a directory of three files:
+ * <pre>
+ *   games.srec     every game, one {@link GameRecordWriter} record after another
+ *   games.tbl      16 bytes per game: record offset (8), record length (4),
+ *                  god of player 0 and 1 (1 each), winner+1 (1), unused (1)
+ *   positions.idx  a 16-byte header ("SPIX", version, games covered), then 16 bytes
+ *                  per position reached: canonical hash (8), game id (4), ply (4),
+ *                  sorted by hash
+ * </pre>
+ * Games are appended to the first two files, and {@link #buildIndex()} rebuilds the
+ * position index offline from the records. Positions are keyed by their canonical
+ * (symmetry-reduced) hash, so mirrored and rotated positions count as one.
+ * <p>
+ * {@link #lookup(long)} binary searches the memory-mapped index and reads the game table
+ * through its own mapping. Nothing is loaded onto the heap beyond the statistics being
+ * returned, so a lookup takes microseconds even with tens of millions of games behind it.
+ * Games appended after the last index build are not counted until the next build.
+ * <p>
+ * Appends are synchronized; lookups may run from any number of threads.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class GameStore implements Closeable {
+
+    /** File holding the game records. */
+    public static final String DATA_FILE = "games.srec";
+
+    /** File holding one fixed-size entry per game. */
+    public static final String TABLE_FILE = "games.tbl";
+
+    /** File holding the sorted position index. */
+    public static final String INDEX_FILE = "positions.idx";
+
+    static final int INDEX_MAGIC = 0x53504958; // "SPIX"
+    static final int INDEX_VERSION = 1;
+
+    private static final int TABLE_ENTRY = 16;
+    private static final int INDEX_ENTRY = 16;
+    private static final int INDEX_HEADER = 16;
+    private static final int RUN_ENTRIES = 1 << 21;
+
+    private final Path dir;
+    private final FileChannel data;
+    private final FileChannel table;
+    private int gameCount;
+
+    // the index and the game table as they were at the last index build
+    private volatile MappedRegion index = MappedRegion.EMPTY;
+    private volatile MappedRegion games = MappedRegion.EMPTY;
+    private volatile long indexEntries;
+    private volatile int indexedGames;
+
+    private GameStore(Path dir, FileChannel data, FileChannel table) {
+        this.dir = dir;
+        this.data = data;
+        this.table = table;
+    }
+
+    /**
+     * Opens a store, creating its directory and files if needed.
+     *
+     * @param dir the store directory
+     * @return the open store
+     * @throws IOException if the files cannot be opened or the index is not a position index
+     */
+    public static GameStore open(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        FileChannel data = FileChannel.open(dir.resolve(DATA_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        FileChannel table = FileChannel.open(dir.resolve(TABLE_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        GameStore store = new GameStore(dir, data, table);
+        // an entry cut short by a crash is dropped, and so is the record it would have described
+        store.gameCount = (int) (table.size() / TABLE_ENTRY);
+        table.truncate((long) store.gameCount * TABLE_ENTRY);
+        long end = 0;
+        if (store.gameCount > 0) {
+            ByteBuffer last = ByteBuffer.allocate(TABLE_ENTRY);
+            readFully(table, last, (long) (store.gameCount - 1) * TABLE_ENTRY);
+            end = last.getLong(0) + last.getInt(8);
+        }
+        data.truncate(end);
+        store.mapIndex();
+        return store;
+    }
+
+    /**
+     * Appends a game.
+     *
+     * @param header  the opening of the game
+     * @param turns   the packed turns played
+     * @param elapsed the clock time of each turn in milliseconds, or {@code null} if the game was untimed
+     * @param winner  the winning player, or {@link Position#ONGOING}
+     * @return the id of the new game
+     * @throws IOException if the game cannot be written
+     */
+    public synchronized int append(GameRecordHeader header, int[] turns, long[] elapsed, int winner) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + turns.length * 6);
+        GameRecordWriter writer = new GameRecordWriter(bytes);
+        writer.writeHeader(header);
+        for (int i = 0; i < turns.length; i++) {
+            writer.writeTurn(turns[i], elapsed == null ? 0 : elapsed[i]);
+        }
+        writer.writeEnd(winner);
+        writer.flush();
+
+        long offset = data.size();
+        writeFully(data, ByteBuffer.wrap(bytes.toByteArray()), offset);
+
+        ByteBuffer entry = ByteBuffer.allocate(TABLE_ENTRY);
+        entry.putLong(offset);
+        entry.putInt(bytes.size());
+        entry.put((byte) header.getGod(0).ordinal());
+        entry.put((byte) header.getGod(1).ordinal());
+        entry.put((byte) (winner + 1));
+        entry.put((byte) 0);
+        entry.flip();
+        writeFully(table, entry, (long) gameCount * TABLE_ENTRY);
+        return gameCount++;
+    }
+
+    /**
+     * Appends every remaining game of a record stream.
+     *
+     * @param reader the record reader
+     * @return the number of games appended
+     * @throws IOException if the stream fails or a game cannot be written
+     */
+    public int importRecords(GameRecordReader reader) throws IOException {
+        int count = 0;
+        int[] turns = new int[64];
+        long[] elapsed = new long[64];
+        GameRecordHeader header;
+        while ((header = reader.readHeader()) != null) {
+            int plies = 0;
+            int turn;
+            while ((turn = reader.readTurn()) != Turn.NO_TURN) {
+                if (plies == turns.length) {
+                    turns = Arrays.copyOf(turns, plies * 2);
+                    elapsed = Arrays.copyOf(elapsed, plies * 2);
+                }
+                turns[plies] = turn;
+                elapsed[plies++] = reader.getTimerMillis();
+            }
+            append(header, Arrays.copyOf(turns, plies), Arrays.copyOf(elapsed, plies), reader.getWinner());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Loads one game for viewing.
+     *
+     * @param game the game id
+     * @return the replay of the game
+     * @throws IOException if the game cannot be read
+     * @throws IndexOutOfBoundsException if there is no such game
+     */
+    public GameReplay replay(int game) throws IOException {
+        if (game < 0 || game >= getGameCount()) throw new IndexOutOfBoundsException("No game " + game);
+        ByteBuffer entry = ByteBuffer.allocate(TABLE_ENTRY);
+        readFully(table, entry, (long) game * TABLE_ENTRY);
+        ByteBuffer record = ByteBuffer.allocate(entry.getInt(8));
+        readFully(data, record, entry.getLong(0));
+        return GameReplay.read(new GameRecordReader(new ByteArrayInputStream(record.array())),
+                GameReplay.DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * Rebuilds the position index from every game in the store, then maps it.
+     * Lookups keep using the previous index until the new one is in place.
+     *
+     * @throws IOException if the records cannot be read or the index cannot be written
+     */
+    public synchronized void buildIndex() throws IOException {
+        int count = gameCount;
+        PositionIndexBuilder builder = new PositionIndexBuilder(dir, RUN_ENTRIES);
+        try (GameRecordReader reader = new GameRecordReader(new BufferedInputStream(
+                Files.newInputStream(dir.resolve(DATA_FILE)), 1 << 16))) {
+            for (int game = 0; game < count; game++) {
+                GameRecordHeader header = reader.readHeader();
+                if (header == null) throw new IOException("Game table lists more games than the records hold");
+                Position position = header.toPosition();
+                int ply = 0;
+                builder.add(position.canonicalHash(), game, ply);
+                int turn;
+                while ((turn = reader.readTurn()) != Turn.NO_TURN) {
+                    position.apply(turn);
+                    builder.add(position.canonicalHash(), game, ++ply);
+                }
+            }
+        }
+        builder.finish(dir.resolve(INDEX_FILE), count);
+        mapIndex();
+    }
+
+    /**
+     * Maps the index file and the game table entries it covers.
+     */
+    private void mapIndex() throws IOException {
+        Path file = dir.resolve(INDEX_FILE);
+        if (!Files.exists(file)) return;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedRegion mapped = MappedRegion.map(channel, channel.size());
+            if (mapped.size() < INDEX_HEADER || mapped.getInt(0) != INDEX_MAGIC) {
+                throw new IOException("Not a position index: " + file);
+            }
+            if (mapped.getInt(4) != INDEX_VERSION) {
+                throw new IOException("Unsupported position index version " + mapped.getInt(4));
+            }
+            int covered = (int) mapped.getLong(8);
+            if (covered > gameCount) throw new IOException("Position index covers games missing from the store");
+
+            games = MappedRegion.map(table, (long) covered * TABLE_ENTRY);
+            indexedGames = covered;
+            indexEntries = (mapped.size() - INDEX_HEADER) / INDEX_ENTRY;
+            index = mapped;
+        }
+    }
+
+    /**
+     * Looks up how often a position was reached and how those games ended.
+     *
+     * @param position the position
+     * @return the statistics, empty if the position was never reached
+     */
+    public PositionStats lookup(Position position) {
+        return lookup(position.canonicalHash());
+    }
+
+    /**
+     * Looks up how often a position was reached and how those games ended.
+     *
+     * @param hash the canonical hash of the position, as from {@link Position#canonicalHash()}
+     * @return the statistics, empty if the position was never reached
+     */
+    public PositionStats lookup(long hash) {
+        MappedRegion index = this.index;
+        MappedRegion games = this.games;
+        long entries = Math.min(indexEntries, (index.size() - INDEX_HEADER) / INDEX_ENTRY);
+        PositionStats stats = new PositionStats(hash);
+        GodType[] gods = GodType.values();
+
+        long entry = firstEntry(index, entries, hash);
+        for (; entry < entries && keyAt(index, entry) == hash; entry++) {
+            long at = INDEX_HEADER + entry * INDEX_ENTRY;
+            long game = index.getInt(at + 8);
+            int ply = index.getInt(at + 12);
+
+            long row = game * TABLE_ENTRY;
+            GodType[] pair = {gods[games.get(row + 12)], gods[games.get(row + 13)]};
+            int winner = games.get(row + 14) - 1;
+            int mover = ply & 1;
+            int result = winner == Position.ONGOING ? 0 : winner == mover ? 1 : -1;
+            stats.add(pair[mover], pair[1 - mover], result);
+        }
+        return stats;
+    }
+
+    /**
+     * Returns the first index entry whose hash is not less than {@code hash}.
+     */
+    private static long firstEntry(MappedRegion index, long entries, long hash) {
+        long lo = 0;
+        long hi = entries;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            if (keyAt(index, mid) < hash) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static long keyAt(MappedRegion index, long entry) {
+        return index.getLong(INDEX_HEADER + entry * INDEX_ENTRY);
+    }
+
+    /**
+     * Returns the number of games in the store.
+     *
+     * @return the game count
+     */
+    public synchronized int getGameCount() {
+        return gameCount;
+    }
+
+    /**
+     * Returns the number of games the position index covers.
+     *
+     * @return the indexed game count
+     */
+    public int getIndexedGameCount() {
+        return indexedGames;
+    }
+
+    /**
+     * Returns the number of positions in the index, counting every game that reached each.
+     *
+     * @return the index entry count
+     */
+    public long getIndexedPositionCount() {
+        return indexEntries;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try {
+            data.force(false);
+            table.force(false);
+        } finally {
+            data.close();
+            table.close();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("Unexpected end of file");
+            position += read;
+        }
+    }
+
+    /**
+     * Command-line access to a store:
+     * <pre>
+     *   import DIR FILE...   append every game of the record files
+     *   index DIR            rebuild the position index
+     *   query DIR POSITION   print the statistics of a position (see {@link PositionNotation})
+     * </pre>
+     *
+     * @param args the mode, store directory and arguments
+     * @throws Exception if the store cannot be read or written
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: GameStore import|index|query DIR [FILE...|POSITION]");
+            System.exit(2);
+        }
+        try (GameStore store = open(Path.of(args[1]))) {
+            switch (args[0]) {
+                case "import" -> {
+                    int total = 0;
+                    for (int i = 2; i < args.length; i++) {
+                        try (InputStream in = new BufferedInputStream(Files.newInputStream(Path.of(args[i])), 1 << 16)) {
+                            total += store.importRecords(new GameRecordReader(in));
+                        }
+                    }
+                    System.out.println("imported " + total + " games, " + store.getGameCount() + " in store");
+                }
+                case "index" -> {
+                    long start = System.nanoTime();
+                    store.buildIndex();
+                    System.out.printf("indexed %d positions from %d games in %d ms%n", store.getIndexedPositionCount(),
+                            store.getIndexedGameCount(), (System.nanoTime() - start) / 1_000_000);
+                }
+                case "query" -> {
+                    Position position = PositionNotation.parse(String.join(" ", Arrays.copyOfRange(args, 2, args.length)));
+                    long start = System.nanoTime();
+                    PositionStats stats = store.lookup(position);
+                    long nanos = System.nanoTime() - start;
+                    System.out.print(stats);
+                    System.out.printf("lookup took %.1f us%n", nanos / 1000.0);
+                }
+                default -> {
+                    System.err.println("Unknown mode: " + args[0]);
+                    System.exit(2);
+                }
+            }
+        }
+    }
+}
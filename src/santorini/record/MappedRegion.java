@@ -0,0 +1,72 @@
+package santorini.record;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+
+/**
+ * A read-only memory mapping of the start of a file, of any length.
+ * <p>
+ * A single {@link MappedByteBuffer} cannot exceed 2 GB, so the file is mapped in 1 GB
+ * segments. Callers read fixed-size entries whose size divides the segment size, so no
+ * entry ever straddles two segments.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+final class MappedRegion {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    /** An empty mapping. */
+    static final MappedRegion EMPTY = new MappedRegion(new MappedByteBuffer[0], 0);
+
+    private final MappedByteBuffer[] segments;
+    private final long size;
+
+    private MappedRegion(MappedByteBuffer[] segments, long size) {
+        this.segments = segments;
+        this.size = size;
+    }
+
+    /**
+     * Maps the first {@code size} bytes of a file.
+     *
+     * @param channel the open file
+     * @param size    the number of bytes to map
+     * @return the mapping
+     * @throws IOException if the file cannot be mapped
+     */
+    static MappedRegion map(FileChannel channel, long size) throws IOException {
+        if (size == 0) return EMPTY;
+        int count = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        for (int i = 0; i < count; i++) {
+            long start = (long) i << SEGMENT_SHIFT;
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, 1L << SEGMENT_SHIFT));
+        }
+        return new MappedRegion(segments, size);
+    }
+
+    /**
+     * Returns the number of bytes mapped.
+     *
+     * @return the mapped size
+     */
+    long size() {
+        return size;
+    }
+
+    long getLong(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getLong((int) (offset & SEGMENT_MASK));
+    }
+
+    int getInt(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].getInt((int) (offset & SEGMENT_MASK));
+    }
+
+    byte get(long offset) {
+        return segments[(int) (offset >>> SEGMENT_SHIFT)].get((int) (offset & SEGMENT_MASK));
+    }
+}
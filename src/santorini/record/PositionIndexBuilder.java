@@ -0,0 +1,206 @@
+package santorini.record;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+
+
+/**
+ * Sorts (position hash, game, ply) entries into a {@link GameStore} position index,
+ * however many there are.
+ * <p>
+ * Entries are collected in a fixed-size buffer. Each time it fills, the buffer is radix
+ * sorted by hash and written out as a sorted run. {@link #finish} then merges the runs
+ * into the index file, streaming every run, so memory use does not grow with the
+ * number of games.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+final class PositionIndexBuilder {
+
+    private final Path dir;
+    private final long[] hashes;
+    private final long[] values;
+    private final long[] hashScratch;
+    private final long[] valueScratch;
+    private int size;
+    private long total;
+    private final List<Path> runs = new ArrayList<>();
+
+    /**
+     * Constructs a builder.
+     *
+     * @param dir        the directory holding the temporary run files
+     * @param runEntries the number of entries sorted in memory at a time
+     */
+    PositionIndexBuilder(Path dir, int runEntries) {
+        this.dir = dir;
+        this.hashes = new long[runEntries];
+        this.values = new long[runEntries];
+        this.hashScratch = new long[runEntries];
+        this.valueScratch = new long[runEntries];
+    }
+
+    /**
+     * Adds an entry.
+     *
+     * @param hash the canonical position hash
+     * @param game the game id
+     * @param ply  the number of turns played before the position
+     * @throws IOException if a full run cannot be written
+     */
+    void add(long hash, int game, int ply) throws IOException {
+        if (size == hashes.length) flushRun();
+        hashes[size] = hash;
+        values[size++] = (long) game << 32 | ply;
+        total++;
+    }
+
+    /**
+     * Writes the index: a header holding the number of games covered, then every entry in hash order.
+     *
+     * @param target the index file
+     * @param games  the number of games the entries cover
+     * @throws IOException if a file cannot be written
+     */
+    void finish(Path target, int games) throws IOException {
+        sort();
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+            out.writeInt(GameStore.INDEX_MAGIC);
+            out.writeInt(GameStore.INDEX_VERSION);
+            out.writeLong(games);
+            merge(out);
+        } finally {
+            for (Path run : runs) Files.deleteIfExists(run);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns the number of entries added.
+     *
+     * @return the entry count
+     */
+    long size() {
+        return total;
+    }
+
+    private void flushRun() throws IOException {
+        sort();
+        Path run = Files.createTempFile(dir, "positions", ".run");
+        runs.add(run);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), 1 << 16))) {
+            writeBuffer(out);
+        }
+        size = 0;
+    }
+
+    private void writeBuffer(DataOutputStream out) throws IOException {
+        for (int i = 0; i < size; i++) {
+            out.writeLong(hashes[i]);
+            out.writeLong(values[i]);
+        }
+    }
+
+    /**
+     * Merges the runs on disk with the sorted buffer still in memory.
+     */
+    private void merge(DataOutputStream out) throws IOException {
+        if (runs.isEmpty()) {
+            writeBuffer(out);
+            return;
+        }
+
+        PriorityQueue<Cursor> queue = new PriorityQueue<>();
+        List<Cursor> cursors = new ArrayList<>();
+        try {
+            for (Path run : runs) {
+                Cursor cursor = new Cursor(new DataInputStream(new BufferedInputStream(Files.newInputStream(run), 1 << 16)));
+                cursors.add(cursor);
+                if (cursor.advance()) queue.add(cursor);
+            }
+            int next = 0;
+            while (!queue.isEmpty() || next < size) {
+                Cursor head = queue.peek();
+                if (next < size && (head == null || Long.compare(hashes[next], head.hash) <= 0)) {
+                    out.writeLong(hashes[next]);
+                    out.writeLong(values[next++]);
+                    continue;
+                }
+                queue.poll();
+                out.writeLong(head.hash);
+                out.writeLong(head.value);
+                if (head.advance()) queue.add(head);
+            }
+        } finally {
+            for (Cursor cursor : cursors) cursor.in.close();
+        }
+    }
+
+    /**
+     * Sorts the buffer by hash with an LSD radix sort, a byte per pass, carrying the values along.
+     */
+    private void sort() {
+        long[] keys = hashes, vals = values, keysOut = hashScratch, valsOut = valueScratch;
+        int[] counts = new int[257];
+        for (int shift = 0; shift < Long.SIZE; shift += 8) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) counts[digit(keys[i], shift) + 1]++;
+            for (int d = 0; d < 256; d++) counts[d + 1] += counts[d];
+            for (int i = 0; i < size; i++) {
+                int at = counts[digit(keys[i], shift)]++;
+                keysOut[at] = keys[i];
+                valsOut[at] = vals[i];
+            }
+            long[] swap = keys; keys = keysOut; keysOut = swap;
+            swap = vals; vals = valsOut; valsOut = swap;
+        }
+        // eight passes leave the sorted entries back in the original arrays
+    }
+
+    /**
+     * Returns a byte of a key, with the sign bit flipped so signed order matches byte order.
+     */
+    private static int digit(long key, int shift) {
+        return (int) (((key ^ Long.MIN_VALUE) >>> shift) & 0xFF);
+    }
+
+    /**
+     * The next entry of a sorted run being merged.
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+        private final DataInputStream in;
+        private long hash;
+        private long value;
+
+        private Cursor(DataInputStream in) {
+            this.in = in;
+        }
+
+        private boolean advance() throws IOException {
+            try {
+                hash = in.readLong();
+                value = in.readLong();
+                return true;
+            } catch (EOFException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Long.compare(hash, other.hash);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package santorini.record;
+
+import santorini.model.gods.GodType;
+
+
+/**
+ * How often a position was reached in a {@link GameStore}, and how those games ended,
+ * split by god-card pair.
+ * <p>
+ * Pairs and results are seen from the side to move in the position: the first god is
+ * the one of the player about to move, and a win is a game that player went on to win.
+ * Games without a recorded winner count as reached but neither won nor lost.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public final class PositionStats {
+
+    private static final GodType[] GODS = GodType.values();
+
+    private final long hash;
+    private final long[] reached = new long[GODS.length * GODS.length];
+    private final long[] wins = new long[GODS.length * GODS.length];
+    private final long[] losses = new long[GODS.length * GODS.length];
+
+    /**
+     * Constructs empty statistics for a position.
+     *
+     * @param hash the canonical hash of the position
+     */
+    PositionStats(long hash) {
+        this.hash = hash;
+    }
+
+    /**
+     * Counts one game reaching the position.
+     *
+     * @param mover    the god of the player to move
+     * @param opponent the god of the other player
+     * @param result   {@code 1} if the player to move won, {@code -1} if they lost, {@code 0} otherwise
+     */
+    void add(GodType mover, GodType opponent, int result) {
+        int pair = pair(mover, opponent);
+        reached[pair]++;
+        if (result > 0) wins[pair]++;
+        if (result < 0) losses[pair]++;
+    }
+
+    /**
+     * Returns the canonical hash of the position.
+     *
+     * @return the position hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    /**
+     * Returns how many times the position was reached, over every pair.
+     *
+     * @return the total count
+     */
+    public long getReached() {
+        long total = 0;
+        for (long count : reached) total += count;
+        return total;
+    }
+
+    /**
+     * Returns how many times the position was reached with a god-card pair.
+     *
+     * @param mover    the god of the player to move
+     * @param opponent the god of the other player
+     * @return the count
+     */
+    public long getReached(GodType mover, GodType opponent) {
+        return reached[pair(mover, opponent)];
+    }
+
+    /**
+     * Returns how many games with a god-card pair the player to move went on to win.
+     *
+     * @param mover    the god of the player to move
+     * @param opponent the god of the other player
+     * @return the win count
+     */
+    public long getWins(GodType mover, GodType opponent) {
+        return wins[pair(mover, opponent)];
+    }
+
+    /**
+     * Returns how many games with a god-card pair the player to move went on to lose.
+     *
+     * @param mover    the god of the player to move
+     * @param opponent the god of the other player
+     * @return the loss count
+     */
+    public long getLosses(GodType mover, GodType opponent) {
+        return losses[pair(mover, opponent)];
+    }
+
+    /**
+     * Returns the share of games with a god-card pair that the player to move won.
+     *
+     * @param mover    the god of the player to move
+     * @param opponent the god of the other player
+     * @return the win rate between 0 and 1, or {@code NaN} if the pair never reached the position
+     */
+    public double getWinRate(GodType mover, GodType opponent) {
+        int pair = pair(mover, opponent);
+        return reached[pair] == 0 ? Double.NaN : wins[pair] / (double) reached[pair];
+    }
+
+    private static int pair(GodType mover, GodType opponent) {
+        return mover.ordinal() * GODS.length + opponent.ordinal();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder(String.format("position %016x reached %d times%n", hash, getReached()));
+        for (GodType mover : GODS) {
+            for (GodType opponent : GODS) {
+                int pair = pair(mover, opponent);
+                if (reached[pair] == 0) continue;
+                out.append(String.format("  %-8s vs %-8s reached %d  won %.1f%%  lost %.1f%%%n", mover, opponent,
+                        reached[pair], wins[pair] * 100.0 / reached[pair], losses[pair] * 100.0 / reached[pair]));
+            }
+        }
+        return out.toString();
+    }
+}
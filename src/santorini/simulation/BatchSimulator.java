@@ -0,0 +1,234 @@
+package santorini.simulation;
+
+import santorini.controller.RandomPlacementStrategy;
+import santorini.controller.WorkerPlacementStrategy;
+import santorini.engine.Position;
+import santorini.engine.Turn;
+import santorini.model.Board;
+import santorini.model.BoardState;
+import santorini.model.GameRandom;
+import santorini.model.Player;
+import santorini.model.gods.GodCard;
+import santorini.model.gods.GodType;
+import santorini.model.meters.MeterType;
+import santorini.model.meters.NatureMeter;
+import santorini.record.GameRecordHeader;
+import santorini.record.GameStore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+
+/**
+ * Plays batches of complete games headlessly, spread across a fork-join pool.
+ * <p>
+ * Each game is set up the same way as {@code Game.startGame()}: two players with
+ * nature meters, god cards from a {@link GodPairing} and workers placed by a
+ * {@link WorkerPlacementStrategy} on a fresh {@link Board}. The game is then played on
+ * an engine {@link Position}, which follows the same rules as the {@code TurnManager}
+ * loop, with each seat's turns chosen by a {@link PlayerStrategy}. No Swing classes are
+ * touched.
+ * <p>
+ * Every game draws all of its randomness (gods, placement and strategy choices) from a
+ * {@link GameRandom} derived from the batch seed and the game number, so any single game
+ * of a batch can be replayed exactly whatever the thread count.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class BatchSimulator {
+
+    /** Turns after which a game is abandoned without a winner. */
+    public static final int TURN_LIMIT = 300;
+
+    private static final int ROWS = 5;
+    private static final int COLS = 5;
+
+    private final List<Supplier<PlayerStrategy>> seats;
+    private GodPairing godPairing = GodPairing.random();
+    private Function<GameRandom, WorkerPlacementStrategy> placement = RandomPlacementStrategy::new;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private GameRandom random = GameRandom.withDefaultSeed();
+    private boolean recording;
+
+    private final ThreadLocal<PlayerStrategy[]> strategies;
+
+    /**
+     * Constructs a simulator for two seats.
+     *
+     * @param first  creates the strategy of player 0 (one instance per thread)
+     * @param second creates the strategy of player 1 (one instance per thread)
+     */
+    public BatchSimulator(Supplier<PlayerStrategy> first, Supplier<PlayerStrategy> second) {
+        this.seats = List.of(first, second);
+        this.strategies = ThreadLocal.withInitial(() -> new PlayerStrategy[]{first.get(), second.get()});
+    }
+
+    /**
+     * Sets how god cards are dealt. Defaults to {@link GodPairing#random()}.
+     *
+     * @param godPairing the god pairing
+     */
+    public void setGodPairing(GodPairing godPairing) {
+        this.godPairing = godPairing;
+    }
+
+    /**
+     * Sets how workers are placed. Defaults to {@link RandomPlacementStrategy}.
+     *
+     * @param placement creates the placement strategy of a game from that game's random source
+     */
+    public void setPlacement(Function<GameRandom, WorkerPlacementStrategy> placement) {
+        this.placement = placement;
+    }
+
+    /**
+     * Sets the number of threads in the fork-join pool. Defaults to the number of cores.
+     *
+     * @param threads the thread count
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Sets the seed from which each game's random source is derived.
+     *
+     * @param seed the batch seed
+     */
+    public void setSeed(long seed) {
+        this.random = new GameRandom(seed);
+    }
+
+    /**
+     * Sets whether each result carries the game's opening and turns, for storing the
+     * games in a {@link GameStore}. Off by default.
+     *
+     * @param recording {@code true} to record every game
+     */
+    public void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Returns the batch seed, which reproduces the whole batch when passed to {@link #setSeed(long)}.
+     *
+     * @return the batch seed
+     */
+    public long getSeed() {
+        return random.getSeed();
+    }
+
+    /**
+     * Plays a batch of games and hands each result to the sink as soon as it finishes.
+     * The sink is called from several threads at once.
+     *
+     * @param games the number of games
+     * @param sink  receives every game result
+     * @throws InterruptedException if interrupted while waiting for the batch
+     */
+    public void run(long games, Consumer<GameResult> sink) throws InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> LongStream.range(0, games).parallel()
+                    .forEach(game -> sink.accept(playGame(game)))).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Simulation failed", e.getCause());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays one game with the calling thread's strategies.
+     *
+     * @param game the game number, which also selects the game's random seed
+     * @return the result of the game
+     */
+    public GameResult playGame(long game) {
+        GameRandom random = this.random.derive(game);
+        PlayerStrategy[] players = strategies.get();
+        for (PlayerStrategy strategy : players) {
+            strategy.newGame();
+        }
+
+        GodCard[] cards = godPairing.cardsFor(game, random);
+        Position position = setUp(cards, placement.apply(random.split()));
+        GameRecordHeader opening = recording ? openingOf(random.getSeed(), position) : null;
+        int[] played = recording ? new int[TURN_LIMIT] : null;
+
+        int turns = 0;
+        int winner = Position.ONGOING;
+        EndCause cause = EndCause.TURN_LIMIT;
+        while (turns < TURN_LIMIT) {
+            int mover = position.getToMove();
+            int turn = players[mover].chooseTurn(position, random);
+            if (turn == Turn.NO_TURN) {
+                winner = 1 - mover;
+                cause = EndCause.OPPONENT_STUCK;
+                break;
+            }
+            position.apply(turn);
+            if (played != null) played[turns] = turn;
+            turns++;
+            if (position.isOver()) {
+                winner = position.getWinner();
+                cause = causeOf(position, mover, turn);
+                break;
+            }
+        }
+
+        String[] gods = {cards[0].getName(), cards[1].getName()};
+        String[] names = {players[0].getName(), players[1].getName()};
+        int[] meters = {position.getMeter(0), position.getMeter(1)};
+        GameResult result = new GameResult(game, gods, names, winner, cause, turns, meters);
+        if (recording) result.setRecord(opening, Arrays.copyOf(played, turns));
+        return result;
+    }
+
+    /**
+     * Describes the starting position of a game as a record header. Simulated games are untimed.
+     */
+    private static GameRecordHeader openingOf(long seed, Position position) {
+        GodType[] gods = {position.getGod(0), position.getGod(1)};
+        int[] cells = new int[Position.PLAYERS * BoardState.WORKERS_PER_PLAYER];
+        for (int slot = 0; slot < cells.length; slot++) {
+            cells[slot] = position.getBoard().workerCell(slot);
+        }
+        return new GameRecordHeader(seed, ROWS, COLS, gods, cells, new long[Position.PLAYERS]);
+    }
+
+    /**
+     * Builds the starting position the way the game does, then hands it to the engine.
+     */
+    private Position setUp(GodCard[] cards, WorkerPlacementStrategy placementStrategy) {
+        Board board = new Board(ROWS, COLS);
+        board.initialize();
+
+        List<Player> players = new ArrayList<>(seats.size());
+        for (int i = 0; i < seats.size(); i++) {
+            Player player = new Player("Player " + (i + 1), i);
+            player.setMeter(MeterType.NATURE, new NatureMeter(0, Position.METER_MAX));
+            player.setGodCard(cards[i]);
+            players.add(player);
+        }
+        placementStrategy.placeWorkers(board, players);
+        return Position.from(board, players, players.get(0));
+    }
+
+    /**
+     * Works out why the game ended from the last turn played by {@code mover}.
+     */
+    private static EndCause causeOf(Position position, int mover, int turn) {
+        if (position.getWinner() == mover) {
+            return Turn.build(turn) == Turn.NONE ? EndCause.CLIMB : EndCause.OPPONENT_STUCK;
+        }
+        return position.getMeter(mover) <= 0 ? EndCause.METER_DEPLETED : EndCause.STUCK;
+    }
+}
@@ -0,0 +1,78 @@
+package santorini.simulation;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Thread-safe running totals over a batch of {@link GameResult}s, for balance reports.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class BatchSummary {
+
+    private final LongAdder games = new LongAdder();
+    private final LongAdder totalTurns = new LongAdder();
+    private final LongAdder[] seatWins = {new LongAdder(), new LongAdder()};
+    private final Map<EndCause, LongAdder> causes = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> godGames = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> godWins = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a finished game to the totals.
+     *
+     * @param result the game result
+     */
+    public void add(GameResult result) {
+        games.increment();
+        totalTurns.add(result.getTurns());
+        causes.computeIfAbsent(result.getCause(), c -> new LongAdder()).increment();
+        for (int player = 0; player < seatWins.length; player++) {
+            godGames.computeIfAbsent(result.getGod(player), g -> new LongAdder()).increment();
+        }
+        int winner = result.getWinner();
+        if (winner >= 0) {
+            seatWins[winner].increment();
+            godWins.computeIfAbsent(result.getGod(winner), g -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Returns the number of games added so far.
+     *
+     * @return the game count
+     */
+    public long getGames() {
+        return games.sum();
+    }
+
+    /**
+     * Formats the totals as a multi-line report.
+     *
+     * @param elapsedNanos the wall-clock time the batch took, for the games/sec figure
+     * @return the report
+     */
+    public String report(long elapsedNanos) {
+        long n = games.sum();
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("games=%d time=%.1fs games/s=%.0f avgTurns=%.1f%n", n, elapsedNanos / 1e9,
+                elapsedNanos == 0 ? 0 : n * 1e9 / elapsedNanos, n == 0 ? 0 : totalTurns.sum() / (double) n));
+        for (int player = 0; player < seatWins.length; player++) {
+            out.append(String.format("player %d wins: %.1f%%%n", player, percent(seatWins[player].sum(), n)));
+        }
+        new TreeMap<>(causes).forEach((cause, count) ->
+                out.append(String.format("%-15s %.1f%%%n", cause, percent(count.sum(), n))));
+        new TreeMap<>(godGames).forEach((god, played) -> {
+            LongAdder won = godWins.get(god);
+            out.append(String.format("%-8s win rate %.1f%% over %d games%n", god,
+                    percent(won == null ? 0 : won.sum(), played.sum()), played.sum()));
+        });
+        return out.toString();
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : part * 100.0 / whole;
+    }
+}
@@ -0,0 +1,20 @@
+package santorini.simulation;
+
+
+/**
+ * Why a simulated game ended.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public enum EndCause {
+    /** The winner moved a worker up to level 3. */
+    CLIMB,
+    /** The loser's build depleted their nature meter. */
+    METER_DEPLETED,
+    /** The loser was left without a legal move after their own turn. */
+    STUCK,
+    /** The loser could not move at the start of their turn. */
+    OPPONENT_STUCK,
+    /** The game reached the simulator's turn limit without a winner. */
+    TURN_LIMIT
+}
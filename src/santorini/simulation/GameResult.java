@@ -0,0 +1,141 @@
+package santorini.simulation;
+
+import santorini.record.GameRecordHeader;
+
+/**
+ * The outcome of one simulated game.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class GameResult {
+
+    /** Column names matching {@link #toCsv()}. */
+    public static final String CSV_HEADER = "game,god0,god1,strategy0,strategy1,winner,cause,turns,meter0,meter1";
+
+    private final long game;
+    private final String[] gods;
+    private final String[] strategies;
+    private final int winner;
+    private final EndCause cause;
+    private final int turns;
+    private final int[] meters;
+    private GameRecordHeader opening;
+    private int[] playedTurns;
+
+    /**
+     * Constructs a game result.
+     *
+     * @param game       the game number within the batch
+     * @param gods       the god name of each player
+     * @param strategies the strategy name of each player
+     * @param winner     the winning player index, or -1 if there was no winner
+     * @param cause      why the game ended
+     * @param turns      the number of turns played
+     * @param meters     each player's final nature meter value
+     */
+    public GameResult(long game, String[] gods, String[] strategies, int winner, EndCause cause,
+                      int turns, int[] meters) {
+        this.game = game;
+        this.gods = gods;
+        this.strategies = strategies;
+        this.winner = winner;
+        this.cause = cause;
+        this.turns = turns;
+        this.meters = meters;
+    }
+
+    /**
+     * Returns the game number within the batch.
+     *
+     * @return the game number
+     */
+    public long getGame() {
+        return game;
+    }
+
+    /**
+     * Returns a player's god name.
+     *
+     * @param player the player index
+     * @return the god name
+     */
+    public String getGod(int player) {
+        return gods[player];
+    }
+
+    /**
+     * Returns the winner of the game.
+     *
+     * @return the winning player index, or -1 if there was no winner
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    /**
+     * Returns why the game ended.
+     *
+     * @return the {@link EndCause}
+     */
+    public EndCause getCause() {
+        return cause;
+    }
+
+    /**
+     * Returns the number of turns played.
+     *
+     * @return the turn count
+     */
+    public int getTurns() {
+        return turns;
+    }
+
+    /**
+     * Returns a player's final nature meter value.
+     *
+     * @param player the player index
+     * @return the meter value
+     */
+    public int getMeter(int player) {
+        return meters[player];
+    }
+
+    /**
+     * Attaches the moves of the game, so it can be stored or replayed.
+     *
+     * @param opening     the opening of the game
+     * @param playedTurns the packed turns played, in order
+     */
+    void setRecord(GameRecordHeader opening, int[] playedTurns) {
+        this.opening = opening;
+        this.playedTurns = playedTurns;
+    }
+
+    /**
+     * Returns the opening of the game, if the simulator was recording.
+     *
+     * @return the record header, or {@code null}
+     */
+    public GameRecordHeader getOpening() {
+        return opening;
+    }
+
+    /**
+     * Returns the turns played, if the simulator was recording.
+     *
+     * @return the packed turns in order, or {@code null}
+     */
+    public int[] getPlayedTurns() {
+        return playedTurns;
+    }
+
+    /**
+     * Formats the result as one CSV line in {@link #CSV_HEADER} order.
+     *
+     * @return the CSV line, without a line terminator
+     */
+    public String toCsv() {
+        return game + "," + gods[0] + "," + gods[1] + "," + strategies[0] + "," + strategies[1]
+                + "," + winner + "," + cause + "," + turns + "," + meters[0] + "," + meters[1];
+    }
+}
@@ -0,0 +1,81 @@
+package santorini.simulation;
+
+import santorini.model.GameRandom;
+import santorini.model.gods.GodCard;
+import santorini.model.gods.GodCardFactory;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+
+/**
+ * Chooses the god cards of the two players for each simulated game.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public interface GodPairing {
+
+    /**
+     * Creates fresh god cards for one game.
+     *
+     * @param game   the game number within the batch
+     * @param random the game's random source
+     * @return the cards for player 0 and player 1
+     */
+    GodCard[] cardsFor(long game, GameRandom random);
+
+    /**
+     * Returns a pairing that deals two different random gods from
+     * {@link GodCardFactory#getDefaultGodCards()} for every game.
+     *
+     * @return the random pairing
+     */
+    static GodPairing random() {
+        List<Supplier<GodCard>> gods = GodCardFactory.getDefaultGodCards();
+        return (game, random) -> {
+            int first = random.nextInt(gods.size());
+            int second = (first + 1 + random.nextInt(gods.size() - 1)) % gods.size();
+            return new GodCard[]{gods.get(first).get(), gods.get(second).get()};
+        };
+    }
+
+    /**
+     * Returns a pairing that cycles through every ordered pair of different default gods,
+     * so each matchup is played equally often with each seat order.
+     *
+     * @return the round-robin pairing
+     */
+    static GodPairing allPairs() {
+        List<Supplier<GodCard>> gods = GodCardFactory.getDefaultGodCards();
+        int n = gods.size();
+        return (game, random) -> {
+            int pair = (int) (game % (n * (n - 1)));
+            int first = pair / (n - 1);
+            int second = pair % (n - 1);
+            if (second >= first) second++;
+            return new GodCard[]{gods.get(first).get(), gods.get(second).get()};
+        };
+    }
+
+    /**
+     * Returns a pairing that always deals the same two gods, looked up by name among
+     * the default god cards.
+     *
+     * @param first  the god name of player 0, such as {@code "Artemis"}
+     * @param second the god name of player 1
+     * @return the fixed pairing
+     * @throws IllegalArgumentException if a name does not match a default god card
+     */
+    static GodPairing fixed(String first, String second) {
+        Supplier<GodCard> god0 = byName(first);
+        Supplier<GodCard> god1 = byName(second);
+        return (game, random) -> new GodCard[]{god0.get(), god1.get()};
+    }
+
+    private static Supplier<GodCard> byName(String name) {
+        for (Supplier<GodCard> supplier : GodCardFactory.getDefaultGodCards()) {
+            if (supplier.get().getName().equalsIgnoreCase(name)) return supplier;
+        }
+        throw new IllegalArgumentException("Unknown god: " + name);
+    }
+}
@@ -0,0 +1,54 @@
+package santorini.simulation;
+
+import santorini.engine.Evaluator;
+import santorini.engine.Position;
+import santorini.engine.Turn;
+import santorini.engine.TurnGenerator;
+import santorini.model.GameRandom;
+
+
+/**
+ * Plays the turn with the best static evaluation one turn ahead, taking a win at once
+ * and avoiding turns that lose immediately. Ties are broken at random.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class GreedyStrategy implements PlayerStrategy {
+
+    private final int[] turns = new int[TurnGenerator.MAX_TURNS];
+
+    @Override
+    public int chooseTurn(Position position, GameRandom random) {
+        int count = TurnGenerator.generate(position, turns);
+        if (count == 0) return Turn.NO_TURN;
+
+        int mover = position.getToMove();
+        int best = Turn.NO_TURN;
+        int bestScore = Integer.MIN_VALUE;
+        int ties = 0;
+        for (int i = 0; i < count; i++) {
+            position.apply(turns[i]);
+            int score;
+            if (position.isOver()) {
+                score = position.getWinner() == mover ? Evaluator.WIN : -Evaluator.WIN;
+            } else {
+                score = -Evaluator.evaluate(position);
+            }
+            position.undo();
+
+            if (score > bestScore) {
+                bestScore = score;
+                best = turns[i];
+                ties = 1;
+            } else if (score == bestScore && random.nextInt(++ties) == 0) {
+                best = turns[i];
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String getName() {
+        return "greedy";
+    }
+}
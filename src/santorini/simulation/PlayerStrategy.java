@@ -0,0 +1,39 @@
+package santorini.simulation;
+
+import santorini.engine.Position;
+import santorini.model.GameRandom;
+
+
+/**
+ * A way of choosing turns for one seat in a headless simulated game.
+ * <p>
+ * Strategies may keep per-thread state such as search tables, so the simulator creates
+ * one instance per worker thread and never shares an instance between threads.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public interface PlayerStrategy {
+
+    /**
+     * Chooses a turn for the side to move.
+     *
+     * @param position the current position; implementations may apply and undo turns
+     *                 on it but must leave it unchanged
+     * @param random   the game's random source
+     * @return the packed turn, or {@link santorini.engine.Turn#NO_TURN} if there is none
+     */
+    int chooseTurn(Position position, GameRandom random);
+
+    /**
+     * Called before each new game so strategies can reset state. The default does nothing.
+     */
+    default void newGame() {
+    }
+
+    /**
+     * Returns a short name for reports.
+     *
+     * @return the strategy name
+     */
+    String getName();
+}
@@ -0,0 +1,28 @@
+package santorini.simulation;
+
+import santorini.engine.Position;
+import santorini.engine.Turn;
+import santorini.engine.TurnGenerator;
+import santorini.model.GameRandom;
+
+
+/**
+ * Plays a uniformly random legal turn.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class RandomStrategy implements PlayerStrategy {
+
+    private final int[] turns = new int[TurnGenerator.MAX_TURNS];
+
+    @Override
+    public int chooseTurn(Position position, GameRandom random) {
+        int count = TurnGenerator.generate(position, turns);
+        return count == 0 ? Turn.NO_TURN : turns[random.nextInt(count)];
+    }
+
+    @Override
+    public String getName() {
+        return "random";
+    }
+}
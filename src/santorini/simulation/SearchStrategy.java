@@ -0,0 +1,47 @@
+package santorini.simulation;
+
+import santorini.engine.AlphaBetaSearcher;
+import santorini.engine.Position;
+import santorini.engine.TranspositionTable;
+import santorini.model.GameRandom;
+
+
+/**
+ * Plays the alpha-beta searcher's choice at a fixed depth, so simulated games do not
+ * depend on machine speed or load.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class SearchStrategy implements PlayerStrategy {
+
+    private static final int TABLE_ENTRIES = 1 << 16;
+    private static final long TIME_LIMIT_MILLIS = 60_000;
+
+    private final int depth;
+    private final TranspositionTable table = new TranspositionTable(TABLE_ENTRIES);
+    private final AlphaBetaSearcher searcher = new AlphaBetaSearcher(table);
+
+    /**
+     * Constructs a strategy searching to the given depth.
+     *
+     * @param depth the search depth in turns
+     */
+    public SearchStrategy(int depth) {
+        this.depth = depth;
+    }
+
+    @Override
+    public int chooseTurn(Position position, GameRandom random) {
+        return searcher.search(position, TIME_LIMIT_MILLIS, depth).getBestTurn();
+    }
+
+    @Override
+    public void newGame() {
+        table.clear();
+    }
+
+    @Override
+    public String getName() {
+        return "search:" + depth;
+    }
+}
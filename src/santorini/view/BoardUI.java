@@ -31,7 +31,7 @@ public class BoardUI extends JPanel {
     private JLayeredPane layeredPane;
     private JPanel interactionBlocker;
 
-    public BoardUI(Board board, JLayeredPane layeredPane) {
+    public BoardUI(Board board, JLayeredPane layeredPane, GameRandom random) {
         this.layeredPane = layeredPane;
         interactionBlocker = new JPanel();
         interactionBlocker.setBackground(new Color(0, 0, 0, 0)); // Fully transparent
@@ -64,8 +64,8 @@ public class BoardUI extends JPanel {
         gridPanel.setBackground(new Color(39, 39, 39));
         gridPanel.setBorder(BorderFactory.createLineBorder(new Color(39, 39, 39), 4));
 
-        int flowerRow = (int) (Math.random() * r);
-        int flowerCol = (int) (Math.random() * c);
+        int flowerRow = random.nextInt(r);
+        int flowerCol = random.nextInt(c);
 
         for (int i = 0; i < r; i++) {
             for (int j = 0; j < c; j++) {
@@ -1,9 +1,11 @@
 package santorini.view;
 
 import santorini.model.Game;
+import santorini.record.GameSnapshot;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Collection;
 
 public class GameScreen extends JPanel {
     private Game game;
@@ -13,9 +15,19 @@ public class GameScreen extends JPanel {
         game = new Game(app, this);
     }
 
+    public void setBotSeats(Collection<Integer> seats) {
+        game.setBotSeats(seats);
+    }
+
     public void startGame() {
         game.startGame();
         this.revalidate();
         this.repaint();
     }
+
+    public void resumeGame(GameSnapshot snapshot) {
+        game.resumeGame(snapshot);
+        this.revalidate();
+        this.repaint();
+    }
 }
\ No newline at end of file
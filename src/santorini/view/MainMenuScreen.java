@@ -2,6 +2,7 @@ package santorini.view;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.List;
 
 public class MainMenuScreen extends JPanel {
 
@@ -20,13 +21,22 @@ public class MainMenuScreen extends JPanel {
         bg.setLayout(new BoxLayout(bg, BoxLayout.Y_AXIS));
 
         JButton play = new JButton("Play");
+        JButton vsBot = new JButton("Vs Bot");
+        JButton resume = new JButton("Resume");
+        JButton replay = new JButton("Replay");
         JButton quit = new JButton("Quit");
 
         DefaultButton.styleButton(play, DefaultButton.Style.MAIN_MENU);
+        DefaultButton.styleButton(vsBot, DefaultButton.Style.MAIN_MENU);
+        DefaultButton.styleButton(resume, DefaultButton.Style.MAIN_MENU);
+        DefaultButton.styleButton(replay, DefaultButton.Style.MAIN_MENU);
         DefaultButton.styleButton(quit, DefaultButton.Style.MAIN_MENU);
 
 
-        play.addActionListener(e -> app.showGame());
+        play.addActionListener(e -> app.showGame(List.of()));
+        vsBot.addActionListener(e -> app.showGame(List.of(1))); // bot takes the second seat
+        resume.addActionListener(e -> app.resumeGame());
+        replay.addActionListener(e -> app.showReplay());
         quit.addActionListener(e -> System.exit(0));
 
         // Horizontal button row
@@ -35,7 +45,13 @@ public class MainMenuScreen extends JPanel {
         buttonPanel.setLayout(new BoxLayout(buttonPanel, BoxLayout.X_AXIS));
         buttonPanel.add(Box.createHorizontalGlue());
         buttonPanel.add(play);
-        buttonPanel.add(Box.createRigidArea(new Dimension(50, 0)));
+        buttonPanel.add(Box.createRigidArea(new Dimension(20, 0)));
+        buttonPanel.add(vsBot);
+        buttonPanel.add(Box.createRigidArea(new Dimension(20, 0)));
+        buttonPanel.add(resume);
+        buttonPanel.add(Box.createRigidArea(new Dimension(20, 0)));
+        buttonPanel.add(replay);
+        buttonPanel.add(Box.createRigidArea(new Dimension(20, 0)));
         buttonPanel.add(quit);
         buttonPanel.add(Box.createHorizontalGlue());
 
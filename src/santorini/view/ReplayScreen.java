@@ -0,0 +1,217 @@
+package santorini.view;
+
+import santorini.engine.Position;
+import santorini.engine.Turn;
+import santorini.model.*;
+import santorini.model.gods.GodCardFactory;
+import santorini.record.GameRecordHeader;
+import santorini.record.GameReplay;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Plays back a recorded game: the board is drawn with the same {@link BoardUI} as a live
+ * game, and the buttons and slider step through and seek the {@link GameReplay}.
+ * <p>
+ * The board shown is a plain {@link Board} whose state is overwritten with the replay's
+ * position after every step. The cells of the turn just played are highlighted and the
+ * workers of the player to move are animated. No turn manager is attached, so clicks on
+ * the board do nothing.
+ *
+ * Author: Ubaid Irfan (Sprint 4 implementation)
+ */
+public class ReplayScreen extends JPanel {
+
+    private static final Color BACKGROUND = new Color(39, 39, 39);
+    private static final Color FOREGROUND = new Color(216, 178, 82);
+    private static final String[] WORKER_COLORS = {"blue", "red"};
+
+    private final SantoriniApp app;
+
+    private GameReplay replay;
+    private Board board;
+    private BoardUI ui;
+    private final List<Player> players = new ArrayList<>();
+    private final JLabel[] clockLabels = new JLabel[Position.PLAYERS];
+    private JLabel plyLabel;
+    private JSlider slider;
+
+    /**
+     * Constructs an empty replay screen; {@link #load(GameReplay)} fills it.
+     *
+     * @param app the application, for returning to the menu
+     */
+    public ReplayScreen(SantoriniApp app) {
+        this.app = app;
+        setLayout(new BorderLayout());
+        setBackground(BACKGROUND);
+    }
+
+    /**
+     * Shows a replay from its opening position.
+     *
+     * @param replay the replay to show
+     */
+    public void load(GameReplay replay) {
+        this.replay = replay;
+        replay.seek(0);
+        removeAll();
+
+        GameRecordHeader header = replay.getHeader();
+        board = new Board(header.getRows(), header.getCols());
+        board.initialize();
+        players.clear();
+        for (int i = 0; i < header.getPlayerCount(); i++) {
+            Player player = new Player("Player " + (i + 1), i);
+            player.setGodCard(GodCardFactory.create(header.getGod(i)));
+            player.setWorkerColor(WORKER_COLORS[i % WORKER_COLORS.length]);
+            players.add(player);
+        }
+        // register each worker in its slot; the replay's positions then move them by slot
+        for (int slot = 0; slot < players.size() * BoardState.WORKERS_PER_PLAYER; slot++) {
+            int index = header.getWorkerCell(slot);
+            if (index == BoardState.NO_CELL) continue;
+            Player owner = players.get(BoardState.ownerOf(slot));
+            Cell cell = board.getCell(index);
+            Worker worker = new Worker(owner);
+            owner.addWorker(worker);
+            worker.setCurrentCell(cell);
+            cell.setWorker(worker);
+        }
+
+        add(createTopBar(), BorderLayout.NORTH);
+
+        JLayeredPane layeredPane = new JLayeredPane();
+        layeredPane.setPreferredSize(new Dimension(850, 500));
+        layeredPane.setLayout(null);
+        ui = new BoardUI(board, layeredPane, new GameRandom(header.getSeed()).split());
+        ui.setBounds(0, 0, 850, 541);
+        if (players.get(0).getGodCard() != null && players.get(1).getGodCard() != null) {
+            ui.setGodCardInfo(players.get(0), players.get(1));
+        }
+        ui.setEcoMeters(players);
+        layeredPane.add(ui, JLayeredPane.DEFAULT_LAYER);
+        add(layeredPane, BorderLayout.CENTER);
+
+        showPly();
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Builds the bar with each player's clock and the playback controls.
+     */
+    private JPanel createTopBar() {
+        JButton menu = new JButton("Menu");
+        JButton first = new JButton("|<");
+        JButton back = new JButton("<");
+        JButton forward = new JButton(">");
+        JButton last = new JButton(">|");
+        for (JButton button : List.of(menu, first, back, forward, last)) {
+            DefaultButton.styleButton(button, DefaultButton.Style.MODAL_PROMPT);
+        }
+        menu.addActionListener(e -> app.showMenu());
+        first.addActionListener(e -> seek(0));
+        back.addActionListener(e -> seek(replay.getPly() - 1));
+        forward.addActionListener(e -> seek(replay.getPly() + 1));
+        last.addActionListener(e -> seek(replay.getPlyCount()));
+
+        slider = new JSlider(0, replay.getPlyCount(), 0);
+        slider.setOpaque(false);
+        slider.setPreferredSize(new Dimension(180, 24));
+        slider.addChangeListener(e -> seek(slider.getValue()));
+
+        plyLabel = new JLabel();
+        plyLabel.setFont(loadFont(18f));
+        plyLabel.setForeground(FOREGROUND);
+
+        JPanel controls = new JPanel(new FlowLayout(FlowLayout.CENTER, 4, 4));
+        controls.setBackground(BACKGROUND);
+        controls.add(menu);
+        controls.add(first);
+        controls.add(back);
+        controls.add(slider);
+        controls.add(forward);
+        controls.add(last);
+        controls.add(plyLabel);
+
+        JPanel topBar = new JPanel(new BorderLayout());
+        topBar.setBackground(BACKGROUND);
+        for (int i = 0; i < clockLabels.length; i++) {
+            clockLabels[i] = new JLabel("", SwingConstants.CENTER);
+            clockLabels[i].setFont(loadFont(22f));
+            clockLabels[i].setForeground(FOREGROUND);
+            clockLabels[i].setBorder(BorderFactory.createEmptyBorder(4, 8, 4, 8));
+        }
+        topBar.add(clockLabels[0], BorderLayout.WEST);
+        topBar.add(controls, BorderLayout.CENTER);
+        topBar.add(clockLabels[1], BorderLayout.EAST);
+        return topBar;
+    }
+
+    /**
+     * Moves the replay to a ply and redraws the board.
+     *
+     * @param ply the ply to show
+     */
+    private void seek(int ply) {
+        if (replay == null || ply == replay.getPly()) return;
+        replay.seek(ply);
+        showPly();
+    }
+
+    /**
+     * Copies the replay's current position onto the board and updates the labels.
+     */
+    private void showPly() {
+        Position position = replay.getPosition();
+        board.getState().copyFrom(position.getBoard());
+        board.setLegalTargets(LegalTargets.of(cellsOf(replay.getLastTurn())));
+
+        Player toMove = position.isOver() ? null : players.get(position.getToMove());
+        ui.updateWorkerAnimationState(toMove, null);
+        for (Player player : players) {
+            ui.getEcoLabels().get(player).updateEcoLevel(position.getMeter(player.getIndex()));
+            long seconds = replay.getClockMillis(player.getIndex()) / 1000;
+            clockLabels[player.getIndex()].setText(String.format("%2d:%02d", seconds / 60, seconds % 60));
+        }
+
+        String status = "Turn " + replay.getPly() + "/" + replay.getPlyCount();
+        if (replay.getPly() == replay.getPlyCount() && replay.getWinner() != Position.ONGOING) {
+            status += " - " + players.get(replay.getWinner()).getName() + " wins";
+        }
+        plyLabel.setText(status);
+        if (slider.getValue() != replay.getPly()) slider.setValue(replay.getPly());
+        ui.refresh();
+    }
+
+    /**
+     * Returns the mask of the cells a turn moved to, built on or removed from.
+     *
+     * @param turn the packed turn, or {@link Turn#NO_TURN}
+     * @return the cell mask
+     */
+    private static long cellsOf(int turn) {
+        if (turn == Turn.NO_TURN) return 0L;
+        long mask = 0L;
+        for (int cell : new int[]{Turn.move(turn), Turn.move2(turn), Turn.build(turn),
+                Turn.build2(turn), Turn.remove(turn)}) {
+            if (cell != Turn.NONE) mask |= 1L << cell;
+        }
+        return mask;
+    }
+
+    private Font loadFont(float size) {
+        try {
+            return Font.createFont(Font.TRUETYPE_FONT,
+                            getClass().getClassLoader().getResourceAsStream("fonts/gomarice_tall_block.ttf"))
+                    .deriveFont(Font.PLAIN, size);
+        } catch (Exception e) {
+            return new Font("Monospaced", Font.BOLD, (int) size);
+        }
+    }
+}
@@ -1,7 +1,19 @@
 package santorini.view;
 
+import santorini.model.Game;
+import santorini.record.GameReplay;
+import santorini.record.GameSnapshot;
+
 import javax.swing.*;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Collection;
 
 public class SantoriniApp {
 
@@ -12,6 +24,7 @@ public class SantoriniApp {
     private MainMenuScreen mainMenuScreen;
     private GameScreen gameScreen;
     private WinScreenPanel winScreen;
+    private ReplayScreen replayScreen;
 
     public SantoriniApp() {
         frame = new JFrame("Santorini");
@@ -26,10 +39,12 @@ public class SantoriniApp {
         mainMenuScreen = new MainMenuScreen(this);
         gameScreen = new GameScreen(this);
         winScreen = new WinScreenPanel(this);
+        replayScreen = new ReplayScreen(this);
 
         container.add(mainMenuScreen, "menu");
         container.add(gameScreen, "game");
         container.add(winScreen, "win");
+        container.add(replayScreen, "replay");
 
         frame.setContentPane(container);
         frame.setVisible(true);
@@ -41,11 +56,55 @@ public class SantoriniApp {
         layout.show(container, "menu");
     }
 
+    public void showGame(Collection<Integer> botSeats) {
+        gameScreen.setBotSeats(botSeats);
+        showGame();
+    }
+
     public void showGame() {
         gameScreen.startGame(); // resets or starts fresh
         layout.show(container, "game");
     }
 
+    /**
+     * Resumes the game saved with the in-game Save button, or tells the player there is none.
+     */
+    public void resumeGame() {
+        Path file = Game.saveFile();
+        GameSnapshot snapshot;
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            snapshot = GameSnapshot.read(in);
+        } catch (NoSuchFileException e) {
+            JOptionPane.showMessageDialog(frame, "There is no saved game to resume.");
+            return;
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(frame, "Could not load the saved game: " + e.getMessage());
+            return;
+        }
+        gameScreen.resumeGame(snapshot);
+        layout.show(container, "game");
+    }
+
+    /**
+     * Asks for a game record and plays it back on the replay screen.
+     */
+    public void showReplay() {
+        Path dir = Path.of(System.getProperty(Game.RECORD_DIR_PROPERTY, "records"));
+        JFileChooser chooser = new JFileChooser(dir.toFile());
+        chooser.setFileFilter(new FileNameExtensionFilter("Santorini games", "srec"));
+        if (chooser.showOpenDialog(frame) != JFileChooser.APPROVE_OPTION) return;
+
+        GameReplay replay;
+        try {
+            replay = GameReplay.load(chooser.getSelectedFile().toPath());
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(frame, "Could not load the game record: " + e.getMessage());
+            return;
+        }
+        replayScreen.load(replay);
+        layout.show(container, "replay");
+    }
+
     public void showWin(String winnerName) {
         winScreen.setWinner(winnerName);
         layout.show(container, "win");